@@ -0,0 +1,30 @@
+package br.gov.seplag.artistalbum.application.adapter;
+
+import br.gov.seplag.artistalbum.application.io.ChangeFeedResponse;
+import br.gov.seplag.artistalbum.application.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Changes", description = "Incremental change feed for client-side sync")
+public class ChangeFeedRestAdapter {
+
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping
+    @Operation(summary = "Get changes", description = "Get album and artist changes after the given cursor, in order")
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") Long since,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        ChangeFeedResponse changes = changeFeedService.getChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+}
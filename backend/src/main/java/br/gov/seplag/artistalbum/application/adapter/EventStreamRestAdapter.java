@@ -0,0 +1,32 @@
+package br.gov.seplag.artistalbum.application.adapter;
+
+import br.gov.seplag.artistalbum.infrastructure.sse.SseNotificationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/events")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Events", description = "Server-Sent Events streams")
+public class EventStreamRestAdapter {
+
+    private final SseNotificationService sseNotificationService;
+
+    @GetMapping(value = "/albums", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream album events", description = "Subscribe to album notifications; send Last-Event-ID to resume after a reconnect")
+    public ResponseEntity<SseEmitter> streamAlbumEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        SseEmitter emitter = sseNotificationService.subscribe(lastEventId);
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
@@ -1,15 +1,24 @@
 package br.gov.seplag.artistalbum.application.adapter;
 
-import br.gov.seplag.artistalbum.application.service.RegionalSyncService;
+import br.gov.seplag.artistalbum.application.io.RegionalSyncJobResponse;
+import br.gov.seplag.artistalbum.application.service.RegionalSyncJobService;
+import br.gov.seplag.artistalbum.application.service.RegionalSnapshotCache;
 import br.gov.seplag.artistalbum.domain.entity.Regional;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/v1/regionais")
@@ -18,26 +27,51 @@ import java.util.List;
 @Tag(name = "Regionais", description = "External API integration for Polícia Civil regionais")
 public class RegionalRestAdapter {
 
-    private final RegionalSyncService regionalSyncService;
+    private final RegionalSyncJobService regionalSyncJobService;
+    private final RegionalSnapshotCache regionalSnapshotCache;
 
     @PostMapping("/sync")
-    @Operation(summary = "Synchronize regionais", description = "Manually trigger synchronization with external API")
-    public ResponseEntity<String> synchronize() {
-        regionalSyncService.synchronize();
-        return ResponseEntity.ok("Synchronization completed successfully");
+    @Operation(summary = "Synchronize regionais",
+            description = "Start a background synchronization with the external API, or return the one in progress")
+    public ResponseEntity<RegionalSyncJobResponse> synchronize() {
+        RegionalSyncJobResponse job = regionalSyncJobService.submit();
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{jobId}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/sync/{jobId}")
+    @Operation(summary = "Get synchronization status", description = "Poll the status of a synchronization job")
+    public ResponseEntity<RegionalSyncJobResponse> getSyncJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(regionalSyncJobService.getJob(jobId));
     }
 
     @GetMapping
     @Operation(summary = "Get all regionais", description = "Get all regionais ordered by name")
-    public ResponseEntity<List<Regional>> getAllRegionais() {
-        List<Regional> regionais = regionalSyncService.getAllRegionais();
-        return ResponseEntity.ok(regionais);
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Regional.class))))
+    public ResponseEntity<byte[]> getAllRegionais() {
+        return snapshot(regionalSnapshotCache.getAll());
     }
 
     @GetMapping("/active")
     @Operation(summary = "Get active regionais", description = "Get only active regionais")
-    public ResponseEntity<List<Regional>> getActiveRegionais() {
-        List<Regional> regionais = regionalSyncService.getAllActiveRegionais();
-        return ResponseEntity.ok(regionais);
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Regional.class))))
+    public ResponseEntity<byte[]> getActiveRegionais() {
+        return snapshot(regionalSnapshotCache.getActive());
+    }
+
+    /**
+     * Serve a pre-serialized list; a matching If-None-Match gets a 304 from the ETag check
+     */
+    private static ResponseEntity<byte[]> snapshot(RegionalSnapshotCache.Body body) {
+        return ResponseEntity.ok()
+                .eTag(body.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.json());
     }
 }
@@ -0,0 +1,30 @@
+package br.gov.seplag.artistalbum.application.io;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of changes since a cursor")
+public class ChangeFeedResponse {
+
+    @JsonProperty("changes")
+    @Schema(description = "Changes ordered by cursor")
+    private List<ChangeRecord> changes;
+
+    @JsonProperty("cursor")
+    @Schema(description = "Cursor to send as 'since' on the next call", example = "42")
+    private Long cursor;
+
+    @JsonProperty("hasMore")
+    @Schema(description = "Whether more changes are available right away")
+    private Boolean hasMore;
+}
@@ -0,0 +1,32 @@
+package br.gov.seplag.artistalbum.application.io;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Single change in the change feed")
+public class ChangeRecord {
+
+    @JsonProperty("entity")
+    @Schema(description = "Changed entity type", example = "ALBUM")
+    private String entity;
+
+    @JsonProperty("op")
+    @Schema(description = "Operation to apply locally", example = "UPSERT")
+    private String op;
+
+    @JsonProperty("id")
+    @Schema(description = "Changed entity ID", example = "1")
+    private Long id;
+
+    @JsonProperty("version")
+    @Schema(description = "Change sequence; a higher version supersedes a lower one for the same entity", example = "42")
+    private Long version;
+}
@@ -0,0 +1,46 @@
+package br.gov.seplag.artistalbum.application.io;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Status of an asynchronous regional synchronization job")
+public class RegionalSyncJobResponse {
+
+    @JsonProperty("id")
+    @Schema(description = "Job ID", example = "4f9c2a8e-8d0b-4c52-9a51-3f1e6a7b2c10")
+    private String id;
+
+    @JsonProperty("status")
+    @Schema(description = "Job status", example = "RUNNING", allowableValues = {"PENDING", "RUNNING", "SUCCEEDED", "FAILED"})
+    private String status;
+
+    @JsonProperty("submittedAt")
+    @Schema(description = "When the job was accepted")
+    private LocalDateTime submittedAt;
+
+    @JsonProperty("startedAt")
+    @Schema(description = "When the job started running")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("finishedAt")
+    @Schema(description = "When the job finished")
+    private LocalDateTime finishedAt;
+
+    @JsonProperty("result")
+    @Schema(description = "Synchronization outcome, once the job has succeeded")
+    private RegionalSyncResult result;
+
+    @JsonProperty("error")
+    @Schema(description = "Failure reason, once the job has failed")
+    private String error;
+}
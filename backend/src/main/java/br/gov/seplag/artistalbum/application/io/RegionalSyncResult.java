@@ -0,0 +1,47 @@
+package br.gov.seplag.artistalbum.application.io;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one regional synchronization run")
+public class RegionalSyncResult {
+
+    public enum Outcome {
+        APPLIED,
+        NOT_MODIFIED,
+        UNCHANGED,
+        EMPTY
+    }
+
+    @JsonProperty("outcome")
+    @Schema(description = "What the run did", example = "APPLIED")
+    private Outcome outcome;
+
+    @JsonProperty("inserted")
+    @Schema(description = "New regionais inserted", example = "3")
+    private int inserted;
+
+    @JsonProperty("updated")
+    @Schema(description = "Renamed regionais (old row inactivated, new row inserted)", example = "1")
+    private int updated;
+
+    @JsonProperty("reactivated")
+    @Schema(description = "Inactive regionais reactivated", example = "0")
+    private int reactivated;
+
+    @JsonProperty("inactivated")
+    @Schema(description = "Regionais removed upstream and inactivated", example = "2")
+    private int inactivated;
+
+    public static RegionalSyncResult of(Outcome outcome) {
+        return RegionalSyncResult.builder().outcome(outcome).build();
+    }
+}
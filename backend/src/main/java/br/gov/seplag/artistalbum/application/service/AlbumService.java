@@ -6,6 +6,7 @@ import br.gov.seplag.artistalbum.application.io.AlbumResponse;
 import br.gov.seplag.artistalbum.domain.entity.Album;
 import br.gov.seplag.artistalbum.domain.entity.AlbumCover;
 import br.gov.seplag.artistalbum.domain.entity.Artist;
+import br.gov.seplag.artistalbum.domain.event.AlbumEvent;
 import br.gov.seplag.artistalbum.domain.exception.DuplicateResourceException;
 import br.gov.seplag.artistalbum.domain.exception.InvalidFileException;
 import br.gov.seplag.artistalbum.domain.exception.ResourceNotFoundException;
@@ -13,9 +14,10 @@ import br.gov.seplag.artistalbum.domain.repository.AlbumCoverRepository;
 import br.gov.seplag.artistalbum.domain.repository.AlbumRepository;
 import br.gov.seplag.artistalbum.domain.repository.ArtistRepository;
 import br.gov.seplag.artistalbum.infrastructure.storage.MinioStorageService;
-import br.gov.seplag.artistalbum.infrastructure.websocket.WebSocketNotificationService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,6 +34,7 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Service
+@Timed(value = "service.invocations", histogram = true)
 @RequiredArgsConstructor
 public class AlbumService {
 
@@ -39,7 +42,7 @@ public class AlbumService {
     private final ArtistRepository artistRepository;
     private final AlbumCoverRepository albumCoverRepository;
     private final MinioStorageService minioStorageService;
-    private final WebSocketNotificationService webSocketNotificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<AlbumResponse> getAllAlbums(Long artistId, String title, Pageable pageable) {
@@ -114,8 +117,8 @@ public class AlbumService {
         Album savedAlbum = albumRepository.save(album);
         log.info("Album created successfully with ID: {}", savedAlbum.getId());
 
-        // Send WebSocket notification
-        webSocketNotificationService.notifyNewAlbum(savedAlbum);
+        // Notify listeners once the transaction commits
+        eventPublisher.publishEvent(AlbumEvent.created(savedAlbum));
 
         return toResponse(savedAlbum);
     }
@@ -143,6 +146,9 @@ public class AlbumService {
         album.setTotalTracks(request.getTotalTracks());
         album.setTotalDurationSeconds(request.getTotalDurationSeconds());
 
+        // Artistas anteriores também mudam no change feed quando perdem o álbum
+        List<Long> previousArtistIds = album.getArtists().stream().map(Artist::getId).toList();
+
         // Atualizar artistas se fornecidos
         if (!artistIds.isEmpty()) {
             // Remover artistas antigos
@@ -159,6 +165,8 @@ public class AlbumService {
         Album updatedAlbum = albumRepository.save(album);
         log.info("Album updated successfully: {}", id);
 
+        eventPublisher.publishEvent(AlbumEvent.updated(updatedAlbum, previousArtistIds));
+
         return toResponse(updatedAlbum);
     }
 
@@ -178,8 +186,11 @@ public class AlbumService {
             }
         });
 
+        AlbumEvent deletedEvent = AlbumEvent.deleted(album);
         albumRepository.deleteById(id);
         log.info("Album deleted successfully: {}", id);
+
+        eventPublisher.publishEvent(deletedEvent);
     }
 
     @Transactional
@@ -208,6 +219,8 @@ public class AlbumService {
         Album savedAlbum = albumRepository.save(album);
         log.info("Covers uploaded successfully for album: {}", albumId);
 
+        eventPublisher.publishEvent(AlbumEvent.updated(savedAlbum));
+
         return toResponse(savedAlbum);
     }
 
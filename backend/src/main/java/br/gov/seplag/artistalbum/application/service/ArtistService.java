@@ -3,11 +3,14 @@ package br.gov.seplag.artistalbum.application.service;
 import br.gov.seplag.artistalbum.application.io.ArtistRequest;
 import br.gov.seplag.artistalbum.application.io.ArtistResponse;
 import br.gov.seplag.artistalbum.domain.entity.Artist;
+import br.gov.seplag.artistalbum.domain.event.ArtistEvent;
 import br.gov.seplag.artistalbum.domain.exception.DuplicateResourceException;
 import br.gov.seplag.artistalbum.domain.exception.ResourceNotFoundException;
 import br.gov.seplag.artistalbum.domain.repository.ArtistRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,10 +22,12 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Slf4j
 @Service
+@Timed(value = "service.invocations", histogram = true)
 @RequiredArgsConstructor
 public class ArtistService {
 
     private final ArtistRepository artistRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<ArtistResponse> getAllArtists(String name, Pageable pageable) {
@@ -64,6 +69,8 @@ public class ArtistService {
         Artist savedArtist = artistRepository.save(artist);
         log.info("Artist created successfully with ID: {}", savedArtist.getId());
 
+        eventPublisher.publishEvent(ArtistEvent.created(savedArtist));
+
         return toResponse(savedArtist);
     }
 
@@ -85,6 +92,8 @@ public class ArtistService {
         Artist updatedArtist = artistRepository.save(artist);
 
         log.info("Artist updated successfully: {}", id);
+
+        eventPublisher.publishEvent(ArtistEvent.updated(updatedArtist));
         return toResponse(updatedArtist);
     }
 
@@ -92,12 +101,14 @@ public class ArtistService {
     public void deleteArtist(Long id) {
         log.info("Deleting artist ID: {}", id);
 
-        if (!artistRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Artist", "id", id);
-        }
+        Artist artist = artistRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Artist", "id", id));
 
+        ArtistEvent deletedEvent = ArtistEvent.deleted(artist);
         artistRepository.deleteById(id);
         log.info("Artist deleted successfully: {}", id);
+
+        eventPublisher.publishEvent(deletedEvent);
     }
 
     private ArtistResponse toResponse(Artist artist) {
@@ -8,6 +8,8 @@ import br.gov.seplag.artistalbum.domain.exception.InvalidTokenException;
 import br.gov.seplag.artistalbum.domain.exception.ResourceNotFoundException;
 import br.gov.seplag.artistalbum.domain.repository.UserRepository;
 import br.gov.seplag.artistalbum.infrastructure.security.JwtTokenProvider;
+import br.gov.seplag.artistalbum.infrastructure.security.PasswordVerificationExecutor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,20 +25,27 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Slf4j
 @Service
+@Timed(value = "service.invocations", histogram = true)
 @RequiredArgsConstructor
 public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
 
-    @Transactional(readOnly = true)
+    /**
+     * Password checking runs on the verification pool; no transaction is held here
+     * while waiting for it, the user lookup opens its own.
+     */
     public AuthResponse login(LoginRequest request) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getUsername(),
-                            request.getPassword()
+            Authentication authentication = passwordVerificationExecutor.execute(() ->
+                    authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(
+                                    request.getUsername(),
+                                    request.getPassword()
+                            )
                     )
             );
 
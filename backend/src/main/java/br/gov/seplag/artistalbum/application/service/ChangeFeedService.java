@@ -0,0 +1,131 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import br.gov.seplag.artistalbum.application.io.ChangeFeedResponse;
+import br.gov.seplag.artistalbum.application.io.ChangeRecord;
+import br.gov.seplag.artistalbum.domain.entity.ChangeLogEntry;
+import br.gov.seplag.artistalbum.domain.entity.ChangeLogEntry.EntityType;
+import br.gov.seplag.artistalbum.domain.entity.ChangeLogEntry.Operation;
+import br.gov.seplag.artistalbum.domain.event.AlbumEvent;
+import br.gov.seplag.artistalbum.domain.event.ArtistEvent;
+import br.gov.seplag.artistalbum.domain.repository.ChangeLogRepository;
+import br.gov.seplag.artistalbum.infrastructure.scheduling.SchedulerLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Change Feed Service
+ * Records album/artist changes in the same transaction as the write and
+ * serves them in cursor order so clients can patch local state
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+
+    @Value("${change-feed.compaction-min-age-minutes:60}")
+    private long compactionMinAgeMinutes;
+
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse getChanges(Long since, int limit) {
+        long cursor = since != null ? since : 0L;
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        // Fetch one extra row to know whether another page is available
+        List<ChangeLogEntry> entries = changeLogRepository.findByIdGreaterThanOrderByIdAsc(
+                cursor, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+
+        List<ChangeRecord> changes = new ArrayList<>(entries.size());
+        for (ChangeLogEntry entry : entries) {
+            changes.add(toRecord(entry));
+            cursor = entry.getId();
+        }
+
+        return ChangeFeedResponse.builder()
+                .changes(changes)
+                .cursor(cursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Album changes also touch the album count of its artists, including artists it was moved away from
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onAlbumEvent(AlbumEvent event) {
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        entries.add(entry(EntityType.ALBUM, event.getAlbumId(),
+                event.getType() == AlbumEvent.Type.DELETED ? Operation.DELETE : Operation.UPSERT));
+        for (Long artistId : event.getAffectedArtistIds()) {
+            entries.add(entry(EntityType.ARTIST, artistId, Operation.UPSERT));
+        }
+        append(entries);
+    }
+
+    /**
+     * Artist changes also touch the artist names embedded in its albums
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onArtistEvent(ArtistEvent event) {
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        entries.add(entry(EntityType.ARTIST, event.getArtistId(),
+                event.getType() == ArtistEvent.Type.DELETED ? Operation.DELETE : Operation.UPSERT));
+        for (Long albumId : event.getAlbumIds()) {
+            entries.add(entry(EntityType.ALBUM, albumId, Operation.UPSERT));
+        }
+        append(entries);
+    }
+
+    /**
+     * Compact the log: drop entries superseded by a later change of the same entity
+     */
+    @Scheduled(cron = "${change-feed.compaction-cron:0 15 * * * *}")
+    @SchedulerLock(name = "change-log-compaction", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+    @Transactional
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(compactionMinAgeMinutes);
+        int removed = changeLogRepository.deleteSupersededBefore(cutoff);
+        log.info("Change log compaction removed {} superseded entries", removed);
+    }
+
+    private void append(List<ChangeLogEntry> entries) {
+        // Serialize appenders until commit so cursors become visible in order
+        changeLogRepository.lockForAppend();
+        changeLogRepository.saveAll(entries);
+    }
+
+    private ChangeLogEntry entry(EntityType entityType, Long entityId, Operation operation) {
+        return ChangeLogEntry.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .operation(operation)
+                .build();
+    }
+
+    private ChangeRecord toRecord(ChangeLogEntry entry) {
+        return ChangeRecord.builder()
+                .entity(entry.getEntityType().name())
+                .op(entry.getOperation().name())
+                .id(entry.getEntityId())
+                .version(entry.getId())
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Compact index of local regionais keyed by external ID
+ *
+ * An open-addressing table over primitive arrays holding, per external ID,
+ * the row that represents it (the active one, or else the most recent), a
+ * 64-bit hash of its name and its flags. At a load factor of one half this
+ * is about 45 bytes per regional, instead of a boxed map entry plus a
+ * managed entity.
+ */
+final class RegionalIndex {
+
+    private static final byte ACTIVE = 1;
+    private static final byte SEEN = 2;
+
+    private int[] externalIds;
+    private long[] ids;
+    private long[] nomeHashes;
+    private byte[] flags;
+    private boolean[] used;
+    private int size;
+
+    RegionalIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Add a local row; when the external ID is already present the active
+     * row wins, otherwise the one with the higher ID
+     */
+    void put(long id, int externalId, String nome, boolean ativo) {
+        if ((size + 1) * 2 > used.length) {
+            resize();
+        }
+        int slot = probe(externalId);
+        if (used[slot]) {
+            boolean currentActive = (flags[slot] & ACTIVE) != 0;
+            if (currentActive != ativo ? currentActive : ids[slot] > id) {
+                return;
+            }
+        } else {
+            used[slot] = true;
+            externalIds[slot] = externalId;
+            size++;
+        }
+        ids[slot] = id;
+        nomeHashes[slot] = nomeHash(nome);
+        flags[slot] = ativo ? ACTIVE : 0;
+    }
+
+    /**
+     * @return the slot of the external ID, or -1 when there is no local row for it
+     */
+    int find(int externalId) {
+        int slot = probe(externalId);
+        return used[slot] ? slot : -1;
+    }
+
+    long id(int slot) {
+        return ids[slot];
+    }
+
+    boolean isActive(int slot) {
+        return (flags[slot] & ACTIVE) != 0;
+    }
+
+    boolean hasNome(int slot, String nome) {
+        return nomeHashes[slot] == nomeHash(nome);
+    }
+
+    /**
+     * Mark the external ID as present in the payload
+     *
+     * @return false if it had already been seen
+     */
+    boolean markSeen(int slot) {
+        if ((flags[slot] & SEEN) != 0) {
+            return false;
+        }
+        flags[slot] |= SEEN;
+        return true;
+    }
+
+    /**
+     * Visit the external IDs of active rows that were not seen in the payload
+     */
+    void forEachActiveUnseen(IntConsumer consumer) {
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot] && flags[slot] == ACTIVE) {
+                consumer.accept(externalIds[slot]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units; collisions between two names
+     * of the same regional are negligible at this width
+     */
+    static long nomeHash(String nome) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < nome.length(); i++) {
+            hash ^= nome.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private int probe(int externalId) {
+        int mask = used.length - 1;
+        int slot = mix(externalId) & mask;
+        while (used[slot] && externalIds[slot] != externalId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        int[] oldExternalIds = externalIds;
+        long[] oldIds = ids;
+        long[] oldHashes = nomeHashes;
+        byte[] oldFlags = flags;
+        boolean[] oldUsed = used;
+
+        allocate(oldUsed.length * 2);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = probe(oldExternalIds[i]);
+                used[slot] = true;
+                externalIds[slot] = oldExternalIds[i];
+                ids[slot] = oldIds[i];
+                nomeHashes[slot] = oldHashes[i];
+                flags[slot] = oldFlags[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        externalIds = new int[capacity];
+        ids = new long[capacity];
+        nomeHashes = new long[capacity];
+        flags = new byte[capacity];
+        used = new boolean[capacity];
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
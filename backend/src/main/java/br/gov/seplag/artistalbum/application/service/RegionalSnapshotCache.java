@@ -0,0 +1,166 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import br.gov.seplag.artistalbum.domain.entity.Regional;
+import br.gov.seplag.artistalbum.domain.repository.RegionalRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Regional Snapshot Cache
+ * Immutable, pre-serialized copies of the regionais read endpoints
+ *
+ * Regionais only change during synchronization, so both lists are kept as
+ * JSON bytes with a strong ETag derived from their content, and a read is a
+ * memory copy. The synchronization swaps in a new snapshot after it applies
+ * changes; each instance also rebuilds periodically, so instances that did
+ * not run the synchronization pick up the change. The ETag depends only on
+ * the content, so it is the same on every instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegionalSnapshotCache implements MeterBinder {
+
+    private final RegionalRepository regionalRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong swaps = new AtomicLong();
+
+    /**
+     * All regionais ordered by name
+     */
+    public Body getAll() {
+        return current().all();
+    }
+
+    /**
+     * Active regionais only
+     */
+    public Body getActive() {
+        return current().active();
+    }
+
+    /**
+     * Rebuild both lists and swap them in
+     *
+     * Rebuilds are serialized, so a rebuild started after a commit always
+     * lands after any rebuild that read the data before it.
+     */
+    public synchronized void refresh() {
+        Snapshot rebuilt = new Snapshot(
+                serialize(regionalRepository.findAllByOrderByNomeAsc()),
+                serialize(regionalRepository.findByAtivoTrue()));
+        rebuilds.incrementAndGet();
+
+        Snapshot previous = snapshot.getAndSet(rebuilt);
+        if (previous == null || !previous.sameContent(rebuilt)) {
+            swaps.incrementAndGet();
+            log.debug("Regionais snapshot swapped - all: {}, active: {}",
+                    rebuilt.all().etag(), rebuilt.active().etag());
+        }
+    }
+
+    /**
+     * Periodic rebuild on every instance (not cluster-locked on purpose)
+     */
+    @Scheduled(fixedDelayString = "${regionais.snapshot.refresh-ms:60000}",
+            initialDelayString = "${regionais.snapshot.refresh-ms:60000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh regionais snapshot, serving the previous one: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot.get() == null) {
+                    refresh();
+                }
+                current = snapshot.get();
+            }
+        }
+        return current;
+    }
+
+    private Body serialize(List<Regional> regionais) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(regionais);
+            byte[] digest = sha256().digest(json);
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            return new Body(json, etag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize regionais snapshot", e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public int getSizeInBytes() {
+        Snapshot current = snapshot.get();
+        return current != null ? current.all().json().length + current.active().json().length : 0;
+    }
+
+    public long getRebuilds() {
+        return rebuilds.get();
+    }
+
+    public long getSwaps() {
+        return swaps.get();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("regionais.snapshot.size", this, RegionalSnapshotCache::getSizeInBytes)
+                .description("Bytes held by the regionais snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("regionais.snapshot.rebuilds", rebuilds, AtomicLong::get)
+                .description("Regionais snapshot rebuilds")
+                .register(registry);
+        FunctionCounter.builder("regionais.snapshot.swaps", swaps, AtomicLong::get)
+                .description("Regionais snapshot rebuilds that changed the content")
+                .register(registry);
+    }
+
+    /**
+     * Serialized list and its strong ETag; the bytes are shared and must not be modified
+     */
+    public record Body(byte[] json, String etag) {
+    }
+
+    private record Snapshot(Body all, Body active) {
+
+        private boolean sameContent(Snapshot other) {
+            return all.etag().equals(other.all.etag()) && active.etag().equals(other.active.etag());
+        }
+    }
+}
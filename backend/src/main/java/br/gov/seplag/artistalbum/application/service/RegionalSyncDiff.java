@@ -0,0 +1,109 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes between the local regionais and the external payload
+ *
+ * Payload entries are fed one at a time while the response is parsed, so
+ * only the local index and the changes themselves are kept in memory.
+ */
+final class RegionalSyncDiff {
+
+    private final RegionalIndex index;
+
+    private final Map<Integer, String> inserts = new LinkedHashMap<>();
+    private final List<Integer> inactivations = new ArrayList<>();
+    private final List<Long> reactivations = new ArrayList<>();
+    private int updated;
+    private int removed;
+    private int received;
+    private int ignored;
+
+    RegionalSyncDiff(RegionalIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Compare one payload entry with its local row - O(1)
+     */
+    void visit(Integer externalId, String nome) {
+        received++;
+        if (externalId == null || nome == null) {
+            ignored++;
+            return;
+        }
+
+        int slot = index.find(externalId);
+        if (slot < 0) {
+            // NEW: Insert
+            if (inserts.putIfAbsent(externalId, nome) != null) {
+                ignored++;
+            }
+            return;
+        }
+
+        if (!index.markSeen(slot)) {
+            // Duplicate entry in the payload: the first one wins
+            ignored++;
+            return;
+        }
+
+        if (!index.hasNome(slot, nome)) {
+            // UPDATED: Inactivate old and create new
+            if (index.isActive(slot)) {
+                inactivations.add(externalId);
+            }
+            inserts.put(externalId, nome);
+            updated++;
+        } else if (!index.isActive(slot)) {
+            // Reactivate if it was inactive
+            reactivations.add(index.id(slot));
+        }
+    }
+
+    /**
+     * Inactivate regionais that were absent from the payload - O(n)
+     */
+    void finish() {
+        index.forEachActiveUnseen(externalId -> {
+            inactivations.add(externalId);
+            removed++;
+        });
+    }
+
+    Map<Integer, String> getInserts() {
+        return inserts;
+    }
+
+    List<Integer> getInactivations() {
+        return inactivations;
+    }
+
+    List<Long> getReactivations() {
+        return reactivations;
+    }
+
+    int getInserted() {
+        return inserts.size() - updated;
+    }
+
+    int getUpdated() {
+        return updated;
+    }
+
+    int getRemoved() {
+        return removed;
+    }
+
+    int getReceived() {
+        return received;
+    }
+
+    int getIgnored() {
+        return ignored;
+    }
+}
@@ -0,0 +1,152 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import br.gov.seplag.artistalbum.application.io.RegionalSyncJobResponse;
+import br.gov.seplag.artistalbum.application.io.RegionalSyncResult;
+import br.gov.seplag.artistalbum.domain.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Regional Sync Job Service
+ * Runs manually triggered synchronizations in the background
+ *
+ * A request only enqueues a job and returns its ID; the caller polls for the
+ * status. While a job is pending or running, further requests get that job
+ * instead of starting another one. The most recent jobs are kept in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegionalSyncJobService {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private final RegionalSyncService regionalSyncService;
+
+    @Value("${external.regionais-api.jobs.history-size:20}")
+    private int historySize;
+
+    private ExecutorService executor;
+
+    // Guarded by this; insertion order is submission order
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private Job active;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "regional-sync-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submit a synchronization, or return the one already pending or running
+     */
+    public synchronized RegionalSyncJobResponse submit() {
+        if (active != null) {
+            return active.toResponse();
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), LocalDateTime.now());
+        jobs.put(job.id, job);
+        active = job;
+        evictOldJobs();
+
+        executor.execute(() -> run(job));
+        log.info("Regional synchronization job {} submitted", job.id);
+        return job.toResponse();
+    }
+
+    public synchronized RegionalSyncJobResponse getJob(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Regional sync job", "id", id);
+        }
+        return job.toResponse();
+    }
+
+    private void run(Job job) {
+        synchronized (this) {
+            job.status = Status.RUNNING;
+            job.startedAt = LocalDateTime.now();
+        }
+
+        RegionalSyncResult result = null;
+        String error = null;
+        try {
+            result = regionalSyncService.synchronize();
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.warn("Regional synchronization job {} failed: {}", job.id, error);
+        }
+
+        synchronized (this) {
+            job.status = error == null ? Status.SUCCEEDED : Status.FAILED;
+            job.result = result;
+            job.error = error;
+            job.finishedAt = LocalDateTime.now();
+            active = null;
+        }
+    }
+
+    private void evictOldJobs() {
+        Iterator<Job> oldest = jobs.values().iterator();
+        while (jobs.size() > historySize && oldest.hasNext()) {
+            if (oldest.next() != active) {
+                oldest.remove();
+            }
+        }
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final LocalDateTime submittedAt;
+        private Status status = Status.PENDING;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private RegionalSyncResult result;
+        private String error;
+
+        private Job(String id, LocalDateTime submittedAt) {
+            this.id = id;
+            this.submittedAt = submittedAt;
+        }
+
+        private RegionalSyncJobResponse toResponse() {
+            return RegionalSyncJobResponse.builder()
+                    .id(id)
+                    .status(status.name())
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .result(result)
+                    .error(error)
+                    .build();
+        }
+    }
+}
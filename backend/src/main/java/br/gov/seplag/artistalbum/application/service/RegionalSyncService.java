@@ -1,19 +1,47 @@
 package br.gov.seplag.artistalbum.application.service;
 
 import br.gov.seplag.artistalbum.application.io.RegionalDTO;
+import br.gov.seplag.artistalbum.application.io.RegionalSyncResult;
+import br.gov.seplag.artistalbum.application.io.RegionalSyncResult.Outcome;
 import br.gov.seplag.artistalbum.domain.entity.Regional;
+import br.gov.seplag.artistalbum.domain.entity.SyncState;
+import br.gov.seplag.artistalbum.domain.exception.ServiceUnavailableException;
 import br.gov.seplag.artistalbum.domain.exception.SynchronizationException;
 import br.gov.seplag.artistalbum.domain.repository.RegionalRepository;
+import br.gov.seplag.artistalbum.domain.repository.SyncStateRepository;
+import br.gov.seplag.artistalbum.infrastructure.external.RegionaisApiClient;
+import br.gov.seplag.artistalbum.infrastructure.scheduling.SchedulerLock;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Regional Synchronization Service
@@ -23,101 +51,113 @@ import java.util.stream.Collectors;
  * 1. New in external API → Insert locally
  * 2. Removed from external API → Inactivate locally
  * 3. Name changed → Inactivate old, create new
+ *
+ * The payload is parsed as a stream and diffed entry by entry against a
+ * compact index of the local rows, so memory follows the local index and the
+ * changes rather than the payload size. The diff is applied with one bulk
+ * inactivation, one bulk reactivation and one multi-row insert, so the number
+ * of statements does not grow with the number of changed rows; each statement
+ * re-checks the row state, so a diff built just before the transaction
+ * cannot duplicate or resurrect rows.
+ *
+ * The upstream is queried conditionally with the validators of the last
+ * applied response, and a response whose body hashes to the last applied
+ * content is not applied; in both cases no database transaction is opened.
+ * Fetching and parsing happen before the transaction, which only covers the
+ * diff, so a slow upstream never holds a database connection. Runs within one
+ * instance are serialized. After a commit the read snapshot served by
+ * {@link RegionalSnapshotCache} is rebuilt.
  */
 @Slf4j
 @Service
+@Timed(value = "service.invocations", histogram = true)
 @RequiredArgsConstructor
-public class RegionalSyncService {
+public class RegionalSyncService implements MeterBinder {
+
+    public static final String SOURCE = "regionais";
+
+    private static final int INITIAL_INDEX_SIZE = 1024;
 
     private final RegionalRepository regionalRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final SyncStateRepository syncStateRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final RegionaisApiClient regionaisApiClient;
+    private final RegionalSnapshotCache regionalSnapshotCache;
 
-    @Value("${external.regionais-api.url}")
-    private String externalApiUrl;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
 
     /**
      * Synchronize with external API
      * Algorithm complexity: O(n) where n is the number of regionais
      */
-    @Transactional
-    public void synchronize() {
-        log.info("Starting regional synchronization from: {}", externalApiUrl);
+    public RegionalSyncResult synchronize() {
+        runLock.lock();
+        try {
+            return doSynchronize();
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private RegionalSyncResult doSynchronize() {
+        log.info("Starting regional synchronization from: {}", regionaisApiClient.getUrl());
 
         try {
-            // 1. Fetch data from external API
-            RegionalDTO[] externalRegionais = restTemplate.getForObject(externalApiUrl, RegionalDTO[].class);
-            if (externalRegionais == null || externalRegionais.length == 0) {
-                log.warn("No regionais returned from external API");
-                return;
+            // 1. Fetch data from external API, conditionally on the last applied response,
+            //    and diff it against the local index while it is parsed
+            SyncState state = syncStateRepository.findById(SOURCE)
+                    .orElseGet(() -> SyncState.builder().source(SOURCE).build());
+            FetchedPayload payload = regionaisApiClient.fetch(conditionalHeaders(state), this::readPayload);
+
+            if (payload == null) {
+                notModified.incrementAndGet();
+                log.info("Regionais not modified upstream, skipping synchronization");
+                return RegionalSyncResult.of(Outcome.NOT_MODIFIED);
             }
 
-            // 2. Build maps for O(1) lookups - O(n)
-            Map<Integer, RegionalDTO> externalMap = Arrays.stream(externalRegionais)
-                    .collect(Collectors.toMap(RegionalDTO::getId, dto -> dto));
-
-            List<Regional> localRegionais = regionalRepository.findAll();
-            Map<Integer, Regional> localMap = localRegionais.stream()
-                    .filter(r -> r.getExternalId() != null)
-                    .collect(Collectors.toMap(Regional::getExternalId, r -> r));
-
-            int inserted = 0;
-            int inactivated = 0;
-            int updated = 0;
-
-            // 3. Process external regionais - O(n)
-            for (RegionalDTO externalDto : externalRegionais) {
-                Regional localRegional = localMap.get(externalDto.getId());
-
-                if (localRegional == null) {
-                    // NEW: Insert
-                    Regional newRegional = Regional.builder()
-                            .externalId(externalDto.getId())
-                            .nome(externalDto.getNome())
-                            .ativo(true)
-                            .build();
-                    regionalRepository.save(newRegional);
-                    inserted++;
-                    log.debug("Inserted new regional: {} - {}", externalDto.getId(), externalDto.getNome());
-
-                } else if (!localRegional.getNome().equals(externalDto.getNome())) {
-                    // UPDATED: Inactivate old and create new
-                    localRegional.setAtivo(false);
-                    regionalRepository.save(localRegional);
-
-                    Regional newRegional = Regional.builder()
-                            .externalId(externalDto.getId())
-                            .nome(externalDto.getNome())
-                            .ativo(true)
-                            .build();
-                    regionalRepository.save(newRegional);
-                    updated++;
-                    log.debug("Updated regional: {} - Old: '{}', New: '{}'",
-                            externalDto.getId(), localRegional.getNome(), externalDto.getNome());
-
-                } else if (!localRegional.getAtivo()) {
-                    // Reactivate if it was inactive
-                    localRegional.setAtivo(true);
-                    regionalRepository.save(localRegional);
-                    log.debug("Reactivated regional: {} - {}", externalDto.getId(), externalDto.getNome());
-                }
+            RegionalSyncDiff diff = payload.diff();
+            if (diff.getReceived() == 0) {
+                log.warn("No regionais returned from external API");
+                return RegionalSyncResult.of(Outcome.EMPTY);
+            }
+            if (diff.getIgnored() > 0) {
+                log.warn("Ignored {} regional(s) without ID or name, or repeated in the payload", diff.getIgnored());
             }
 
-            // 4. Inactivate removed regionais - O(n)
-            Set<Integer> externalIds = externalMap.keySet();
-            for (Regional local : localRegionais) {
-                if (local.getExternalId() != null && 
-                    !externalIds.contains(local.getExternalId()) && 
-                    local.getAtivo()) {
-                    local.setAtivo(false);
-                    regionalRepository.save(local);
-                    inactivated++;
-                    log.debug("Inactivated regional: {} - {}", local.getExternalId(), local.getNome());
+            if (payload.contentHash().equals(state.getContentHash())) {
+                unchanged.incrementAndGet();
+                log.info("Regionais payload unchanged (hash match), skipping synchronization");
+                if (!Objects.equals(payload.etag(), state.getEtag())
+                        || !Objects.equals(payload.lastModified(), state.getLastModified())) {
+                    state.setEtag(payload.etag());
+                    state.setLastModified(payload.lastModified());
+                    syncStateRepository.save(state);
                 }
+                return RegionalSyncResult.of(Outcome.UNCHANGED);
             }
 
-            log.info("Regional synchronization completed - Inserted: {}, Updated: {}, Inactivated: {}",
-                    inserted, updated, inactivated);
+            // 2. Apply the diff and record the response it came from, atomically
+            RegionalSyncResult result = transactionTemplate.execute(status -> {
+                RegionalSyncResult written = apply(diff);
+                state.setEtag(payload.etag());
+                state.setLastModified(payload.lastModified());
+                state.setContentHash(payload.contentHash());
+                state.setSyncedAt(LocalDateTime.now());
+                syncStateRepository.save(state);
+                return written;
+            });
+            applied.incrementAndGet();
+            refreshSnapshot();
+            return result;
 
+        } catch (ServiceUnavailableException e) {
+            log.warn("Skipping regional synchronization: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error during regional synchronization", e);
             throw new SynchronizationException("regionais", e.getMessage(), e);
@@ -125,14 +165,114 @@ public class RegionalSyncService {
     }
 
     /**
-     * Auto-sync every hour (can be configured)
+     * Stream the response body through the parser and the diff, hashing it on the way
+     *
+     * @return null when the upstream answered 304
+     */
+    private FetchedPayload readPayload(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return null;
+        }
+
+        RegionalSyncDiff diff = new RegionalSyncDiff(loadIndex());
+        MessageDigest digest = sha256();
+        try (InputStream body = new DigestInputStream(response.getBody(), digest);
+             MappingIterator<RegionalDTO> regionais = objectMapper.readerFor(RegionalDTO.class)
+                     .without(JsonParser.Feature.AUTO_CLOSE_SOURCE) // keep the body open for the trailing bytes
+                     .readValues(body)) {
+            while (regionais.hasNextValue()) {
+                RegionalDTO dto = regionais.nextValue();
+                diff.visit(dto.getId(), dto.getNome());
+            }
+            body.transferTo(OutputStream.nullOutputStream()); // hash any trailing bytes too
+        } catch (JsonProcessingException e) {
+            // Not an I/O failure: retrying would read the same payload
+            throw new IllegalStateException("Malformed regionais payload: " + e.getOriginalMessage(), e);
+        }
+        diff.finish();
+
+        HttpHeaders headers = response.getHeaders();
+        return new FetchedPayload(diff, HexFormat.of().formatHex(digest.digest()),
+                headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED));
+    }
+
+    /**
+     * Build the compact index of local regionais - O(n)
+     */
+    private RegionalIndex loadIndex() {
+        RegionalIndex index = new RegionalIndex(INITIAL_INDEX_SIZE);
+        regionalRepository.forEachSyncRow(index::put);
+        return index;
+    }
+
+    /**
+     * Write the diff with set-based statements (inactivate first to free the active slot)
+     */
+    private RegionalSyncResult apply(RegionalSyncDiff diff) {
+        regionalRepository.inactivateByExternalIds(diff.getInactivations());
+        regionalRepository.activateByIds(diff.getReactivations());
+        int written = regionalRepository.insertActive(diff.getInserts());
+        if (written < diff.getInserts().size()) {
+            log.warn("{} regional(s) already had an active row and were not inserted",
+                    diff.getInserts().size() - written);
+        }
+
+        log.info("Regional synchronization completed - Inserted: {}, Updated: {}, Reactivated: {}, Inactivated: {}",
+                diff.getInserted(), diff.getUpdated(), diff.getReactivations().size(), diff.getRemoved());
+
+        return RegionalSyncResult.builder()
+                .outcome(Outcome.APPLIED)
+                .inserted(diff.getInserted())
+                .updated(diff.getUpdated())
+                .reactivated(diff.getReactivations().size())
+                .inactivated(diff.getRemoved())
+                .build();
+    }
+
+    /**
+     * Auto-sync every hour (can be configured), on one instance per period
      */
     @Scheduled(fixedRate = 3600000) // 1 hour
+    @SchedulerLock(name = "regional-sync", lockAtMostFor = "PT59M", lockAtLeastFor = "PT55M")
     public void scheduledSync() {
         log.info("Executing scheduled regional synchronization");
         synchronize();
     }
 
+    /**
+     * Swap in the read snapshot after a commit; a failure here leaves the
+     * periodic rebuild to catch up and does not fail the synchronization
+     */
+    private void refreshSnapshot() {
+        try {
+            regionalSnapshotCache.refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh regionais snapshot after synchronization: {}", e.getMessage());
+        }
+    }
+
+    private static HttpHeaders conditionalHeaders(SyncState state) {
+        HttpHeaders headers = new HttpHeaders();
+        if (state.getEtag() != null) {
+            headers.setIfNoneMatch(state.getEtag());
+        }
+        if (state.getLastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, state.getLastModified());
+        }
+        return headers;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record FetchedPayload(RegionalSyncDiff diff, String contentHash, String etag, String lastModified) {
+    }
+
     @Transactional(readOnly = true)
     public List<Regional> getAllActiveRegionais() {
         return regionalRepository.findByAtivoTrue();
@@ -142,4 +282,30 @@ public class RegionalSyncService {
     public List<Regional> getAllRegionais() {
         return regionalRepository.findAllByOrderByNomeAsc();
     }
+
+    public long getApplied() {
+        return applied.get();
+    }
+
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    public long getUnchanged() {
+        return unchanged.get();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("regional.sync", applied, AtomicLong::get)
+                .tag("result", "applied")
+                .description("Regional synchronizations by outcome")
+                .register(registry);
+        FunctionCounter.builder("regional.sync", notModified, AtomicLong::get)
+                .tag("result", "not_modified")
+                .register(registry);
+        FunctionCounter.builder("regional.sync", unchanged, AtomicLong::get)
+                .tag("result", "unchanged")
+                .register(registry);
+    }
 }
@@ -18,7 +18,7 @@ public class Regional {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "external_id", unique = true)
+    @Column(name = "external_id")
     private Integer externalId;
 
     @Column(nullable = false, length = 200)
@@ -0,0 +1,35 @@
+package br.gov.seplag.artistalbum.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Validators and content hash of the last payload applied from an external source
+ */
+@Entity
+@Table(name = "sync_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncState {
+
+    @Id
+    @Column(length = 50)
+    private String source;
+
+    @Column(length = 255)
+    private String etag;
+
+    @Column(name = "last_modified", length = 64)
+    private String lastModified;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "synced_at")
+    private LocalDateTime syncedAt;
+}
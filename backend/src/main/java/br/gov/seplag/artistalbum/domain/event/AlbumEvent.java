@@ -0,0 +1,94 @@
+package br.gov.seplag.artistalbum.domain.event;
+
+import br.gov.seplag.artistalbum.domain.entity.Album;
+import br.gov.seplag.artistalbum.domain.entity.Artist;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Album domain event
+ * Immutable snapshot of an album change, safe to consume after the transaction has committed
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AlbumEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long albumId;
+    private final String albumTitle;
+    private final Long artistId;
+    private final String artistNames;
+    private final List<Long> artistIds;
+    // Artists of the album before the change; they lose it when missing from artistIds
+    private final List<Long> previousArtistIds;
+    private final LocalDateTime occurredAt;
+
+    public static AlbumEvent created(Album album) {
+        return of(Type.CREATED, album, List.of());
+    }
+
+    public static AlbumEvent updated(Album album) {
+        return of(Type.UPDATED, album, List.of());
+    }
+
+    public static AlbumEvent updated(Album album, List<Long> previousArtistIds) {
+        return of(Type.UPDATED, album, previousArtistIds);
+    }
+
+    public static AlbumEvent deleted(Album album) {
+        return of(Type.DELETED, album, List.of());
+    }
+
+    private static AlbumEvent of(Type type, Album album, List<Long> previousArtistIds) {
+        List<Long> artistIds = album.getArtists() != null
+                ? album.getArtists().stream().map(Artist::getId).toList()
+                : List.of();
+        Long firstArtistId = !artistIds.isEmpty() ? artistIds.get(0) : null;
+        return new AlbumEvent(type, album.getId(), album.getTitle(), firstArtistId,
+                album.getArtistNames(), artistIds, List.copyOf(previousArtistIds), LocalDateTime.now());
+    }
+
+    /**
+     * Artists whose album list changed: the current ones and those the album was moved away from
+     */
+    public Set<Long> getAffectedArtistIds() {
+        Set<Long> affected = new LinkedHashSet<>(artistIds);
+        affected.addAll(previousArtistIds);
+        return affected;
+    }
+
+    /**
+     * Combines this event with a later one for the same album.
+     * A creation followed by updates is still a creation for clients that never saw the album.
+     */
+    public AlbumEvent mergeWith(AlbumEvent later) {
+        if (type == Type.CREATED && later.type == Type.UPDATED) {
+            return new AlbumEvent(Type.CREATED, later.albumId, later.albumTitle, later.artistId,
+                    later.artistNames, later.artistIds, mergedPreviousArtistIds(later), later.occurredAt);
+        }
+        if (previousArtistIds.isEmpty()) {
+            return later;
+        }
+        return new AlbumEvent(later.type, later.albumId, later.albumTitle, later.artistId,
+                later.artistNames, later.artistIds, mergedPreviousArtistIds(later), later.occurredAt);
+    }
+
+    private List<Long> mergedPreviousArtistIds(AlbumEvent later) {
+        Set<Long> previous = new LinkedHashSet<>(previousArtistIds);
+        previous.addAll(later.previousArtistIds);
+        return List.copyOf(previous);
+    }
+}
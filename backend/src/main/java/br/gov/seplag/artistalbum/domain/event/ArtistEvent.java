@@ -0,0 +1,51 @@
+package br.gov.seplag.artistalbum.domain.event;
+
+import br.gov.seplag.artistalbum.domain.entity.Album;
+import br.gov.seplag.artistalbum.domain.entity.Artist;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Artist domain event
+ * Immutable snapshot of an artist change, including the albums whose representation it affects
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ArtistEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long artistId;
+    private final String artistName;
+    private final List<Long> albumIds;
+    private final LocalDateTime occurredAt;
+
+    public static ArtistEvent created(Artist artist) {
+        return of(Type.CREATED, artist);
+    }
+
+    public static ArtistEvent updated(Artist artist) {
+        return of(Type.UPDATED, artist);
+    }
+
+    public static ArtistEvent deleted(Artist artist) {
+        return of(Type.DELETED, artist);
+    }
+
+    private static ArtistEvent of(Type type, Artist artist) {
+        List<Long> albumIds = artist.getAlbums() != null
+                ? artist.getAlbums().stream().map(Album::getId).toList()
+                : List.of();
+        return new ArtistEvent(type, artist.getId(), artist.getName(), albumIds, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,18 @@
+package br.gov.seplag.artistalbum.domain.exception;
+
+/**
+ * Exception thrown when a request is shed because the server is at capacity
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -16,7 +16,8 @@ public interface ArtistRepository extends JpaRepository<Artist, Long> {
     @Query("SELECT a FROM Artist a WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     Page<Artist> findByNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
 
-    Optional<Artist> findByNameIgnoreCase(String name);
+    @Query("SELECT a FROM Artist a WHERE LOWER(a.name) = LOWER(:name)")
+    Optional<Artist> findByNameIgnoreCase(@Param("name") String name);
 
     @Query("SELECT COUNT(a) > 0 FROM Artist a WHERE LOWER(a.name) = LOWER(:name) AND a.id != :id")
     boolean existsByNameIgnoreCaseAndIdNot(@Param("name") String name, @Param("id") Long id);
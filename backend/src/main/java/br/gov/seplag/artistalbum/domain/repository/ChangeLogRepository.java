@@ -0,0 +1,34 @@
+package br.gov.seplag.artistalbum.domain.repository;
+
+import br.gov.seplag.artistalbum.domain.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Transaction-scoped lock held until commit, so change IDs are committed in order
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(1128808782)) l", nativeQuery = true)
+    long lockForAppend();
+
+    /**
+     * Removes entries superseded by a later change of the same entity.
+     * Safe for any client cursor: the latest change of every entity is always kept.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM change_log c WHERE c.created_at < :cutoff AND EXISTS (" +
+            "SELECT 1 FROM change_log n WHERE n.entity_type = c.entity_type " +
+            "AND n.entity_id = c.entity_id AND n.id > c.id)", nativeQuery = true)
+    int deleteSupersededBefore(@Param("cutoff") LocalDateTime cutoff);
+}
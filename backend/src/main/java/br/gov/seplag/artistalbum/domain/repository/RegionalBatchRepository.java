@@ -0,0 +1,45 @@
+package br.gov.seplag.artistalbum.domain.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Set-based reads and writes for regional synchronization
+ */
+public interface RegionalBatchRepository {
+
+    /**
+     * Receives one row of {@link #forEachSyncRow} at a time
+     */
+    @FunctionalInterface
+    interface SyncRowHandler {
+        void accept(long id, int externalId, String nome, boolean ativo);
+    }
+
+    /**
+     * Stream the columns the sync diff needs for every regional with an external ID,
+     * without loading entities into the persistence context
+     */
+    void forEachSyncRow(SyncRowHandler handler);
+
+    /**
+     * Insert active regionais in one statement; external IDs that already have an active row are skipped
+     *
+     * @return number of rows inserted
+     */
+    int insertActive(Map<Integer, String> nomesByExternalId);
+
+    /**
+     * Inactivate the active regionais with the given external IDs in one statement
+     *
+     * @return number of rows inactivated
+     */
+    int inactivateByExternalIds(Collection<Integer> externalIds);
+
+    /**
+     * Reactivate the given regionais in one statement
+     *
+     * @return number of rows reactivated
+     */
+    int activateByIds(Collection<Long> ids);
+}
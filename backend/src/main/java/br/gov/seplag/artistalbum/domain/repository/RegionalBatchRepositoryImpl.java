@@ -0,0 +1,89 @@
+package br.gov.seplag.artistalbum.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * PostgreSQL implementation of {@link RegionalBatchRepository}
+ *
+ * Rows are passed as arrays and expanded with unnest, so each operation is a
+ * single statement whatever the number of rows.
+ */
+@RequiredArgsConstructor
+public class RegionalBatchRepositoryImpl implements RegionalBatchRepository {
+
+    private static final String SYNC_ROWS_SQL = """
+            SELECT id, external_id, nome, ativo
+            FROM regionais
+            WHERE external_id IS NOT NULL
+            """;
+
+    // Conflict target is the partial unique index on active rows (V7)
+    private static final String INSERT_SQL = """
+            INSERT INTO regionais (external_id, nome, ativo, created_at, updated_at)
+            SELECT e.external_id, e.nome, TRUE, LOCALTIMESTAMP, LOCALTIMESTAMP
+            FROM unnest(:externalIds, :nomes) AS e(external_id, nome)
+            ON CONFLICT (external_id) WHERE ativo DO NOTHING
+            """;
+
+    private static final String INACTIVATE_SQL = """
+            UPDATE regionais
+            SET ativo = FALSE, updated_at = LOCALTIMESTAMP
+            WHERE ativo AND external_id = ANY(:externalIds)
+            """;
+
+    private static final String ACTIVATE_SQL = """
+            UPDATE regionais
+            SET ativo = TRUE, updated_at = LOCALTIMESTAMP
+            WHERE NOT ativo AND id = ANY(:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void forEachSyncRow(SyncRowHandler handler) {
+        jdbcTemplate.getJdbcTemplate().query(SYNC_ROWS_SQL, (RowCallbackHandler) rs -> handler.accept(
+                rs.getLong("id"),
+                rs.getInt("external_id"),
+                rs.getString("nome"),
+                rs.getBoolean("ativo")
+        ));
+    }
+
+    @Override
+    public int insertActive(Map<Integer, String> nomesByExternalId) {
+        if (nomesByExternalId.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("externalIds", new SqlArrayValue("integer", nomesByExternalId.keySet().toArray()))
+                .addValue("nomes", new SqlArrayValue("varchar", nomesByExternalId.values().toArray()));
+        return jdbcTemplate.update(INSERT_SQL, params);
+    }
+
+    @Override
+    public int inactivateByExternalIds(Collection<Integer> externalIds) {
+        if (externalIds.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("externalIds", new SqlArrayValue("integer", externalIds.toArray()));
+        return jdbcTemplate.update(INACTIVATE_SQL, params);
+    }
+
+    @Override
+    public int activateByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", new SqlArrayValue("bigint", ids.toArray()));
+        return jdbcTemplate.update(ACTIVATE_SQL, params);
+    }
+}
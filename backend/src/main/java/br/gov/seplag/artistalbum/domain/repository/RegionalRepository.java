@@ -8,9 +8,9 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RegionalRepository extends JpaRepository<Regional, Long> {
+public interface RegionalRepository extends JpaRepository<Regional, Long>, RegionalBatchRepository {
 
-    Optional<Regional> findByExternalId(Integer externalId);
+    Optional<Regional> findByExternalIdAndAtivoTrue(Integer externalId);
 
     List<Regional> findByAtivoTrue();
 
@@ -0,0 +1,9 @@
+package br.gov.seplag.artistalbum.domain.repository;
+
+import br.gov.seplag.artistalbum.domain.entity.SyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncStateRepository extends JpaRepository<SyncState, String> {
+}
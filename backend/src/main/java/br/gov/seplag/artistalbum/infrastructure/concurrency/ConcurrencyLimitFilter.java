@@ -0,0 +1,178 @@
+package br.gov.seplag.artistalbum.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filter for adaptive load shedding - applied before security
+ * Caps the requests in flight per group (reads and writes) at a limit derived
+ * from observed latency, and rejects the excess immediately with 503 instead
+ * of letting it queue in the container until clients time out.
+ * Health checks and long-lived streams are never limited.
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final String READ_GROUP = "read";
+    public static final String WRITE_GROUP = "write";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Value("${concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${concurrency-limit.bypass-paths:/actuator/health,/actuator/health/**,/api/*/events/**,/ws/**}")
+    private List<String> bypassPaths;
+
+    @Value("${concurrency-limit.read.initial:50}")
+    private int readInitial;
+
+    @Value("${concurrency-limit.read.min:10}")
+    private int readMin;
+
+    @Value("${concurrency-limit.read.max:150}")
+    private int readMax;
+
+    @Value("${concurrency-limit.write.initial:20}")
+    private int writeInitial;
+
+    @Value("${concurrency-limit.write.min:4}")
+    private int writeMin;
+
+    @Value("${concurrency-limit.write.max:50}")
+    private int writeMax;
+
+    @Value("${concurrency-limit.rtt-tolerance:1.5}")
+    private double rttTolerance;
+
+    @Value("${concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${concurrency-limit.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private GradientConcurrencyLimit readLimit;
+    private GradientConcurrencyLimit writeLimit;
+
+    private final AtomicLong readRejected = new AtomicLong();
+    private final AtomicLong writeRejected = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        readLimit = new GradientConcurrencyLimit(readInitial, readMin, readMax, rttTolerance, smoothing);
+        writeLimit = new GradientConcurrencyLimit(writeInitial, writeMin, writeMax, rttTolerance, smoothing);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        for (String pattern : bypassPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        boolean read = READ_METHODS.contains(request.getMethod());
+        GradientConcurrencyLimit limit = read ? readLimit : writeLimit;
+
+        int inFlight = limit.tryAcquire();
+        if (inFlight < 0) {
+            (read ? readRejected : writeRejected).incrementAndGet();
+            log.debug("Shedding {} {} at concurrency limit {}", request.getMethod(), request.getRequestURI(),
+                    limit.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write(
+                    "{\"error\": \"Service Unavailable\", " +
+                            "\"message\": \"Server is busy. Please retry shortly.\"}"
+            );
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // Failed or async requests do not reflect the time the server needs per request
+            if (completed && !request.isAsyncStarted()) {
+                limit.release(System.nanoTime() - start, inFlight);
+            } else {
+                limit.releaseWithoutSample();
+            }
+        }
+    }
+
+    public GradientConcurrencyLimit getReadLimit() {
+        return readLimit;
+    }
+
+    public GradientConcurrencyLimit getWriteLimit() {
+        return writeLimit;
+    }
+
+    public long getRejected(String group) {
+        return READ_GROUP.equals(group) ? readRejected.get() : writeRejected.get();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        bindGroup(registry, READ_GROUP, readLimit, readRejected);
+        bindGroup(registry, WRITE_GROUP, writeLimit, writeRejected);
+    }
+
+    private void bindGroup(MeterRegistry registry, String group, GradientConcurrencyLimit limit, AtomicLong rejected) {
+        Gauge.builder("http.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .tag("group", group)
+                .description("Current adaptive limit of requests in flight")
+                .register(registry);
+        Gauge.builder("http.concurrency.in_flight", limit, GradientConcurrencyLimit::getInFlight)
+                .tag("group", group)
+                .description("Requests currently in flight")
+                .register(registry);
+        FunctionCounter.builder("http.concurrency.rejected", rejected, AtomicLong::get)
+                .tag("group", group)
+                .description("Requests shed with 503 at the concurrency limit")
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package br.gov.seplag.artistalbum.infrastructure.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Predicate;
+
+/**
+ * Enables {@link io.micrometer.core.annotation.Timed} on beans
+ *
+ * Services annotated at class level get one timer per public method, tagged
+ * with class, method and exception type, so cardinality is bounded by the
+ * code. Spring Data repositories are timed by Spring Boot itself
+ * (spring.data.repository.invocations); histograms and expected ranges for
+ * both are set under management.metrics.distribution.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Skips {@link MeterBinder#bindTo}, which the registry calls on the proxy at startup
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        Predicate<ProceedingJoinPoint> skipMeterBinding = joinPoint ->
+                joinPoint.getTarget() instanceof MeterBinder
+                        && ((MethodSignature) joinPoint.getSignature()).getMethod().getName().equals("bindTo");
+        return new TimedAspect(registry, skipMeterBinding);
+    }
+}
@@ -0,0 +1,211 @@
+package br.gov.seplag.artistalbum.infrastructure.external;
+
+import br.gov.seplag.artistalbum.domain.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP client for the external regionais API
+ *
+ * Uses a shared JDK HttpClient, which keeps connections alive between calls,
+ * with connect and read timeouts. Network errors, 5xx and 429 answers are
+ * retried with exponential backoff and jitter; other 4xx answers are not.
+ * A call that fails after all attempts counts towards a circuit breaker, and
+ * while the circuit is open calls fail fast with a 503. Each attempt is
+ * observed as an HTTP client call, so it is traced and carries the trace context.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegionaisApiClient implements MeterBinder {
+
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${external.regionais-api.url}")
+    private String url;
+
+    @Value("${external.regionais-api.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${external.regionais-api.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${external.regionais-api.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${external.regionais-api.retry.backoff-ms:500}")
+    private long backoffMs;
+
+    @Value("${external.regionais-api.retry.max-backoff-ms:5000}")
+    private long maxBackoffMs;
+
+    @Value("${external.regionais-api.circuit-breaker.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${external.regionais-api.circuit-breaker.open-ms:60000}")
+    private long openMs;
+
+    private RestTemplate restTemplate;
+    private CircuitBreaker circuitBreaker;
+
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        restTemplate = new RestTemplate(requestFactory);
+        // http.client.requests observation: a client span, and the traceparent header on every attempt
+        restTemplate.setObservationRegistry(observationRegistry);
+        circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+    }
+
+    /**
+     * GET the regionais payload, handing the response to the extractor as a stream
+     *
+     * The extractor runs once per attempt and must not keep state between
+     * attempts; I/O errors while it reads the body are retried like any other.
+     *
+     * @param headers request headers, typically conditional validators
+     * @param extractor reads the response; called for 2xx and 304 answers
+     * @throws ServiceUnavailableException when the circuit is open
+     * @throws RestClientException when every attempt failed or the API rejected the request
+     */
+    public <T> T fetch(HttpHeaders headers, ResponseExtractor<T> extractor) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejected.incrementAndGet();
+            long retryAfterSeconds = Math.max(1, (circuitBreaker.getRemainingOpenMillis() + 999) / 1000);
+            throw new ServiceUnavailableException(
+                    "Regionais API is unavailable, circuit open after repeated failures", retryAfterSeconds);
+        }
+
+        RestClientException lastError = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                T result = restTemplate.execute(url, HttpMethod.GET,
+                        request -> request.getHeaders().putAll(headers), extractor);
+                circuitBreaker.onSuccess();
+                successes.incrementAndGet();
+                return result;
+            } catch (HttpClientErrorException e) {
+                if (!e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                    // The API is reachable and answered; retrying the same request will not help
+                    circuitBreaker.onSuccess();
+                    throw e;
+                }
+                lastError = e;
+            } catch (RestClientException e) {
+                lastError = e;
+            } catch (RuntimeException e) {
+                // Thrown by the extractor on content it rejects: the API itself answered
+                circuitBreaker.onSuccess();
+                throw e;
+            }
+
+            if (attempt < maxAttempts) {
+                retries.incrementAndGet();
+                long delay = backoff(attempt);
+                log.warn("Regionais API call failed (attempt {}/{}), retrying in {} ms: {}",
+                        attempt, maxAttempts, delay, lastError.getMessage());
+                sleep(delay);
+            }
+        }
+
+        circuitBreaker.onFailure();
+        failures.incrementAndGet();
+        throw lastError;
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half the delay is fixed, half is random
+     */
+    private long backoff(int attempt) {
+        long exponential = Math.min(maxBackoffMs, backoffMs << Math.min(attempt - 1, 20));
+        long half = exponential / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestClientException("Interrupted while waiting to retry regionais API call", e);
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public long getSuccesses() {
+        return successes.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getRetries() {
+        return retries.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("external.regionais.calls", successes, AtomicLong::get)
+                .tag("outcome", "success")
+                .description("Calls to the regionais API by outcome")
+                .register(registry);
+        FunctionCounter.builder("external.regionais.calls", failures, AtomicLong::get)
+                .tag("outcome", "failure")
+                .register(registry);
+        FunctionCounter.builder("external.regionais.calls", rejected, AtomicLong::get)
+                .tag("outcome", "circuit_open")
+                .register(registry);
+        FunctionCounter.builder("external.regionais.retries", retries, AtomicLong::get)
+                .description("Retried attempts against the regionais API")
+                .register(registry);
+        Gauge.builder("external.regionais.circuit.open", this,
+                        client -> client.getCircuitState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("Whether the regionais API circuit breaker is open or half-open")
+                .register(registry);
+    }
+}
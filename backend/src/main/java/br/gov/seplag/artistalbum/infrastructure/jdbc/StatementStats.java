@@ -0,0 +1,75 @@
+package br.gov.seplag.artistalbum.infrastructure.jdbc;
+
+/**
+ * Statement Stats
+ * JDBC work done by one thread between {@link #start()} and {@link #stop()}
+ *
+ * Collected by {@link StatementTrackingDataSource} for whatever scope is open
+ * on the current thread, usually one HTTP request. Instances are confined to
+ * that thread, so the fields need no synchronization.
+ */
+public final class StatementStats {
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long elapsedNanos;
+    private long rows;
+
+    /**
+     * Open a scope on the current thread, replacing any open one
+     */
+    public static StatementStats start() {
+        StatementStats stats = new StatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Reopen a scope saved from {@link #current()}, or close it when null
+     */
+    static void resume(StatementStats stats) {
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+    }
+
+    /**
+     * @return the scope open on the current thread, or null
+     */
+    public static StatementStats current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(long nanos) {
+        statements++;
+        elapsedNanos += nanos;
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statement(s), " + rows + " row(s), " + elapsedNanos / 1_000_000.0 + " ms";
+    }
+}
@@ -0,0 +1,131 @@
+package br.gov.seplag.artistalbum.infrastructure.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter that accounts the JDBC work of each request - applied first
+ * Opens a {@link StatementStats} scope for the request and records statement
+ * count, database time and rows fetched per endpoint. With server-timing
+ * enabled (dev profile) the totals are also sent as a Server-Timing header,
+ * added just before the response commits so they show up in browser devtools.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class StatementStatsFilter extends OncePerRequestFilter implements MeterBinder {
+
+    /**
+     * Request attribute holding the request's {@link StatementStats}
+     */
+    public static final String STATS_ATTRIBUTE = StatementStats.class.getName();
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Value("${jdbc.statement-stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jdbc.statement-stats.server-timing:false}")
+    private boolean serverTiming;
+
+    private MeterRegistry registry;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        StatementStats stats = StatementStats.start();
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        HttpServletResponse target = serverTiming ? new ServerTimingResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            StatementStats.stop();
+            if (serverTiming && !response.isCommitted()) {
+                response.setHeader(SERVER_TIMING_HEADER, serverTiming(stats));
+            }
+            record(request, stats);
+        }
+    }
+
+    /**
+     * db;dur=12.3, db-statements;desc="4", db-rows;desc="25"
+     */
+    static String serverTiming(StatementStats stats) {
+        return String.format(Locale.ROOT, "db;dur=%.1f, db-statements;desc=\"%d\", db-rows;desc=\"%d\"",
+                stats.getElapsedNanos() / 1_000_000.0, stats.getStatements(), stats.getRows());
+    }
+
+    private void record(HttpServletRequest request, StatementStats stats) {
+        if (registry == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .tags("method", method, "uri", uri)
+                .description("JDBC statements executed per request")
+                .register(registry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.db.time")
+                .tags("method", method, "uri", uri)
+                .description("Time spent executing JDBC statements per request")
+                .register(registry)
+                .record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.server.requests.db.rows")
+                .tags("method", method, "uri", uri)
+                .description("Result set rows fetched per request")
+                .register(registry)
+                .record(stats.getRows());
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Sets the header at commit, when the handler's queries have all run
+     */
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final StatementStats stats;
+
+        ServerTimingResponse(HttpServletResponse response, StatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(SERVER_TIMING_HEADER, serverTiming(stats));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.gov.seplag.artistalbum.infrastructure.jdbc;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link StatementTrackingDataSource}
+ *
+ * Hikari, Flyway and the health indicator unwrap it to the pool, so pool
+ * metrics are unaffected.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jdbc.statement-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementTrackingConfiguration {
+
+    @Bean
+    public static BeanPostProcessor statementTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTrackingDataSource)) {
+                    return new StatementTrackingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package br.gov.seplag.artistalbum.infrastructure.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * DataSource that records statements, time and rows into {@link StatementStats}
+ *
+ * Connections taken while a scope is open on the thread are wrapped in JDK
+ * proxies down to the result sets; every other call goes straight to the
+ * driver. Outside a scope (scheduled jobs, startup) connections are returned
+ * unwrapped, so there is no overhead there. unwrap and isWrapperFor reach the
+ * pool and driver objects, so pool metrics and driver extensions still work.
+ */
+public class StatementTrackingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public StatementTrackingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        return track(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        return track(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection track(Connection connection) {
+        if (StatementStats.current() == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return trackStatement(method.getReturnType(), statement);
+            }
+            return result;
+        });
+    }
+
+    private static Object trackStatement(Class<?> type, Statement statement) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                long start = System.nanoTime();
+                try {
+                    return trackResultSet(invoke(statement, method, args));
+                } finally {
+                    StatementStats stats = StatementStats.current();
+                    if (stats != null) {
+                        stats.recordStatement(System.nanoTime() - start);
+                    }
+                }
+            }
+            Object result = invoke(statement, method, args);
+            return method.getName().equals("getResultSet") ? trackResultSet(result) : result;
+        });
+    }
+
+    private static Object trackResultSet(Object result) {
+        if (!(result instanceof ResultSet resultSet)) {
+            return result;
+        }
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            Object value = invoke(resultSet, method, args);
+            if (Boolean.TRUE.equals(value) && method.getName().equals("next")) {
+                StatementStats stats = StatementStats.current();
+                if (stats != null) {
+                    stats.recordRow();
+                }
+            }
+            return value;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementTrackingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filter for rate limiting the authentication endpoints - applied before authentication
+ * Rate limits login and refresh requests based on client IP, so excess attempts
+ * are rejected before any password hashing, token parsing or database work
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final ClientIpResolver clientIpResolver;
+
+    @Value("${rate-limit.auth.requests-per-minute:10}")
+    private int requestsPerMinute;
+
+    @Value("${rate-limit.auth.paths:/api/*/auth/login,/api/*/auth/refresh}")
+    private List<String> paths;
+
+    @Value("${rate-limit.auth.max-entries:100000}")
+    private int maxEntries;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private TokenBucketStore store;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        store = new TokenBucketStore(requestsPerMinute, requestsPerMinute, Duration.ofMinutes(1), maxEntries);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String pattern : paths) {
+            if (pathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String clientIp = clientIpResolver.resolve(request);
+        ConsumptionResult result = store.tryConsume(clientIp, 1);
+
+        if (!result.consumed()) {
+            rejected.incrementAndGet();
+            long retryAfterSeconds = Math.max(1, (result.millisToWait() + 999) / 1000);
+            log.warn("Authentication rate limit exceeded for IP: {} on {}", clientIp, request.getRequestURI());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write(
+                    "{\"error\": \"Too Many Requests\", " +
+                            "\"message\": \"Too many authentication attempts. Try again in " + retryAfterSeconds + " seconds.\"}"
+            );
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.store.sweep-interval-ms:60000}")
+    public void evictRefilled() {
+        store.evictRefilled();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public int getTrackedClients() {
+        return store.size();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("rate_limit.auth.rejected", this, AuthRateLimitFilter::getRejected)
+                .description("Authentication requests rejected by the per-IP limit")
+                .register(registry);
+        RateLimitService.bindStore(registry, "auth", store);
+    }
+}
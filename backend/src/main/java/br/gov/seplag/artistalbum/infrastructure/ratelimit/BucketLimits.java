@@ -0,0 +1,13 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token bucket shape: capacity and whole-interval refill
+ */
+public record BucketLimits(long capacity, long refillTokens, long refillPeriodMillis) {
+
+    public static BucketLimits perInterval(long tokens, Duration period) {
+        return new BucketLimits(tokens, tokens, period.toMillis());
+    }
+}
@@ -0,0 +1,76 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the client IP of a request
+ *
+ * X-Forwarded-For is only honored when the direct peer is one of our trusted
+ * proxies, by default loopback only; a reverse proxy in front of the API must
+ * be listed by its own address. The chain is read right to left and the first address that
+ * is not a trusted proxy is the client, so a spoofed left-most entry is ignored.
+ */
+@Component
+public class ClientIpResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    @Value("${rate-limit.trusted-proxies:127.0.0.1/32,::1/128}")
+    private List<String> trustedProxies;
+
+    private List<IpAddressMatcher> trustedMatchers = List.of();
+
+    @PostConstruct
+    public void init() {
+        List<IpAddressMatcher> matchers = new ArrayList<>();
+        for (String proxy : trustedProxies) {
+            if (StringUtils.hasText(proxy)) {
+                matchers.add(new IpAddressMatcher(proxy.trim()));
+            }
+        }
+        trustedMatchers = matchers;
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!isTrusted(remoteAddress)) {
+            return remoteAddress;
+        }
+
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (!StringUtils.hasText(forwardedFor)) {
+            return remoteAddress;
+        }
+
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private boolean isTrusted(String address) {
+        for (IpAddressMatcher matcher : trustedMatchers) {
+            try {
+                if (matcher.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not an IP literal (e.g. "unknown"); never trusted
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+/**
+ * Outcome of a rate limit consumption attempt
+ *
+ * @param consumed        whether the tokens were taken
+ * @param remainingTokens tokens left in the bucket
+ * @param millisToWait    time until enough tokens are available (0 when consumed)
+ */
+public record ConsumptionResult(boolean consumed, long remainingTokens, long millisToWait) {
+}
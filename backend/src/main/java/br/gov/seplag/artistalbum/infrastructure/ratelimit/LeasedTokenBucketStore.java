@@ -0,0 +1,191 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limit store backed by a shared {@link TokenLeaseSource}
+ *
+ * Tokens are taken from the shared bucket in small leases and spent locally,
+ * so most checks do not need a round trip. Leased tokens were already removed
+ * from the shared bucket, which keeps the cluster-wide limit exact; tokens
+ * left in an expired lease are credited back by the next acquire for that key,
+ * so sparse traffic is not charged for the surplus. An expired lease is kept
+ * for one refill period for that purpose; after it the shared bucket has
+ * refilled anyway. A lease size of 1 disables pre-fetching.
+ *
+ * When the shared bucket cannot be reached, checks fall back to a per-instance
+ * store with the same limits instead of failing the request.
+ *
+ * Shared keys are prefixed with the store namespace, so stores with different
+ * limits can share one table without evicting each other's buckets.
+ */
+@Slf4j
+public class LeasedTokenBucketStore implements RateLimitStore {
+
+    public static final String NAMESPACE_SEPARATOR = ":";
+
+    private final String namespace;
+    private final BucketLimits limits;
+    private final long leaseSize;
+    private final long leaseTtlMillis;
+    private final TokenLeaseSource source;
+    private final RateLimitStore fallback;
+    private final LongSupplier clock;
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private final AtomicLong localGrants = new AtomicLong();
+    private final AtomicLong remoteCalls = new AtomicLong();
+    private final AtomicLong fallbackChecks = new AtomicLong();
+    // Only used to log the switch to and from the fallback once
+    private volatile boolean degraded;
+
+    public LeasedTokenBucketStore(String namespace, BucketLimits limits, long leaseSize, long leaseTtlMillis,
+                                  TokenLeaseSource source, RateLimitStore fallback) {
+        this(namespace, limits, leaseSize, leaseTtlMillis, source, fallback, System::currentTimeMillis);
+    }
+
+    LeasedTokenBucketStore(String namespace, BucketLimits limits, long leaseSize, long leaseTtlMillis,
+                           TokenLeaseSource source, RateLimitStore fallback, LongSupplier clock) {
+        this.namespace = namespace;
+        this.limits = limits;
+        this.leaseSize = Math.max(1, Math.min(leaseSize, limits.capacity()));
+        this.leaseTtlMillis = leaseTtlMillis;
+        this.source = source;
+        this.fallback = fallback;
+        this.clock = clock;
+    }
+
+    @Override
+    public ConsumptionResult tryConsume(String key, long tokens) {
+        long now = clock.getAsLong();
+        Lease lease = leases.get(key);
+        if (lease != null && lease.isValid(now) && lease.take(tokens)) {
+            localGrants.incrementAndGet();
+            return new ConsumptionResult(true, lease.tokens.get() + lease.sharedRemaining, 0);
+        }
+
+        long returned = lease != null && !lease.isValid(now) ? lease.drain() : 0;
+        TokenLeaseSource.TokenLease granted;
+        try {
+            remoteCalls.incrementAndGet();
+            granted = source.acquire(namespace + NAMESPACE_SEPARATOR + key, tokens, Math.max(tokens, leaseSize),
+                    returned, limits);
+        } catch (RuntimeException e) {
+            return consumeFallback(key, tokens, e);
+        }
+        if (degraded) {
+            degraded = false;
+            log.info("Shared rate limit buckets for tier '{}' reachable again", namespace);
+        }
+
+        long localRemaining = lease != null && lease.isValid(now) ? lease.tokens.get() : 0;
+        if (granted.granted() < tokens) {
+            return new ConsumptionResult(false, localRemaining + granted.remaining(), granted.millisToRefill());
+        }
+
+        long surplus = granted.granted() - tokens;
+        if (surplus > 0) {
+            leases.compute(key, (k, current) -> {
+                if (current != null && current.isValid(now)) {
+                    current.tokens.addAndGet(surplus);
+                    current.sharedRemaining = granted.remaining();
+                    return current;
+                }
+                // Tokens of an expired lease nobody returned yet stay leased
+                long carried = current != null ? current.drain() : 0;
+                return new Lease(surplus + carried, now + leaseTtlMillis, granted.remaining());
+            });
+        }
+        return new ConsumptionResult(true, localRemaining + surplus + granted.remaining(), 0);
+    }
+
+    @Override
+    public long getAvailableTokens(String key) {
+        Lease lease = leases.get(key);
+        if (lease == null || !lease.isValid(clock.getAsLong())) {
+            return limits.capacity();
+        }
+        return lease.tokens.get() + lease.sharedRemaining;
+    }
+
+    /**
+     * Drop leases that expired a refill period ago, and refilled shared and fallback buckets
+     */
+    @Override
+    public int evictRefilled() {
+        long now = clock.getAsLong();
+        leases.values().removeIf(lease -> now - lease.expiresAt >= limits.refillPeriodMillis());
+        int evicted = fallback.evictRefilled();
+        try {
+            return evicted + source.evictRefilled(namespace, limits);
+        } catch (RuntimeException e) {
+            log.debug("Could not evict shared rate limit buckets for tier '{}'", namespace, e);
+            return evicted;
+        }
+    }
+
+    public int getLeaseCount() {
+        return leases.size();
+    }
+
+    public long getLocalGrants() {
+        return localGrants.get();
+    }
+
+    public long getRemoteCalls() {
+        return remoteCalls.get();
+    }
+
+    public long getFallbackChecks() {
+        return fallbackChecks.get();
+    }
+
+    private ConsumptionResult consumeFallback(String key, long tokens, RuntimeException e) {
+        fallbackChecks.incrementAndGet();
+        if (!degraded) {
+            degraded = true;
+            log.warn("Shared rate limit buckets for tier '{}' unavailable, using per-instance buckets: {}",
+                    namespace, e.getMessage());
+        }
+        return fallback.tryConsume(key, tokens);
+    }
+
+    private static final class Lease {
+
+        private final AtomicLong tokens;
+        private final long expiresAt;
+        private volatile long sharedRemaining;
+
+        private Lease(long tokens, long expiresAt, long sharedRemaining) {
+            this.tokens = new AtomicLong(tokens);
+            this.expiresAt = expiresAt;
+            this.sharedRemaining = sharedRemaining;
+        }
+
+        boolean isValid(long now) {
+            return now < expiresAt;
+        }
+
+        boolean take(long wanted) {
+            long current;
+            do {
+                current = tokens.get();
+                if (current < wanted) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - wanted));
+            return true;
+        }
+
+        // Unused tokens, handed out once
+        long drain() {
+            return tokens.getAndSet(0);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets shared by all API instances, stored in the rate_limit_bucket table
+ *
+ * Return of expired lease tokens, refill and take happen in one upsert so
+ * concurrent instances serialize on the row lock; time comes from the database clock so instances with skewed
+ * clocks agree on refills.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostgresTokenLeaseSource implements TokenLeaseSource {
+
+    private static final String NOW_MILLIS = "(EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT";
+
+    private static final String REFILLED = "LEAST(:capacity, b.tokens + :returned"
+            + " + GREATEST(0, (EXCLUDED.refill_at - b.refill_at) / :period) * :refill)";
+
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO rate_limit_bucket AS b (bucket_key, tokens, refill_at, granted)
+            VALUES (:key,
+                    :capacity - CASE WHEN :capacity >= :needed THEN LEAST(:requested, :capacity) ELSE 0 END,
+                    %1$s,
+                    CASE WHEN :capacity >= :needed THEN LEAST(:requested, :capacity) ELSE 0 END)
+            ON CONFLICT (bucket_key) DO UPDATE SET
+                granted = CASE WHEN %2$s >= :needed THEN LEAST(:requested, %2$s) ELSE 0 END,
+                tokens = %2$s - CASE WHEN %2$s >= :needed THEN LEAST(:requested, %2$s) ELSE 0 END,
+                refill_at = b.refill_at + GREATEST(0, (EXCLUDED.refill_at - b.refill_at) / :period) * :period
+            RETURNING granted, tokens, refill_at + :period - %1$s AS millis_to_refill
+            """.formatted(NOW_MILLIS, REFILLED);
+
+    private static final String EVICT_SQL = """
+            DELETE FROM rate_limit_bucket
+            WHERE left(bucket_key, length(:prefix)) = :prefix
+              AND tokens + GREATEST(0, (%s - refill_at) / :period) * :refill >= :capacity
+            """.formatted(NOW_MILLIS);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public TokenLease acquire(String key, long needed, long requested, long returned, BucketLimits limits) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("needed", needed)
+                .addValue("requested", requested)
+                .addValue("returned", returned)
+                .addValue("capacity", limits.capacity())
+                .addValue("refill", limits.refillTokens())
+                .addValue("period", limits.refillPeriodMillis());
+
+        return jdbcTemplate.queryForObject(ACQUIRE_SQL, params, (rs, rowNum) -> new TokenLease(
+                rs.getLong("granted"),
+                rs.getLong("tokens"),
+                Math.max(0, rs.getLong("millis_to_refill"))
+        ));
+    }
+
+    @Override
+    public int evictRefilled(String namespace, BucketLimits limits) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("prefix", namespace + LeasedTokenBucketStore.NAMESPACE_SEPARATOR)
+                .addValue("capacity", limits.capacity())
+                .addValue("refill", limits.refillTokens())
+                .addValue("period", limits.refillPeriodMillis());
+        return jdbcTemplate.update(EVICT_SQL, params);
+    }
+}
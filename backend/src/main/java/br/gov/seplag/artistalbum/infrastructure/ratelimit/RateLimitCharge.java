@@ -0,0 +1,7 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+/**
+ * Tokens a request costs and the tier they are taken from
+ */
+public record RateLimitCharge(String policy, String tier, long tokens) {
+}
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
@@ -18,13 +19,18 @@ import java.io.IOException;
 
 /**
  * Filter for rate limiting - applied after authentication
- * Rate limits requests based on authenticated username
+ * Rate limits requests based on authenticated username, charging each request
+ * the token cost of its route policy; limit headers come from the same check
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
 
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String POLICY_HEADER = "X-RateLimit-Policy";
+
     private final RateLimitService rateLimitService;
 
     @Override
@@ -44,28 +50,37 @@ public class RateLimitFilter extends OncePerRequestFilter {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
             String username = authentication.getName();
-            String rateLimitKey = "rate-limit:" + username;
+            RateLimitCharge charge = rateLimitService.resolveCharge(
+                    request.getMethod(), path, request.getContentLengthLong());
+            ConsumptionResult result = rateLimitService.tryConsumeAndReturnRemaining(
+                    charge.tier(), username, charge.tokens());
+
+            response.setHeader(LIMIT_HEADER, String.valueOf(rateLimitService.getLimit(charge.tier())));
+            response.setHeader(REMAINING_HEADER, String.valueOf(result.remainingTokens()));
+            response.setHeader(POLICY_HEADER, charge.policy());
 
-            if (!rateLimitService.tryConsume(rateLimitKey)) {
-                log.warn("Rate limit exceeded for user: {}", username);
+            if (!result.consumed()) {
+                long retryAfterSeconds = Math.max(1, (result.millisToWait() + 999) / 1000);
+                log.warn("Rate limit exceeded for user: {} (policy {}, cost {})",
+                        username, charge.policy(), charge.tokens());
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
                 response.setContentType("application/json");
                 response.getWriter().write(
                         "{\"error\": \"Too Many Requests\", " +
-                                "\"message\": \"Rate limit exceeded. Maximum 10 requests per minute allowed.\"}"
+                                "\"message\": \"" + escape(rateLimitService.getRejectionMessage(charge.tier(), retryAfterSeconds)) + "\"}"
                 );
                 return;
             }
-
-            // Add rate limit headers
-            long availableTokens = rateLimitService.getAvailableTokens(rateLimitKey);
-            response.addHeader("X-RateLimit-Limit", "10");
-            response.addHeader("X-RateLimit-Remaining", String.valueOf(availableTokens));
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
     private boolean isPublicEndpoint(String path) {
         return path.contains("/auth/") ||
                 path.contains("/actuator/") ||
@@ -0,0 +1,83 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limit tiers and per-route policies
+ *
+ * Each tier is a separate token bucket per user. A request is charged to the
+ * tier of the first policy matching its method and path (the default tier
+ * otherwise), with a fixed cost plus an optional cost per megabyte of body.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    public static final String DEFAULT_TIER = "default";
+
+    /**
+     * Rejection message; {limit}, {period} and {retryAfter} are replaced
+     */
+    private String message = "Rate limit exceeded. Maximum {limit} requests per {period} allowed.";
+
+    /**
+     * Tiers besides the default one, which is sized by rate-limit.requests-per-minute
+     */
+    private Map<String, Tier> tiers = new LinkedHashMap<>();
+
+    /**
+     * Route policies, first match wins
+     */
+    private List<Policy> policies = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Tier {
+
+        private int capacity = 10;
+
+        private Duration period = Duration.ofMinutes(1);
+
+        /**
+         * Overrides the global rejection message for this tier
+         */
+        private String message;
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        private String name;
+
+        /**
+         * HTTP methods the policy applies to; empty for any method
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * Ant-style path pattern
+         */
+        private String pattern;
+
+        private String tier = DEFAULT_TIER;
+
+        private int cost = 1;
+
+        /**
+         * Extra tokens per started megabyte of request body (Content-Length)
+         */
+        private int costPerMb;
+    }
+}
@@ -1,50 +1,278 @@
 package br.gov.seplag.artistalbum.infrastructure.ratelimit;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Rate limiting service using Token Bucket algorithm (Bucket4j)
- * Implements: Maximum 10 requests per minute per user
+ * Rate limiting service using Token Bucket algorithm
+ * Implements: Maximum 10 requests per minute per user (default tier)
+ *
+ * Requests are charged to the tier of the first matching route policy (see
+ * {@link RateLimitProperties}); each tier keeps its own bucket per user.
+ *
+ * In local mode bucket state lives in a bounded {@link TokenBucketStore} per
+ * instance. In distributed mode buckets are shared by all instances through
+ * PostgreSQL, with tokens leased locally to avoid a round trip per request,
+ * falling back to per-instance buckets while the database is unreachable.
  */
 @Slf4j
 @Component
-public class RateLimitService {
+@RequiredArgsConstructor
+public class RateLimitService implements MeterBinder {
+
+    public static final String MODE_DISTRIBUTED = "distributed";
+
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private final TokenLeaseSource tokenLeaseSource;
+    private final RateLimitProperties properties;
 
     @Value("${rate-limit.requests-per-minute:10}")
     private int requestsPerMinute;
 
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+    @Value("${rate-limit.mode:local}")
+    private String mode;
+
+    @Value("${rate-limit.store.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${spring.servlet.multipart.max-request-size:10MB}")
+    private DataSize maxRequestSize;
+
+    @Value("${rate-limit.distributed.lease-size:2}")
+    private long leaseSize;
+
+    @Value("${rate-limit.distributed.lease-ttl-ms:5000}")
+    private long leaseTtlMillis;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, RateLimitProperties.Tier> tiers = new LinkedHashMap<>();
+    private final Map<String, RateLimitStore> stores = new LinkedHashMap<>();
+    private final Map<String, TierStats> tierStats = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        RateLimitProperties.Tier defaultTier = new RateLimitProperties.Tier();
+        defaultTier.setCapacity(requestsPerMinute);
+        tiers.put(RateLimitProperties.DEFAULT_TIER, defaultTier);
+        properties.getTiers().forEach(tiers::putIfAbsent);
 
-    public Bucket resolveBucket(String key) {
-        return cache.computeIfAbsent(key, k -> createNewBucket());
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            if (!tiers.containsKey(policy.getTier())) {
+                throw new IllegalStateException("Rate limit policy '" + policy.getName()
+                        + "' references unknown tier: " + policy.getTier());
+            }
+        }
+
+        boolean distributed = MODE_DISTRIBUTED.equalsIgnoreCase(mode);
+        tiers.forEach((name, tier) -> {
+            BucketLimits limits = BucketLimits.perInterval(tier.getCapacity(), tier.getPeriod());
+            TokenBucketStore local = new TokenBucketStore(
+                    limits.capacity(), limits.refillTokens(), tier.getPeriod(), maxEntries);
+            stores.put(name, distributed
+                    ? new LeasedTokenBucketStore(name, limits, leaseSize, leaseTtlMillis, tokenLeaseSource, local)
+                    : local);
+            tierStats.put(name, new TierStats());
+        });
+        if (distributed) {
+            log.info("Distributed rate limiting enabled (lease size {}, lease TTL {} ms)", leaseSize, leaseTtlMillis);
+        }
+        log.info("Rate limit tiers: {}, route policies: {}", tiers.keySet(), properties.getPolicies().size());
+    }
+
+    /**
+     * Resolve the policy charge for a request; costs above the tier capacity are
+     * capped so a full bucket always admits the request. A body of unknown length
+     * (chunked, {@code contentLength < 0}) is charged as the largest accepted request.
+     */
+    public RateLimitCharge resolveCharge(String method, String path, long contentLength) {
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            if (matches(policy, method, path)) {
+                long tokens = policy.getCost();
+                if (policy.getCostPerMb() > 0) {
+                    long bodyBytes = contentLength >= 0 ? contentLength : maxRequestSize.toBytes();
+                    tokens += (bodyBytes + BYTES_PER_MB - 1) / BYTES_PER_MB * policy.getCostPerMb();
+                }
+                long capacity = tiers.get(policy.getTier()).getCapacity();
+                return new RateLimitCharge(policy.getName(), policy.getTier(), Math.max(1, Math.min(tokens, capacity)));
+            }
+        }
+        return new RateLimitCharge(RateLimitProperties.DEFAULT_TIER, RateLimitProperties.DEFAULT_TIER, 1);
     }
 
-    private Bucket createNewBucket() {
-        Bandwidth limit = Bandwidth.classic(
-                requestsPerMinute,
-                Refill.intervally(requestsPerMinute, Duration.ofMinutes(1))
-        );
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    /**
+     * Take tokens from a tier in one operation, returning what is left and how long to wait on rejection
+     */
+    public ConsumptionResult tryConsumeAndReturnRemaining(String tier, String key, long tokens) {
+        ConsumptionResult result = store(tier).tryConsume(key, tokens);
+        TierStats stats = tierStats.get(tier);
+        (result.consumed() ? stats.allowed : stats.rejected).increment();
+        return result;
     }
 
     public boolean tryConsume(String key) {
-        Bucket bucket = resolveBucket(key);
-        return bucket.tryConsume(1);
+        return tryConsumeAndReturnRemaining(RateLimitProperties.DEFAULT_TIER, key, 1).consumed();
     }
 
     public long getAvailableTokens(String key) {
-        Bucket bucket = resolveBucket(key);
-        return bucket.getAvailableTokens();
+        return store(RateLimitProperties.DEFAULT_TIER).getAvailableTokens(key);
+    }
+
+    public long getLimit(String tier) {
+        return tier(tier).getCapacity();
+    }
+
+    public long getAllowed(String tier) {
+        TierStats stats = tierStats.get(tier);
+        return stats != null ? stats.allowed.sum() : 0;
+    }
+
+    public long getRejected(String tier) {
+        TierStats stats = tierStats.get(tier);
+        return stats != null ? stats.rejected.sum() : 0;
+    }
+
+    public String getRejectionMessage(String tier, long retryAfterSeconds) {
+        RateLimitProperties.Tier config = tier(tier);
+        String template = config.getMessage() != null ? config.getMessage() : properties.getMessage();
+        return template
+                .replace("{limit}", String.valueOf(config.getCapacity()))
+                .replace("{period}", describe(config.getPeriod()))
+                .replace("{retryAfter}", String.valueOf(retryAfterSeconds));
+    }
+
+    /**
+     * Drop buckets that have fully refilled (equivalent to never having been used)
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.store.sweep-interval-ms:60000}")
+    public void evictRefilled() {
+        int evicted = 0;
+        for (RateLimitStore store : stores.values()) {
+            evicted += store.evictRefilled();
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} rate limit entr(ies)", evicted);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        tierStats.forEach((name, stats) -> {
+            FunctionCounter.builder("rate_limit.requests", stats.allowed, LongAdder::sum)
+                    .tag("tier", name)
+                    .tag("result", "allowed")
+                    .description("Rate limit checks by tier and decision")
+                    .register(registry);
+            FunctionCounter.builder("rate_limit.requests", stats.rejected, LongAdder::sum)
+                    .tag("tier", name)
+                    .tag("result", "rejected")
+                    .register(registry);
+        });
+        stores.forEach((name, store) -> {
+            String storeName = RateLimitProperties.DEFAULT_TIER.equals(name) ? "user" : "user-" + name;
+            if (store instanceof TokenBucketStore local) {
+                bindStore(registry, storeName, local);
+            } else if (store instanceof LeasedTokenBucketStore leased) {
+                Gauge.builder("rate_limit.distributed.leases", leased, LeasedTokenBucketStore::getLeaseCount)
+                        .tag("tier", name)
+                        .description("Keys holding locally leased tokens")
+                        .register(registry);
+                FunctionCounter.builder("rate_limit.distributed.checks", leased, LeasedTokenBucketStore::getLocalGrants)
+                        .tag("tier", name)
+                        .tag("source", "lease")
+                        .register(registry);
+                FunctionCounter.builder("rate_limit.distributed.checks", leased, LeasedTokenBucketStore::getRemoteCalls)
+                        .tag("tier", name)
+                        .tag("source", "database")
+                        .register(registry);
+                FunctionCounter.builder("rate_limit.distributed.checks", leased, LeasedTokenBucketStore::getFallbackChecks)
+                        .tag("tier", name)
+                        .tag("source", "fallback")
+                        .description("Checks served by per-instance buckets because the database was unreachable")
+                        .register(registry);
+            }
+        });
+    }
+
+    static void bindStore(MeterRegistry registry, String name, TokenBucketStore store) {
+        Gauge.builder("rate_limit.store.entries", store, TokenBucketStore::size)
+                .tag("store", name)
+                .description("Rate limit buckets held in memory")
+                .register(registry);
+        Gauge.builder("rate_limit.store.memory", store, TokenBucketStore::getEstimatedMemoryBytes)
+                .tag("store", name)
+                .baseUnit("bytes")
+                .description("Estimated memory held by rate limit buckets")
+                .register(registry);
+        FunctionCounter.builder("rate_limit.store.evictions", store, TokenBucketStore::getEvictedRefilled)
+                .tag("store", name)
+                .tag("reason", "refilled")
+                .register(registry);
+        FunctionCounter.builder("rate_limit.store.evictions", store, TokenBucketStore::getEvictedForced)
+                .tag("store", name)
+                .tag("reason", "size")
+                .register(registry);
+        FunctionCounter.builder("rate_limit.store.untracked", store, TokenBucketStore::getUntracked)
+                .tag("store", name)
+                .description("Requests allowed without a bucket because the store was full")
+                .register(registry);
+    }
+
+    private boolean matches(RateLimitProperties.Policy policy, String method, String path) {
+        if (!policy.getMethods().isEmpty()
+                && policy.getMethods().stream().noneMatch(m -> m.equalsIgnoreCase(method))) {
+            return false;
+        }
+        return pathMatcher.match(policy.getPattern(), path);
+    }
+
+    private RateLimitStore store(String tier) {
+        RateLimitStore store = stores.get(tier);
+        if (store == null) {
+            throw new IllegalArgumentException("Unknown rate limit tier: " + tier);
+        }
+        return store;
+    }
+
+    private RateLimitProperties.Tier tier(String tier) {
+        RateLimitProperties.Tier config = tiers.get(tier);
+        if (config == null) {
+            throw new IllegalArgumentException("Unknown rate limit tier: " + tier);
+        }
+        return config;
+    }
+
+    private static String describe(Duration period) {
+        long seconds = period.toSeconds();
+        if (seconds % 60 != 0) {
+            return seconds + " seconds";
+        }
+        long minutes = seconds / 60;
+        return minutes == 1 ? "minute" : minutes + " minutes";
+    }
+
+    /**
+     * Decisions per tier; adders because every authenticated request updates them
+     */
+    private static final class TierStats {
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
     }
 }
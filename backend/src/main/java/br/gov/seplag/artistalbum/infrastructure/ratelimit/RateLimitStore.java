@@ -0,0 +1,22 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+/**
+ * Storage of token bucket state, keyed by rate limit key
+ */
+public interface RateLimitStore {
+
+    /**
+     * Try to take the given number of tokens from the key's bucket
+     */
+    ConsumptionResult tryConsume(String key, long tokens);
+
+    /**
+     * Tokens currently available for the key; does not create an entry
+     */
+    long getAvailableTokens(String key);
+
+    /**
+     * Drop state that no longer affects any decision, returning how many entries were removed
+     */
+    int evictRefilled();
+}
@@ -0,0 +1,259 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-memory token bucket store
+ *
+ * Each key holds a single packed long (tokens in the high 16 bits, last refill
+ * time in epoch millis in the low 48 bits) updated by compare-and-swap, instead
+ * of a full Bucket object. Tokens are refilled in whole intervals, like
+ * Bucket4j's intervally refill.
+ *
+ * A bucket that has fully refilled is indistinguishable from a missing one, so
+ * such entries are evicted by {@link #evictRefilled()}. When the store reaches
+ * its maximum size a new key only examines the next small segment of entries,
+ * continuing where the previous one stopped like a clock hand, so key churn
+ * never turns a request into a full sweep. If no room can be made (another
+ * request is already evicting) the request is allowed without being recorded.
+ * Evicted cells are tombstoned first so a concurrent consumer never updates a
+ * cell that is no longer in the map.
+ */
+@Slf4j
+public class TokenBucketStore implements RateLimitStore {
+
+    public static final int MAX_CAPACITY = 0x7FFF;
+
+    private static final int TIME_BITS = 48;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long TOMBSTONE = -1L;
+    private static final int EVICTION_SEGMENT = 64;
+
+    // Rough per-entry overhead: map node, AtomicLong and String/array headers
+    private static final long ENTRY_OVERHEAD_BYTES = 32 + 16 + 24 + 16;
+
+    private final long capacity;
+    private final long refillTokens;
+    private final long refillPeriodMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final Map<String, AtomicLong> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong keyBytes = new AtomicLong();
+    private final AtomicLong evictedRefilled = new AtomicLong();
+    private final AtomicLong evictedForced = new AtomicLong();
+    private final AtomicLong untracked = new AtomicLong();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    // Guarded by evictionLock; resumes where the previous eviction stopped
+    private Iterator<Map.Entry<String, AtomicLong>> hand;
+
+    public TokenBucketStore(long capacity, long refillTokens, Duration refillPeriod, int maxEntries) {
+        this(capacity, refillTokens, refillPeriod, maxEntries, System::currentTimeMillis);
+    }
+
+    TokenBucketStore(long capacity, long refillTokens, Duration refillPeriod, int maxEntries, LongSupplier clock) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Bucket capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        this.capacity = capacity;
+        this.refillTokens = Math.max(1, refillTokens);
+        this.refillPeriodMillis = Math.max(1, refillPeriod.toMillis());
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public ConsumptionResult tryConsume(String key, long tokens) {
+        while (true) {
+            long now = clock.getAsLong();
+            AtomicLong cell = resolve(key, now);
+            if (cell == null) {
+                // Store full: fail open rather than sweep on the request thread
+                untracked.incrementAndGet();
+                return tokens <= capacity
+                        ? new ConsumptionResult(true, capacity - tokens, 0)
+                        : new ConsumptionResult(false, capacity, Long.MAX_VALUE);
+            }
+            long state = cell.get();
+            if (state == TOMBSTONE) {
+                entries.remove(key, cell);
+                continue;
+            }
+
+            long refillTime = refillTimeAt(state, now);
+            long available = tokensAt(state, now);
+
+            if (available >= tokens) {
+                long next = pack(available - tokens, refillTime);
+                if (cell.compareAndSet(state, next)) {
+                    return new ConsumptionResult(true, available - tokens, 0);
+                }
+                continue;
+            }
+
+            long next = pack(available, refillTime);
+            if (next == state || cell.compareAndSet(state, next)) {
+                return new ConsumptionResult(false, available, millisUntil(available, tokens, refillTime, now));
+            }
+        }
+    }
+
+    @Override
+    public long getAvailableTokens(String key) {
+        AtomicLong cell = entries.get(key);
+        long state = cell != null ? cell.get() : TOMBSTONE;
+        return state == TOMBSTONE ? capacity : tokensAt(state, clock.getAsLong());
+    }
+
+    @Override
+    public int evictRefilled() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<String, AtomicLong> entry : entries.entrySet()) {
+            if (tryEvict(entry.getKey(), entry.getValue(), now, false)) {
+                evicted++;
+            }
+        }
+        evictedRefilled.addAndGet(evicted);
+        return evicted;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getEstimatedMemoryBytes() {
+        return entries.size() * ENTRY_OVERHEAD_BYTES + keyBytes.get();
+    }
+
+    public long getEvictedRefilled() {
+        return evictedRefilled.get();
+    }
+
+    public long getEvictedForced() {
+        return evictedForced.get();
+    }
+
+    public long getUntracked() {
+        return untracked.get();
+    }
+
+    private AtomicLong resolve(String key, long now) {
+        AtomicLong cell = entries.get(key);
+        if (cell != null) {
+            return cell;
+        }
+        if (entries.size() >= maxEntries && !makeRoom(now)) {
+            return null;
+        }
+        return entries.computeIfAbsent(key, k -> {
+            keyBytes.addAndGet(k.length());
+            return new AtomicLong(pack(capacity, now));
+        });
+    }
+
+    /**
+     * Examine the next segment of entries: drop its refilled buckets and, if the
+     * store is still full, the first active one. Refilled buckets freed here make
+     * room for the next new keys, so the cost per new key stays bounded.
+     *
+     * @return whether there is room for a new entry
+     */
+    private boolean makeRoom(long now) {
+        if (!evictionLock.tryLock()) {
+            return entries.size() < maxEntries;
+        }
+        try {
+            int refilled = 0;
+            Map.Entry<String, AtomicLong> active = null;
+            boolean wrapped = false;
+            for (int examined = 0; examined < EVICTION_SEGMENT; examined++) {
+                if (hand == null || !hand.hasNext()) {
+                    if (wrapped) {
+                        break;
+                    }
+                    hand = entries.entrySet().iterator();
+                    wrapped = true;
+                    if (!hand.hasNext()) {
+                        break;
+                    }
+                }
+                Map.Entry<String, AtomicLong> entry = hand.next();
+                if (tryEvict(entry.getKey(), entry.getValue(), now, false)) {
+                    refilled++;
+                } else if (active == null) {
+                    active = entry;
+                }
+            }
+            evictedRefilled.addAndGet(refilled);
+
+            if (entries.size() >= maxEntries && active != null
+                    && tryEvict(active.getKey(), active.getValue(), now, true)) {
+                evictedForced.incrementAndGet();
+                log.debug("Rate limit store full ({} entries), evicted an active bucket", maxEntries);
+            }
+            return entries.size() < maxEntries;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean tryEvict(String key, AtomicLong cell, long now, boolean force) {
+        long state = cell.get();
+        if (state == TOMBSTONE) {
+            return false;
+        }
+        if (!force && tokensAt(state, now) < capacity) {
+            return false;
+        }
+        if (cell.compareAndSet(state, TOMBSTONE) && entries.remove(key, cell)) {
+            keyBytes.addAndGet(-key.length());
+            return true;
+        }
+        return false;
+    }
+
+    private long tokensAt(long state, long now) {
+        long tokens = state >>> TIME_BITS;
+        long last = state & TIME_MASK;
+        if (now - last >= refillPeriodMillis) {
+            long periods = (now - last) / refillPeriodMillis;
+            tokens = Math.min(capacity, tokens + periods * refillTokens);
+        }
+        return tokens;
+    }
+
+    private long refillTimeAt(long state, long now) {
+        long last = state & TIME_MASK;
+        if (now - last >= refillPeriodMillis) {
+            last += ((now - last) / refillPeriodMillis) * refillPeriodMillis;
+        }
+        return last;
+    }
+
+    private long millisUntil(long available, long wanted, long refillTime, long now) {
+        if (wanted > capacity) {
+            return Long.MAX_VALUE;
+        }
+        long periods = (wanted - available + refillTokens - 1) / refillTokens;
+        return refillTime + periods * refillPeriodMillis - now;
+    }
+
+    private static long pack(long tokens, long refillTime) {
+        return (tokens << TIME_BITS) | (refillTime & TIME_MASK);
+    }
+}
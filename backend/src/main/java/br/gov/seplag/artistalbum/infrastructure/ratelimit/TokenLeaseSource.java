@@ -0,0 +1,29 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+/**
+ * Shared bucket state that hands out tokens to one instance at a time
+ */
+public interface TokenLeaseSource {
+
+    /**
+     * Atomically credit back {@code returned} unused tokens of an expired lease, refill
+     * the shared bucket and take up to {@code requested} tokens from it.
+     * Nothing is taken unless at least {@code needed} tokens are available.
+     */
+    TokenLease acquire(String key, long needed, long requested, long returned, BucketLimits limits);
+
+    /**
+     * Remove shared buckets under a key namespace that have fully refilled
+     */
+    int evictRefilled(String namespace, BucketLimits limits);
+
+    /**
+     * Tokens granted by the shared bucket
+     *
+     * @param granted         tokens taken (0 or between needed and requested)
+     * @param remaining       tokens left in the shared bucket
+     * @param millisToRefill  time until the shared bucket refills next
+     */
+    record TokenLease(long granted, long remaining, long millisToRefill) {
+    }
+}
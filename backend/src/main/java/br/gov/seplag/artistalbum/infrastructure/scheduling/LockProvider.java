@@ -0,0 +1,23 @@
+package br.gov.seplag.artistalbum.infrastructure.scheduling;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide named locks for scheduled jobs
+ */
+public interface LockProvider {
+
+    /**
+     * Take the lock if no other instance holds an unexpired lease on it
+     *
+     * @param lockAtMostFor lease length
+     * @return whether this instance now holds the lock
+     */
+    boolean tryLock(String name, Duration lockAtMostFor);
+
+    /**
+     * Release the lock, keeping it held until at least {@code lockAtLeastFor}
+     * after it was taken. Does nothing if another instance has since taken it.
+     */
+    void unlock(String name, Duration lockAtLeastFor);
+}
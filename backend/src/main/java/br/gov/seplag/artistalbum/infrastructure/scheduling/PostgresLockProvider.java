@@ -0,0 +1,73 @@
+package br.gov.seplag.artistalbum.infrastructure.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+/**
+ * Scheduler locks stored as leases in the scheduler_lock table
+ *
+ * Acquiring is one upsert that only succeeds when the current lease has
+ * expired, so concurrent instances serialize on the row lock. No connection
+ * is held while the job runs, and a crashed owner's lease simply expires.
+ * Time comes from the database clock so instances with skewed clocks agree.
+ */
+@Slf4j
+@Component
+public class PostgresLockProvider implements LockProvider {
+
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO scheduler_lock AS l (name, locked_until, locked_at, locked_by)
+            VALUES (:name, clock_timestamp() + :atMostMs * INTERVAL '1 millisecond', clock_timestamp(), :node)
+            ON CONFLICT (name) DO UPDATE SET
+                locked_until = EXCLUDED.locked_until,
+                locked_at = EXCLUDED.locked_at,
+                locked_by = EXCLUDED.locked_by
+            WHERE l.locked_until <= EXCLUDED.locked_at
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE scheduler_lock
+            SET locked_until = GREATEST(clock_timestamp(), locked_at + :atLeastMs * INTERVAL '1 millisecond')
+            WHERE name = :name AND locked_by = :node AND locked_until > clock_timestamp()
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String nodeId;
+
+    public PostgresLockProvider(NamedParameterJdbcTemplate jdbcTemplate,
+                                @Value("${scheduler.lock.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId == null || nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName()
+                : nodeId;
+        log.info("Scheduler locks will be taken as node: {}", this.nodeId);
+    }
+
+    @Override
+    public boolean tryLock(String name, Duration lockAtMostFor) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("atMostMs", lockAtMostFor.toMillis())
+                .addValue("node", nodeId);
+        return jdbcTemplate.update(ACQUIRE_SQL, params) == 1;
+    }
+
+    @Override
+    public void unlock(String name, Duration lockAtLeastFor) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("atLeastMs", lockAtLeastFor.toMillis())
+                .addValue("node", nodeId);
+        jdbcTemplate.update(RELEASE_SQL, params);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
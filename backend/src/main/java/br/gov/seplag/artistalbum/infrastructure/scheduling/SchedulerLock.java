@@ -0,0 +1,36 @@
+package br.gov.seplag.artistalbum.infrastructure.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Run a scheduled method on one API instance at a time
+ *
+ * Every instance still fires the schedule, but only the one that acquires
+ * the named lock runs the method; the others skip that execution. Durations
+ * are ISO-8601 (e.g. PT55M) and may use property placeholders.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SchedulerLock {
+
+    /**
+     * Lock name, shared by all instances running the same job
+     */
+    String name();
+
+    /**
+     * Lease length: if the owner dies, other instances may take over after this
+     */
+    String lockAtMostFor() default "PT10M";
+
+    /**
+     * Minimum time the lock stays held after the run starts, so instances
+     * whose schedules fire a little later in the same period skip it
+     */
+    String lockAtLeastFor() default "PT0S";
+}
@@ -0,0 +1,162 @@
+package br.gov.seplag.artistalbum.infrastructure.scheduling;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies {@link SchedulerLock} to scheduled methods
+ *
+ * When the lock cannot be taken, or the lock store is unreachable, the run
+ * is skipped: running a cluster-wide job twice is worse than running it one
+ * period late. The aspect runs outside any transaction advice so the lock
+ * row is committed before the job starts. Per lock it tracks whether this
+ * instance currently holds it, when it last ran here and how many runs were
+ * executed or skipped.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SchedulerLockAspect implements MeterBinder, EmbeddedValueResolverAware {
+
+    private final LockProvider lockProvider;
+
+    private final Map<String, LockStats> stats = new ConcurrentHashMap<>();
+
+    private StringValueResolver valueResolver;
+    private volatile MeterRegistry registry;
+
+    public SchedulerLockAspect(LockProvider lockProvider) {
+        this.lockProvider = lockProvider;
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(@NonNull StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Around("@annotation(br.gov.seplag.artistalbum.infrastructure.scheduling.SchedulerLock)")
+    public Object runLocked(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        SchedulerLock schedulerLock = AnnotationUtils.findAnnotation(method, SchedulerLock.class);
+        String name = resolve(schedulerLock.name());
+        Duration lockAtMostFor = Duration.parse(resolve(schedulerLock.lockAtMostFor()));
+        Duration lockAtLeastFor = Duration.parse(resolve(schedulerLock.lockAtLeastFor()));
+        LockStats lockStats = statsFor(name);
+
+        boolean acquired;
+        try {
+            acquired = lockProvider.tryLock(name, lockAtMostFor);
+        } catch (RuntimeException e) {
+            log.warn("Could not acquire scheduler lock '{}', skipping run: {}", name, e.getMessage());
+            lockStats.skipped.incrementAndGet();
+            return null;
+        }
+        if (!acquired) {
+            log.debug("Scheduler lock '{}' is held by another instance, skipping run", name);
+            lockStats.skipped.incrementAndGet();
+            return null;
+        }
+
+        lockStats.held.set(true);
+        lockStats.lastRunAt.set(System.currentTimeMillis());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            lockStats.executed.incrementAndGet();
+            lockStats.held.set(false);
+            try {
+                lockProvider.unlock(name, lockAtLeastFor);
+            } catch (RuntimeException e) {
+                log.warn("Could not release scheduler lock '{}', it will expire after {}: {}",
+                        name, lockAtMostFor, e.getMessage());
+            }
+        }
+    }
+
+    public boolean isHeld(String name) {
+        LockStats lockStats = stats.get(name);
+        return lockStats != null && lockStats.held.get();
+    }
+
+    public long getExecuted(String name) {
+        LockStats lockStats = stats.get(name);
+        return lockStats != null ? lockStats.executed.get() : 0;
+    }
+
+    public long getSkipped(String name) {
+        LockStats lockStats = stats.get(name);
+        return lockStats != null ? lockStats.skipped.get() : 0;
+    }
+
+    private String resolve(String value) {
+        return valueResolver != null ? valueResolver.resolveStringValue(value) : value;
+    }
+
+    private LockStats statsFor(String name) {
+        return stats.computeIfAbsent(name, key -> {
+            LockStats created = new LockStats();
+            MeterRegistry current = registry;
+            if (current != null) {
+                register(current, key, created);
+            }
+            return created;
+        });
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        this.registry = registry;
+        // Locks are discovered on first use; register the ones already seen
+        stats.forEach((name, lockStats) -> register(registry, name, lockStats));
+    }
+
+    private static void register(MeterRegistry registry, String name, LockStats lockStats) {
+        Gauge.builder("scheduler.lock.held", lockStats.held, held -> held.get() ? 1 : 0)
+                .tag("name", name)
+                .description("Whether this instance currently holds the scheduler lock")
+                .register(registry);
+        Gauge.builder("scheduler.lock.last_run", lockStats.lastRunAt, lastRunAt -> lastRunAt.get() / 1000.0)
+                .tag("name", name)
+                .description("When this instance last ran the locked job (epoch seconds)")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("scheduler.lock.runs", lockStats.executed, AtomicLong::get)
+                .tag("name", name)
+                .tag("result", "executed")
+                .description("Scheduled runs by whether this instance got the lock")
+                .register(registry);
+        FunctionCounter.builder("scheduler.lock.runs", lockStats.skipped, AtomicLong::get)
+                .tag("name", name)
+                .tag("result", "skipped")
+                .register(registry);
+    }
+
+    private static final class LockStats {
+        private final AtomicBoolean held = new AtomicBoolean();
+        private final AtomicLong lastRunAt = new AtomicLong();
+        private final AtomicLong executed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+    }
+}
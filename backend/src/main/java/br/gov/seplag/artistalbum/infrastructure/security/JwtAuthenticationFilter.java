@@ -1,5 +1,7 @@
 package br.gov.seplag.artistalbum.infrastructure.security;
 
+import br.gov.seplag.artistalbum.infrastructure.tracing.Spans;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +27,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final Tracer tracer;
 
     @Override
     protected void doFilterInternal(
@@ -36,12 +40,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = extractTokenFromRequest(request);
 
             if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                String username = jwtTokenProvider.extractUsername(token);
+                // Signature and expiration are checked once here
+                VerifiedToken verified = Spans.inSpan(tracer, "jwt.verify", () -> jwtTokenProvider.verify(token));
+                // Refresh tokens are only accepted by /auth/refresh, never as access tokens
+                String username = verified.isRefreshToken() ? null : verified.getSubject();
 
                 if (username != null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UserDetails userDetails = Spans.inSpan(tracer, "jwt.principal-lookup",
+                            () -> principalCache.getOrLoad(username, userDetailsService::loadUserByUsername));
 
-                    if (jwtTokenProvider.validateToken(token, userDetails)) {
+                    if (userDetails.isEnabled() && username.equals(userDetails.getUsername())) {
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(
                                         userDetails,
@@ -0,0 +1,214 @@
+package br.gov.seplag.artistalbum.infrastructure.security;
+
+import br.gov.seplag.artistalbum.domain.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Password Verification Executor
+ * Runs password hashing on a dedicated CPU-sized pool with a bounded queue
+ *
+ * BCrypt is deliberately slow; keeping it off the request threads means a
+ * burst of logins cannot stall the rest of the API. When the queue is full
+ * the caller is rejected immediately with a 503 instead of waiting.
+ * A hash cannot be interrupted, so a check whose caller timed out keeps its
+ * thread until it finishes; such checks count against the queue bound until
+ * then, and checks that time out before starting are removed from the queue.
+ * Tasks run inside the caller's current span, so their work stays in its trace.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PasswordVerificationExecutor implements MeterBinder {
+
+    private final Tracer tracer;
+
+    @Value("${security.password.verification.threads:0}")
+    private int threads;
+
+    @Value("${security.password.verification.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.password.verification.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${security.password.verification.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    // Checks still hashing after their caller gave up
+    private final AtomicInteger abandoned = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password verification pool started with {} thread(s), queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run the task on the verification pool and wait for its result.
+     * Runtime exceptions thrown by the task are rethrown unchanged.
+     */
+    public <T> T execute(Supplier<T> task) {
+        if (executor.getQueue().size() + abandoned.get() >= queueCapacity) {
+            throw reject();
+        }
+        Verification<T> verification = new Verification<>(task, tracer.currentSpan());
+        FutureTask<T> future = new FutureTask<>(verification);
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            throw reject();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        } catch (TimeoutException e) {
+            abandon(verification, future);
+            timedOut.incrementAndGet();
+            throw new ServiceUnavailableException("Login timed out waiting for verification, try again shortly",
+                    retryAfterSeconds);
+        } catch (InterruptedException e) {
+            abandon(verification, future);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Login interrupted", retryAfterSeconds);
+        }
+    }
+
+    public int getQueuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveTasks() {
+        return executor.getActiveCount();
+    }
+
+    public int getAbandonedTasks() {
+        return abandoned.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getTimedOut() {
+        return timedOut.get();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("security.password.verification.queued", this, PasswordVerificationExecutor::getQueuedTasks)
+                .description("Password checks waiting for a verification thread")
+                .register(registry);
+        Gauge.builder("security.password.verification.active", this, PasswordVerificationExecutor::getActiveTasks)
+                .register(registry);
+        Gauge.builder("security.password.verification.abandoned", this, PasswordVerificationExecutor::getAbandonedTasks)
+                .description("Timed-out password checks still holding a verification thread")
+                .register(registry);
+        FunctionCounter.builder("security.password.verification.rejected", this, PasswordVerificationExecutor::getRejected)
+                .description("Logins rejected because the verification queue was full")
+                .register(registry);
+        FunctionCounter.builder("security.password.verification.timeouts", this, PasswordVerificationExecutor::getTimedOut)
+                .register(registry);
+    }
+
+    private ServiceUnavailableException reject() {
+        rejected.incrementAndGet();
+        return new ServiceUnavailableException("Too many login attempts in progress, try again shortly",
+                retryAfterSeconds);
+    }
+
+    private void abandon(Verification<?> verification, FutureTask<?> future) {
+        // Not started yet: free its queue slot; already hashing: count it until it finishes
+        future.cancel(false);
+        executor.remove(future);
+        verification.abandon();
+    }
+
+    /**
+     * A password check that knows whether its caller is still waiting for it
+     */
+    private final class Verification<T> implements Callable<T> {
+
+        private final Supplier<T> task;
+        private final Span parent;
+
+        // Guarded by this
+        private boolean running;
+        private boolean abandonedWhileRunning;
+
+        private Verification(Supplier<T> task, Span parent) {
+            this.task = task;
+            this.parent = parent;
+        }
+
+        @Override
+        public T call() {
+            synchronized (this) {
+                running = true;
+            }
+            try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+                return task.get();
+            } finally {
+                synchronized (this) {
+                    running = false;
+                    if (abandonedWhileRunning) {
+                        abandoned.decrementAndGet();
+                    }
+                }
+            }
+        }
+
+        synchronized void abandon() {
+            if (running && !abandonedWhileRunning) {
+                abandonedWhileRunning = true;
+                abandoned.incrementAndGet();
+            }
+        }
+    }
+}
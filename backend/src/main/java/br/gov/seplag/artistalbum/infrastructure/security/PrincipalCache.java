@@ -0,0 +1,152 @@
+package br.gov.seplag.artistalbum.infrastructure.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Principal Cache
+ * Short-lived, bounded cache of authenticated principals keyed by username
+ *
+ * Keeps the users table off the per-request authentication path. Entries
+ * are immutable snapshots without the password hash, expire after a short
+ * TTL and are invalidated once a change or removal of the user commits (see
+ * {@link PrincipalCacheInvalidationListener}). A load that overlaps an
+ * invalidation is returned but not cached, since it may have read the old row.
+ */
+@Slf4j
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    @Value("${security.principal-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.principal-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    // Bumped by every invalidation, before the entry is removed
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserDetails getOrLoad(String username, Function<String, UserDetails> loader) {
+        if (!enabled) {
+            return snapshot(loader.apply(username));
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(username);
+        if (entry != null && now - entry.expiresAt() < 0) {
+            hits.incrementAndGet();
+            return entry.principal();
+        }
+
+        misses.incrementAndGet();
+        long loadedAt = generation.get();
+        UserDetails principal = snapshot(loader.apply(username));
+        if (generation.get() != loadedAt) {
+            return principal;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(username)) {
+            makeRoom(now);
+        }
+        Entry loaded = new Entry(principal, now + ttlSeconds * 1_000_000_000L);
+        entries.put(username, loaded);
+        // An invalidation between the check and the put may have missed this entry
+        if (generation.get() != loadedAt) {
+            entries.remove(username, loaded);
+        }
+        return principal;
+    }
+
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        if (entries.remove(username) != null) {
+            log.debug("Principal cache entry invalidated for user: {}", username);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("security.principal.cache.size", this, PrincipalCache::size)
+                .description("Cached principals")
+                .register(registry);
+        Gauge.builder("security.principal.cache.hit.rate", this, PrincipalCache::getHitRate)
+                .description("Share of principal lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("security.principal.cache.requests", this, PrincipalCache::getHits)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("security.principal.cache.requests", this, PrincipalCache::getMisses)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("security.principal.cache.evictions", this, c -> c.evictions.get())
+                .register(registry);
+    }
+
+    // Drop expired entries first; if the cache is still full, drop an arbitrary one
+    private void makeRoom(long now) {
+        entries.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Immutable copy shared across request threads; the password hash is not needed after the JWT check
+     */
+    private static UserDetails snapshot(UserDetails user) {
+        return new User(user.getUsername(), "", user.isEnabled(), user.isAccountNonExpired(),
+                user.isCredentialsNonExpired(), user.isAccountNonLocked(), user.getAuthorities());
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
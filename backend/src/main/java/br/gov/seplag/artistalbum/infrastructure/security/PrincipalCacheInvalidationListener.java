@@ -0,0 +1,70 @@
+package br.gov.seplag.artistalbum.infrastructure.security;
+
+import br.gov.seplag.artistalbum.domain.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached principals once a user row update (including disabling) or delete has committed
+ *
+ * Registered with Hibernate here rather than on the entity, so the domain
+ * model does not depend on security infrastructure. Evicting after commit
+ * means a concurrent lookup cannot re-cache the row as it was before the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheInvalidationListener implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final PrincipalCache principalCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onUserChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onUserChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back: the cached principal is still current
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back: the cached principal is still current
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return User.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    private void onUserChanged(Object entity) {
+        if (entity instanceof User user) {
+            principalCache.invalidate(user.getUsername());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.gov.seplag.artistalbum.infrastructure.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Verified JWT
+ * Immutable view of the claims of a token whose signature and expiration have been checked
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class VerifiedToken {
+
+    public static final String REFRESH_TYPE = "refresh";
+
+    private final String subject;
+    private final String type;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public boolean isRefreshToken() {
+        return REFRESH_TYPE.equals(type);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
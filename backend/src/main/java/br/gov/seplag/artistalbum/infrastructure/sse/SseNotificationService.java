@@ -0,0 +1,348 @@
+package br.gov.seplag.artistalbum.infrastructure.sse;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events Notification Service
+ * One-way album event stream, a lightweight alternative to SockJS/STOMP
+ *
+ * Every frame is built once and queued as-is for all emitters. Each subscriber
+ * has a bounded queue drained by a small writer pool, so a slow client never
+ * holds up the others or the notification flush; a client whose queue
+ * overflows is disconnected. Recent frames are kept in a bounded ring buffer
+ * so reconnecting clients can resume from their Last-Event-ID. When events
+ * were lost, or a client's Last-Event-ID can no longer be replayed, it gets a
+ * resync event instead and reloads its state through the change feed.
+ */
+@Slf4j
+@Service
+public class SseNotificationService implements MeterBinder {
+
+    public static final String EVENT_NAME = "album-events";
+    public static final String RESYNC_EVENT_NAME = "resync";
+
+    private static final byte[] RESYNC_PAYLOAD = "{\"type\":\"RESYNC\"}".getBytes(StandardCharsets.UTF_8);
+    // Negative ID: not numbered, not counted as a sent frame
+    private static final Frame HEARTBEAT = new Frame(-1, SseEmitter.event().comment("keepalive").build());
+
+    @Value("${sse.emitter-timeout-ms:1800000}")
+    private long emitterTimeout;
+
+    @Value("${sse.replay-buffer-size:256}")
+    private int replayBufferSize;
+
+    @Value("${sse.max-pending-frames:64}")
+    private int maxPendingFrames;
+
+    @Value("${sse.writer-threads:4}")
+    private int writerThreads;
+
+    private ThreadPoolExecutor writerPool;
+    private Executor writer;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // Guarded by itself, together with the sequence; frames are queued to subscribers under it to keep their order
+    private final Deque<Frame> replayBuffer = new ArrayDeque<>();
+    private long sequence;
+
+    private final AtomicLong sentFrames = new AtomicLong();
+    private final AtomicLong failedSends = new AtomicLong();
+    private final AtomicLong overflowedSubscribers = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadSequence = new AtomicInteger();
+        // Each subscriber is queued at most once at a time, so the task queue stays below the subscriber count
+        writerPool = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sse-writer-" + threadSequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        writer = writerPool;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writerPool.shutdownNow();
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(emitterTimeout), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::discard);
+        emitter.onTimeout(subscriber::discard);
+        emitter.onError(e -> subscriber.discard());
+
+        long resumeAfter = parseEventId(lastEventId);
+        int replayed = 0;
+        // Replayed frames are queued before the subscriber is published, so later broadcasts queue behind them
+        synchronized (replayBuffer) {
+            if (resumeAfter >= 0) {
+                long firstRetained = replayBuffer.isEmpty() ? sequence + 1 : replayBuffer.peekFirst().id();
+                if (resumeAfter + 1 < firstRetained || resumeAfter > sequence) {
+                    // Frames were evicted or sent by an earlier instance
+                    subscriber.send(resyncFrame(sequence));
+                    replayed++;
+                } else {
+                    for (Frame frame : replayBuffer) {
+                        if (frame.id() > resumeAfter) {
+                            subscriber.send(frame);
+                            replayed++;
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        log.debug("SSE subscriber registered, replayed {} frame(s)", replayed);
+        return emitter;
+    }
+
+    /**
+     * Broadcast an already serialized JSON payload to every subscriber
+     */
+    public void broadcast(byte[] payload) {
+        synchronized (replayBuffer) {
+            long id = ++sequence;
+            publish(new Frame(id, SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(EVENT_NAME)
+                    .data(payload, MediaType.APPLICATION_JSON)
+                    .build()));
+        }
+    }
+
+    /**
+     * Events were lost before reaching this stream: tell every client, and
+     * those replaying past this point later, to resync
+     */
+    public void resync() {
+        synchronized (replayBuffer) {
+            publish(resyncFrame(++sequence));
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect dead or stalled clients
+     */
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(HEARTBEAT);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getSentFrames() {
+        return sentFrames.get();
+    }
+
+    public long getFailedSends() {
+        return failedSends.get();
+    }
+
+    public long getOverflowedSubscribers() {
+        return overflowedSubscribers.get();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("sse.subscribers", this, SseNotificationService::getSubscriberCount)
+                .description("Open Server-Sent Events connections")
+                .register(registry);
+        FunctionCounter.builder("sse.frames.sent", this, SseNotificationService::getSentFrames)
+                .description("Frames written to SSE subscribers")
+                .register(registry);
+        FunctionCounter.builder("sse.frames.failed", this, SseNotificationService::getFailedSends)
+                .description("SSE writes that failed and dropped the subscriber")
+                .register(registry);
+        FunctionCounter.builder("sse.subscribers.overflowed", this, SseNotificationService::getOverflowedSubscribers)
+                .description("SSE subscribers disconnected because their pending frames overflowed")
+                .register(registry);
+    }
+
+    private long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Called with the replay buffer lock held
+    private void publish(Frame frame) {
+        replayBuffer.addLast(frame);
+        while (replayBuffer.size() > replayBufferSize) {
+            replayBuffer.removeFirst();
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.send(frame);
+        }
+    }
+
+    private Frame resyncFrame(long id) {
+        return new Frame(id, SseEmitter.event()
+                .id(String.valueOf(id))
+                .name(RESYNC_EVENT_NAME)
+                .data(RESYNC_PAYLOAD, MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    private record Frame(long id, Set<DataWithMediaType> data) {
+    }
+
+    /**
+     * One connection: frames are queued by the broadcasting thread and written
+     * in order by at most one writer thread at a time
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+
+        // Guarded by this
+        private final Deque<Frame> pending = new ArrayDeque<>();
+        private long lastQueuedId = -1;
+        private boolean draining;
+        private boolean closed;
+        private boolean completeOnClose;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // A frame may reach a new subscriber by replay and by broadcast; queue it once
+        void send(Frame frame) {
+            synchronized (this) {
+                if (frame.id() <= lastQueuedId) {
+                    return;
+                }
+                lastQueuedId = frame.id();
+            }
+            enqueue(frame);
+        }
+
+        void enqueue(Frame frame) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= maxPendingFrames) {
+                    // Fell behind: disconnect, the client resumes with its Last-Event-ID
+                    overflowedSubscribers.incrementAndGet();
+                    subscribers.remove(this);
+                    closeLocked();
+                } else {
+                    pending.addLast(frame);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        /**
+         * The response is already finished (completed, timed out or failed)
+         */
+        synchronized void discard() {
+            subscribers.remove(this);
+            closed = true;
+            pending.clear();
+        }
+
+        private void closeLocked() {
+            closed = true;
+            completeOnClose = true;
+            pending.clear();
+        }
+
+        private void schedule() {
+            try {
+                writer.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                discard();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Frame frame;
+                synchronized (this) {
+                    if (closed) {
+                        draining = false;
+                        if (!completeOnClose) {
+                            return;
+                        }
+                        completeOnClose = false;
+                        break;
+                    }
+                    frame = pending.pollFirst();
+                    if (frame == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                write(frame);
+            }
+            emitter.complete();
+        }
+
+        private void write(Frame frame) {
+            try {
+                emitter.send(frame.data());
+                if (frame.id() >= 0) {
+                    sentFrames.incrementAndGet();
+                }
+            } catch (IOException | IllegalStateException e) {
+                failedSends.incrementAndGet();
+                discard();
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package br.gov.seplag.artistalbum.infrastructure.storage;
 
 import br.gov.seplag.artistalbum.domain.exception.StorageException;
+import io.micrometer.core.annotation.Timed;
 import io.minio.*;
 import io.minio.errors.*;
 import io.minio.http.Method;
@@ -23,6 +24,7 @@ import java.util.concurrent.TimeUnit;
  */
 @Slf4j
 @Service
+@Timed(value = "storage.minio.requests", histogram = true)
 public class MinioStorageService {
 
     @Value("${minio.url}")
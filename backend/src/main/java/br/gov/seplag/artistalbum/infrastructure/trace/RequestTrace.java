@@ -0,0 +1,35 @@
+package br.gov.seplag.artistalbum.infrastructure.trace;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One captured request, as written to the trace file (one JSON object per line)
+ *
+ * @param timestamp      epoch millis when the request arrived
+ * @param method         HTTP method
+ * @param pathTemplate   matched handler pattern, e.g. /api/v1/albums/{id}; the raw path when none matched
+ * @param pathVariables  values bound to the template variables
+ * @param params         query and form parameters, secrets redacted
+ * @param authenticated  whether the request carried an Authorization header (never recorded itself)
+ * @param contentType    request content type, null without a body
+ * @param contentLength  request body size in bytes, -1 when unknown
+ * @param body           shape of a JSON body (see {@link TraceSanitizer#bodyShape}), null otherwise
+ * @param status         response status
+ * @param durationMicros time spent in the server
+ */
+public record RequestTrace(
+        long timestamp,
+        String method,
+        String pathTemplate,
+        Map<String, String> pathVariables,
+        Map<String, List<String>> params,
+        boolean authenticated,
+        String contentType,
+        long contentLength,
+        JsonNode body,
+        int status,
+        long durationMicros) {
+}
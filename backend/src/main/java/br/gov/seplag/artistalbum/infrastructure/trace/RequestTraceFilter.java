@@ -0,0 +1,217 @@
+package br.gov.seplag.artistalbum.infrastructure.trace;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filter that captures sanitized request traces for local replay - opt-in
+ * Records method, path template, parameters, timing and the shape of JSON
+ * bodies (see {@link TraceSanitizer}) of a sample of requests to a rolling
+ * file that ReplayDriver (src/test) can play back. Lines are serialized and
+ * written by a single background thread; when its queue is full traces are
+ * dropped rather than slowing requests down.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace-capture.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RequestTraceFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${trace-capture.directory:./traces}")
+    private String directory;
+
+    @Value("${trace-capture.max-file-size-mb:50}")
+    private long maxFileSizeMb;
+
+    @Value("${trace-capture.max-files:5}")
+    private int maxFiles;
+
+    @Value("${trace-capture.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${trace-capture.max-body-bytes:65536}")
+    private int maxBodyBytes;
+
+    @Value("${trace-capture.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${trace-capture.bypass-paths:/actuator/**,/api/*/events/**,/ws/**}")
+    private List<String> bypassPaths;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private RollingTraceFile traceFile;
+    private ThreadPoolExecutor writer;
+
+    @PostConstruct
+    public void init() {
+        traceFile = new RollingTraceFile(Path.of(directory), "requests", maxFileSizeMb * 1024 * 1024, maxFiles);
+        writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "trace-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> dropped.incrementAndGet());
+        log.info("Capturing request traces to {}", traceFile.file(0).toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        traceFile.close();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String pattern : bypassPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        HttpServletRequest target = isJson(request) ? new ContentCachingRequestWrapper(request, maxBodyBytes) : request;
+        try {
+            filterChain.doFilter(target, response);
+        } finally {
+            // Streams outlive the filter, their timing says nothing about the server
+            if (!request.isAsyncStarted()) {
+                record(target, response, timestamp, (System.nanoTime() - start) / 1_000);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long timestamp,
+                        long durationMicros) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+
+        RequestTrace trace = new RequestTrace(
+                timestamp,
+                request.getMethod(),
+                pattern != null ? pattern.toString() : request.getRequestURI(),
+                pathVariables != null ? Map.copyOf(pathVariables) : Map.of(),
+                TraceSanitizer.params(request.getParameterMap()),
+                request.getHeader(HttpHeaders.AUTHORIZATION) != null,
+                request.getContentType(),
+                request.getContentLengthLong(),
+                bodyShape(request),
+                response.getStatus(),
+                durationMicros);
+
+        writer.execute(() -> write(trace));
+    }
+
+    private JsonNode bodyShape(HttpServletRequest request) {
+        if (!(request instanceof ContentCachingRequestWrapper wrapper)) {
+            return null;
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        if (body.length == 0 || body.length >= maxBodyBytes) {
+            return null;
+        }
+        try {
+            return TraceSanitizer.bodyShape(objectMapper.readTree(body));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void write(RequestTrace trace) {
+        try {
+            traceFile.append(objectMapper.writeValueAsString(trace));
+            if (writer.getQueue().isEmpty()) {
+                traceFile.flush();
+            }
+            captured.incrementAndGet();
+        } catch (IOException e) {
+            dropped.incrementAndGet();
+            log.warn("Failed to write request trace: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    public long getCaptured() {
+        return captured.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("http.trace.captured", captured, AtomicLong::get)
+                .description("Request traces written to the capture file")
+                .register(registry);
+        FunctionCounter.builder("http.trace.dropped", dropped, AtomicLong::get)
+                .description("Request traces dropped because the writer fell behind or failed")
+                .register(registry);
+    }
+}
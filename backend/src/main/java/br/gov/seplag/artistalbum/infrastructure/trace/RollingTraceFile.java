@@ -0,0 +1,84 @@
+package br.gov.seplag.artistalbum.infrastructure.trace;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only line file that rolls over by size
+ *
+ * Writes to {name}.jsonl; when it would exceed maxBytes it becomes
+ * {name}.1.jsonl, older files shift up and the one past maxFiles is deleted,
+ * so the capture never takes more than maxBytes * maxFiles of disk.
+ */
+public class RollingTraceFile implements AutoCloseable {
+
+    private final Path directory;
+    private final String name;
+    private final long maxBytes;
+    private final int maxFiles;
+
+    private BufferedWriter writer;
+    private long size;
+
+    public RollingTraceFile(Path directory, String name, long maxBytes, int maxFiles) {
+        this.directory = directory;
+        this.name = name;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    public synchronized void append(String line) throws IOException {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        if (writer != null && size + bytes.length > maxBytes && size > 0) {
+            roll();
+        }
+        if (writer == null) {
+            open();
+        }
+        writer.write(line);
+        writer.newLine();
+        size += bytes.length;
+    }
+
+    public synchronized void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    public Path file(int index) {
+        return directory.resolve(index == 0 ? name + ".jsonl" : name + "." + index + ".jsonl");
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        Path current = file(0);
+        writer = Files.newBufferedWriter(current, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(current);
+    }
+
+    private void roll() throws IOException {
+        writer.close();
+        writer = null;
+        Files.deleteIfExists(file(maxFiles - 1));
+        for (int index = maxFiles - 2; index >= 0; index--) {
+            if (Files.exists(file(index))) {
+                Files.move(file(index), file(index + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package br.gov.seplag.artistalbum.infrastructure.trace;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Strips what must not leave the server from captured requests
+ *
+ * Parameters and JSON fields named like credentials are replaced with
+ * {@value #REDACTED}. Every other JSON string becomes "{string:N}" with its
+ * length N, so the trace keeps the size and structure of a body but none of
+ * the user's text. Numbers, booleans and nulls are kept, since ids and years
+ * are needed to replay a request against the same data. Query parameter
+ * values are shaped the same way, except numbers and the paging and sorting
+ * parameters in {@link #KEPT_PARAMS}.
+ */
+public final class TraceSanitizer {
+
+    public static final String REDACTED = "{redacted}";
+    public static final String STRING_PREFIX = "{string:";
+
+    private static final Pattern SECRET_NAME = Pattern.compile(
+            "(?i).*(password|passwd|secret|token|authorization|credential|api[-_]?key).*");
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    // Paging and sorting only ever carry field names and directions, never user text
+    private static final Set<String> KEPT_PARAMS = Set.of("page", "size", "sort", "sortBy", "sortDirection");
+
+    private TraceSanitizer() {
+    }
+
+    public static boolean isSecret(String name) {
+        return SECRET_NAME.matcher(name).matches();
+    }
+
+    public static Map<String, List<String>> params(Map<String, String[]> parameters) {
+        Map<String, List<String>> sanitized = new LinkedHashMap<>();
+        parameters.forEach((name, values) -> {
+            if (isSecret(name)) {
+                sanitized.put(name, List.of(REDACTED));
+            } else if (KEPT_PARAMS.contains(name)) {
+                sanitized.put(name, Arrays.asList(values));
+            } else {
+                sanitized.put(name, Arrays.stream(values).map(TraceSanitizer::paramShape).toList());
+            }
+        });
+        return sanitized;
+    }
+
+    private static String paramShape(String value) {
+        return NUMBER.matcher(value).matches() ? value : STRING_PREFIX + value.length() + "}";
+    }
+
+    public static JsonNode bodyShape(JsonNode node) {
+        if (node.isTextual()) {
+            return TextNode.valueOf(STRING_PREFIX + node.textValue().length() + "}");
+        }
+        if (node.isArray()) {
+            ArrayNode shape = JsonNodeFactory.instance.arrayNode(node.size());
+            node.forEach(element -> shape.add(bodyShape(element)));
+            return shape;
+        }
+        if (node.isObject()) {
+            ObjectNode shape = JsonNodeFactory.instance.objectNode();
+            node.fields().forEachRemaining(field -> shape.set(field.getKey(),
+                    isSecret(field.getKey()) ? TextNode.valueOf(REDACTED) : bodyShape(field.getValue())));
+            return shape;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,113 @@
+package br.gov.seplag.artistalbum.infrastructure.tracing;
+
+import br.gov.seplag.artistalbum.infrastructure.trace.RollingTraceFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Span exporter that appends finished spans to a rolling JSON Lines file
+ *
+ * One line per span with trace and parent IDs, name, kind, start, duration,
+ * status and attributes, so a slow request can be broken down locally (or
+ * with jq) without a collector. Runs on the batch span processor thread,
+ * never on request threads.
+ */
+@Slf4j
+public class JsonFileSpanExporter implements SpanExporter {
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+    // Recorded exceptions keep their type and message; stack traces belong in the logs
+    private static final String EXCEPTION_STACKTRACE = "exception.stacktrace";
+
+    private final ObjectMapper objectMapper;
+    private final RollingTraceFile file;
+
+    public JsonFileSpanExporter(ObjectMapper objectMapper, RollingTraceFile file) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                file.append(objectMapper.writeValueAsString(toJson(span)));
+            }
+            file.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not write {} span(s) to {}: {}", spans.size(), file.file(0), e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        try {
+            file.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        try {
+            file.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private ObjectNode toJson(SpanData span) {
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            json.put("parentSpanId", span.getParentSpanId());
+        }
+        json.put("name", span.getName());
+        json.put("kind", span.getKind().name());
+        json.put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString());
+        json.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        json.put("status", span.getStatus().getStatusCode().name());
+        json.put("service", span.getResource().getAttribute(SERVICE_NAME));
+        json.set("attributes", attributes(span.getAttributes()));
+        if (!span.getEvents().isEmpty()) {
+            ArrayNode events = json.putArray("events");
+            for (EventData event : span.getEvents()) {
+                ObjectNode item = events.addObject();
+                item.put("name", event.getName());
+                item.put("offsetMicros", (event.getEpochNanos() - span.getStartEpochNanos()) / 1_000);
+                if (!event.getAttributes().isEmpty()) {
+                    item.set("attributes", attributes(event.getAttributes()));
+                }
+            }
+        }
+        return json;
+    }
+
+    private ObjectNode attributes(Attributes attributes) {
+        ObjectNode json = objectMapper.createObjectNode();
+        attributes.forEach((key, value) -> {
+            if (!key.getKey().equals(EXCEPTION_STACKTRACE)) {
+                json.put(key.getKey(), String.valueOf(value));
+            }
+        });
+        return json;
+    }
+}
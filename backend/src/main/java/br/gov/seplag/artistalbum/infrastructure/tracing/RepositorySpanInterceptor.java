@@ -0,0 +1,39 @@
+package br.gov.seplag.artistalbum.infrastructure.tracing;
+
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.lang.NonNull;
+
+import java.util.function.Supplier;
+
+/**
+ * Opens a span around each call of a Spring Data repository, named {repository}.{method}
+ *
+ * Added to the repository proxies by {@link TracingConfiguration}. The
+ * statements of the call run inside the span; lazy loads the caller triggers
+ * afterwards show up under the caller's span instead.
+ */
+public class RepositorySpanInterceptor implements MethodInterceptor {
+
+    private final Supplier<Tracer> tracer;
+    private final String repository;
+
+    public RepositorySpanInterceptor(Supplier<Tracer> tracer, Class<?> repositoryInterface) {
+        this.tracer = tracer;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        Tracer current = tracer.get();
+        String method = invocation.getMethod().getName();
+        return Spans.inSpan(current, current.nextSpan()
+                .name(repository + "." + method)
+                .tag("repository", repository)
+                .tag("method", method), invocation::proceed);
+    }
+}
@@ -0,0 +1,41 @@
+package br.gov.seplag.artistalbum.infrastructure.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Runs a unit of work inside a child span of the current trace
+ *
+ * The span is current while the work runs, so spans and observations
+ * started inside it (repository calls, HTTP clients) become its children.
+ * Failures are recorded on the span and rethrown unchanged.
+ */
+public final class Spans {
+
+    private Spans() {
+    }
+
+    @FunctionalInterface
+    public interface Work<T, E extends Throwable> {
+        T call() throws E;
+    }
+
+    public static <T, E extends Throwable> T inSpan(Tracer tracer, String name, Work<T, E> work) throws E {
+        return inSpan(tracer, tracer.nextSpan().name(name), work);
+    }
+
+    /**
+     * Starts the given (named and tagged, not yet started) span around the work
+     */
+    public static <T, E extends Throwable> T inSpan(Tracer tracer, Span span, Work<T, E> work) throws E {
+        span.start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return work.call();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
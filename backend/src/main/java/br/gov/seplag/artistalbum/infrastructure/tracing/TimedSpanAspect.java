@@ -0,0 +1,37 @@
+package br.gov.seplag.artistalbum.infrastructure.tracing;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a span around every public method of beans timed with {@link io.micrometer.core.annotation.Timed}
+ *
+ * Services and the MinIO storage are timed at class level (see
+ * MetricsConfiguration), so each call that shows up as a timer also shows up
+ * in the trace as a span named {class}.{method}, tagged with class and method.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TimedSpanAspect {
+
+    private final Tracer tracer;
+
+    @Around("@within(io.micrometer.core.annotation.Timed) && execution(public * *(..))")
+    public Object span(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        if (joinPoint.getTarget() instanceof MeterBinder && methodName.equals("bindTo")) {
+            return joinPoint.proceed();
+        }
+        return Spans.inSpan(tracer, tracer.nextSpan()
+                .name(className + "." + methodName)
+                .tag("class", className)
+                .tag("method", methodName), joinPoint::proceed);
+    }
+}
@@ -0,0 +1,72 @@
+package br.gov.seplag.artistalbum.infrastructure.tracing;
+
+import br.gov.seplag.artistalbum.infrastructure.trace.RollingTraceFile;
+import br.gov.seplag.artistalbum.infrastructure.websocket.WebSocketNotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.support.ScheduledTaskObservationContext;
+
+import java.nio.file.Path;
+
+/**
+ * Tracing beyond what Spring Boot instruments on its own
+ *
+ * Boot already traces incoming requests (propagating W3C traceparent), the
+ * Spring Security filter chain and clients built with an ObservationRegistry.
+ * This adds spans for repository calls (here), @Timed services and storage
+ * ({@link TimedSpanAspect}), and the span exporter that writes to a local
+ * JSON file. Spans are exported over OTLP when management.otlp.tracing.endpoint
+ * is set; both exporters can run together.
+ */
+@Slf4j
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    public static BeanPostProcessor repositorySpanPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(new RepositorySpanInterceptor(
+                                            () -> tracer.getIfAvailable(() -> Tracer.NOOP),
+                                            repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * The notification flush runs every batch window; observing it would fill the traces with empty runs
+     */
+    @Bean
+    public ObservationPredicate ignoreNotificationFlushObservation() {
+        return (name, context) -> !(context instanceof ScheduledTaskObservationContext task
+                && WebSocketNotificationService.class.isAssignableFrom(task.getTargetClass()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file.enabled", havingValue = "true")
+    public JsonFileSpanExporter jsonFileSpanExporter(
+            ObjectMapper objectMapper,
+            @Value("${tracing.file.directory:./traces}") String directory,
+            @Value("${tracing.file.max-file-size-mb:50}") long maxFileSizeMb,
+            @Value("${tracing.file.max-files:5}") int maxFiles) {
+        RollingTraceFile file = new RollingTraceFile(Path.of(directory), "spans", maxFileSizeMb * 1024 * 1024, maxFiles);
+        log.info("Exporting spans to {}", file.file(0).toAbsolutePath());
+        return new JsonFileSpanExporter(objectMapper, file);
+    }
+}
@@ -0,0 +1,59 @@
+package br.gov.seplag.artistalbum.infrastructure.websocket;
+
+import br.gov.seplag.artistalbum.domain.event.AlbumEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Album Notification
+ * Wire format of a single album event pushed to WebSocket subscribers
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AlbumNotification {
+
+    private final String type;
+    private final Long albumId;
+    private final String albumTitle;
+    private final Long artistId;
+    private final String artistName;
+    private final String message;
+    private final LocalDateTime timestamp;
+
+    public static AlbumNotification from(AlbumEvent event) {
+        String artistNames = event.getArtistNames();
+        if (artistNames == null || artistNames.isEmpty()) {
+            artistNames = "Unknown Artist";
+        }
+
+        return AlbumNotification.builder()
+                .type(typeOf(event.getType()))
+                .albumId(event.getAlbumId())
+                .albumTitle(event.getAlbumTitle())
+                .artistId(event.getArtistId())
+                .artistName(artistNames)
+                .message(messageOf(event, artistNames))
+                .timestamp(event.getOccurredAt())
+                .build();
+    }
+
+    private static String typeOf(AlbumEvent.Type type) {
+        return switch (type) {
+            case CREATED -> "NEW_ALBUM";
+            case UPDATED -> "ALBUM_UPDATED";
+            case DELETED -> "ALBUM_DELETED";
+        };
+    }
+
+    private static String messageOf(AlbumEvent event, String artistNames) {
+        return switch (event.getType()) {
+            case CREATED -> String.format("New album '%s' by %s has been added!", event.getAlbumTitle(), artistNames);
+            case UPDATED -> String.format("Album '%s' by %s has been updated", event.getAlbumTitle(), artistNames);
+            case DELETED -> String.format("Album '%s' by %s has been removed", event.getAlbumTitle(), artistNames);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package br.gov.seplag.artistalbum.infrastructure.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Album Notification Batch
+ * One WebSocket frame carrying every album event coalesced in a dispatch window
+ */
+@Getter
+@AllArgsConstructor
+public class AlbumNotificationBatch {
+
+    private final String type = "ALBUM_EVENTS";
+    private final int count;
+    private final List<AlbumNotification> events;
+
+    public static AlbumNotificationBatch of(List<AlbumNotification> events) {
+        return new AlbumNotificationBatch(events.size(), events);
+    }
+}
@@ -0,0 +1,88 @@
+package br.gov.seplag.artistalbum.infrastructure.websocket;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * WebSocket Broker Metrics
+ * Publishes session, queue and dropped-frame statistics of the STOMP broker
+ */
+@Component
+public class WebSocketBrokerMetrics implements MeterBinder {
+
+    private final WebSocketNotificationService notificationService;
+    private final WebSocketHandler subProtocolWebSocketHandler;
+    private final ThreadPoolTaskExecutor clientInboundChannelExecutor;
+    private final ThreadPoolTaskExecutor clientOutboundChannelExecutor;
+
+    public WebSocketBrokerMetrics(
+            WebSocketNotificationService notificationService,
+            @Qualifier("subProtocolWebSocketHandler") WebSocketHandler subProtocolWebSocketHandler,
+            @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor clientInboundChannelExecutor,
+            @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor clientOutboundChannelExecutor
+    ) {
+        this.notificationService = notificationService;
+        this.subProtocolWebSocketHandler = subProtocolWebSocketHandler;
+        this.clientInboundChannelExecutor = clientInboundChannelExecutor;
+        this.clientOutboundChannelExecutor = clientOutboundChannelExecutor;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        SubProtocolWebSocketHandler handler = unwrap(subProtocolWebSocketHandler);
+        if (handler != null) {
+            Gauge.builder("websocket.sessions", handler, h -> h.getStats().getTotalSessions())
+                    .description("Open WebSocket/SockJS sessions")
+                    .register(registry);
+            Gauge.builder("websocket.sessions.limit.exceeded", handler, h -> h.getStats().getLimitExceededSessions())
+                    .description("Sessions closed for exceeding send buffer or send time limits")
+                    .register(registry);
+        }
+
+        Gauge.builder("websocket.channel.queued", clientInboundChannelExecutor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("channel", "inbound")
+                .description("Frames waiting for a client channel thread")
+                .register(registry);
+        Gauge.builder("websocket.channel.queued", clientOutboundChannelExecutor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("channel", "outbound")
+                .description("Frames waiting for a client channel thread")
+                .register(registry);
+
+        Gauge.builder("websocket.notifications.pending", notificationService,
+                        WebSocketNotificationService::getPendingEvents)
+                .description("Album events waiting for the next dispatch window")
+                .register(registry);
+        FunctionCounter.builder("websocket.notifications.dropped", notificationService,
+                        WebSocketNotificationService::getDroppedEvents)
+                .description("Album events dropped because the backlog was full")
+                .register(registry);
+        FunctionCounter.builder("websocket.notifications.resyncs", notificationService,
+                        WebSocketNotificationService::getResyncs)
+                .description("Resync frames sent after events were dropped")
+                .register(registry);
+        FunctionCounter.builder("websocket.notifications.conflated", notificationService,
+                        WebSocketNotificationService::getConflatedEvents)
+                .description("Album events merged into an already pending event")
+                .register(registry);
+        FunctionCounter.builder("websocket.notifications.frames", notificationService,
+                        WebSocketNotificationService::getSentFrames)
+                .description("Batched frames sent to /topic/albums")
+                .register(registry);
+    }
+
+    private SubProtocolWebSocketHandler unwrap(WebSocketHandler handler) {
+        WebSocketHandler last = handler instanceof WebSocketHandlerDecorator decorator
+                ? decorator.getLastHandler()
+                : handler;
+        return last instanceof SubProtocolWebSocketHandler subProtocol ? subProtocol : null;
+    }
+}
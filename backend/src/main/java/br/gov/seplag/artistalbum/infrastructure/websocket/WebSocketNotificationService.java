@@ -1,51 +1,229 @@
 package br.gov.seplag.artistalbum.infrastructure.websocket;
 
-import br.gov.seplag.artistalbum.domain.entity.Album;
+import br.gov.seplag.artistalbum.domain.event.AlbumEvent;
+import br.gov.seplag.artistalbum.infrastructure.sse.SseNotificationService;
+import br.gov.seplag.artistalbum.infrastructure.tracing.Spans;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.MimeTypeUtils;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * WebSocket Notification Service
  * Sends real-time notifications to connected clients
+ *
+ * Album events are collected after their transaction commits and dispatched
+ * asynchronously: events received within one batch window are coalesced per
+ * album and serialized once into a single frame for all subscribers.
+ * The same frame bytes are handed to the SSE stream.
+ * The pending set is bounded: when it is full the oldest event is dropped and
+ * the next dispatch starts with a single resync frame, so clients reload their
+ * state through the change feed instead of silently missing the event.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class WebSocketNotificationService {
 
+    public static final String ALBUMS_TOPIC = "/topic/albums";
+
+    // Same payload as the SSE resync event
+    private static final byte[] RESYNC_PAYLOAD = "{\"type\":\"RESYNC\"}".getBytes(StandardCharsets.UTF_8);
+
     private final SimpMessagingTemplate messagingTemplate;
     private final ObjectMapper objectMapper;
+    private final SseNotificationService sseNotificationService;
+    private final Tracer tracer;
 
-    public void notifyNewAlbum(Album album) {
-        try {
-            // Pegar primeiro artista ou usar valores padrão
-            Long firstArtistId = !album.getArtists().isEmpty() ? album.getArtists().get(0).getId() : null;
-            String artistNames = album.getArtistNames();
-            if (artistNames == null || artistNames.isEmpty()) {
-                artistNames = "Unknown Artist";
+    @Value("${websocket.notifications.batch-window-ms:250}")
+    private long batchWindowMs;
+
+    @Value("${websocket.notifications.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Value("${websocket.notifications.max-pending:1000}")
+    private int maxPending;
+
+    // Guarded by itself; keyed by album ID so repeated changes collapse into one entry
+    private final Map<Long, AlbumEvent> pending = new LinkedHashMap<>();
+    // Guarded by pending; set when events were dropped and clients must resync
+    private boolean resyncRequired;
+
+    private final AtomicLong conflatedEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+    private final AtomicLong sentFrames = new AtomicLong();
+
+    private ScheduledExecutorService dispatcher;
+
+    /**
+     * Dispatch runs on its own thread: the shared scheduler also runs the regional
+     * sync, which can block for minutes while the pending set fills up
+     */
+    @PostConstruct
+    public void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "websocket-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // An escaping exception would cancel every later run
+                log.error("Error dispatching album notifications", e);
             }
+        }, batchWindowMs, batchWindowMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAlbumEvent(AlbumEvent event) {
+        synchronized (pending) {
+            AlbumEvent previous = pending.get(event.getAlbumId());
+            if (previous != null) {
+                pending.put(event.getAlbumId(), previous.mergeWith(event));
+                conflatedEvents.incrementAndGet();
+                return;
+            }
+
+            if (pending.size() >= maxPending) {
+                Iterator<AlbumEvent> oldest = pending.values().iterator();
+                AlbumEvent dropped = oldest.next();
+                oldest.remove();
+                droppedEvents.incrementAndGet();
+                if (!resyncRequired) {
+                    resyncRequired = true;
+                    log.warn("Notification backlog full, dropping oldest event for album {} and asking clients to resync",
+                            dropped.getAlbumId());
+                }
+            }
+            pending.put(event.getAlbumId(), event);
+        }
+    }
+
+    /**
+     * Dispatch pending events (runs every batch window)
+     */
+    public void flush() {
+        boolean resync;
+        List<AlbumNotification> notifications;
+        synchronized (pending) {
+            resync = resyncRequired;
+            if (!resync && pending.isEmpty()) {
+                return;
+            }
+            resyncRequired = false;
+            notifications = new ArrayList<>(pending.size());
+            for (AlbumEvent event : pending.values()) {
+                notifications.add(AlbumNotification.from(event));
+            }
+            pending.clear();
+        }
+
+        if (resync) {
+            sendResync();
+        }
+        for (int from = 0; from < notifications.size(); from += maxBatchSize) {
+            int to = Math.min(from + maxBatchSize, notifications.size());
+            send(AlbumNotificationBatch.of(notifications.subList(from, to)));
+        }
+    }
 
-            Map<String, Object> notification = new HashMap<>();
-            notification.put("type", "NEW_ALBUM");
-            notification.put("albumId", album.getId());
-            notification.put("albumTitle", album.getTitle());
-            notification.put("artistId", firstArtistId);
-            notification.put("artistNames", artistNames);
-            notification.put("timestamp", LocalDateTime.now());
-            notification.put("message", String.format("New album '%s' by %s has been added!", 
-                    album.getTitle(), artistNames));
-
-            messagingTemplate.convertAndSend("/topic/albums", notification);
-            log.info("WebSocket notification sent for new album: {}", album.getTitle());
+    /**
+     * Clients missed events: one frame tells them to reload their state through the change feed
+     */
+    private void sendResync() {
+        resyncs.incrementAndGet();
+        try {
+            messagingTemplate.send(ALBUMS_TOPIC, toMessage(RESYNC_PAYLOAD));
+            sentFrames.incrementAndGet();
+        } catch (Exception e) {
+            log.error("Error sending WebSocket resync notification", e);
+        }
+        sseNotificationService.resync();
+    }
+
+    private void send(AlbumNotificationBatch batch) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(batch);
+        } catch (Exception e) {
+            log.error("Error serializing album notification", e);
+            return;
+        }
+
+        try {
+            Spans.inSpan(tracer, tracer.nextSpan()
+                    .name("websocket.send")
+                    .tag("destination", ALBUMS_TOPIC)
+                    .tag("events", batch.getCount()), () -> {
+                messagingTemplate.send(ALBUMS_TOPIC, toMessage(payload));
+                return null;
+            });
+            sentFrames.incrementAndGet();
+            log.info("WebSocket notification sent with {} album event(s)", batch.getCount());
         } catch (Exception e) {
             log.error("Error sending WebSocket notification", e);
         }
+
+        sseNotificationService.broadcast(payload);
+    }
+
+    public int getPendingEvents() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    public long getConflatedEvents() {
+        return conflatedEvents.get();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public long getResyncs() {
+        return resyncs.get();
+    }
+
+    public long getSentFrames() {
+        return sentFrames.get();
+    }
+
+    private Message<byte[]> toMessage(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
     }
 }
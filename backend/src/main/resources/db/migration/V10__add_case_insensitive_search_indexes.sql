@@ -0,0 +1,18 @@
+-- V10__add_case_insensitive_search_indexes.sql
+-- Índices para as buscas sem distinção de maiúsculas/minúsculas dos repositórios de artistas e álbuns,
+-- que usam LOWER(...) e por isso não aproveitam os índices simples de name e title (ver QueryPlanRegressionTest)
+
+-- Trigramas atendem LIKE '%termo%', que nenhum índice B-tree consegue usar
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_albums_title_lower_trgm ON albums USING gin (LOWER(title) gin_trgm_ops);
+CREATE INDEX idx_artists_name_lower_trgm ON artists USING gin (LOWER(name) gin_trgm_ops);
+
+-- Igualdade das verificações de duplicidade (LOWER(title) = LOWER(:title), LOWER(name) = LOWER(:name))
+CREATE INDEX idx_albums_title_lower ON albums(LOWER(title));
+CREATE INDEX idx_artists_name_lower ON artists(LOWER(name));
+
+COMMENT ON INDEX idx_albums_title_lower_trgm IS 'Busca de álbuns por trecho do título (LOWER(title) LIKE)';
+COMMENT ON INDEX idx_artists_name_lower_trgm IS 'Busca de artistas por trecho do nome (LOWER(name) LIKE)';
+COMMENT ON INDEX idx_albums_title_lower IS 'Verificação de título duplicado por artista';
+COMMENT ON INDEX idx_artists_name_lower IS 'Verificação de nome de artista duplicado';
@@ -0,0 +1,9 @@
+-- V11__use_timestamptz_for_scheduler_lock.sql
+-- Os leases são gravados e comparados com clock_timestamp(). Em TIMESTAMP sem fuso o valor gravado
+-- dependia do TimeZone da sessão (herdado da JVM pelo driver JDBC), e instâncias com fusos diferentes
+-- erravam o fim do lease em horas. TIMESTAMPTZ guarda o instante absoluto.
+-- Valores existentes são interpretados no fuso da sessão da migração; são leases curtos e expiram logo.
+
+ALTER TABLE scheduler_lock
+    ALTER COLUMN locked_until TYPE TIMESTAMPTZ,
+    ALTER COLUMN locked_at TYPE TIMESTAMPTZ;
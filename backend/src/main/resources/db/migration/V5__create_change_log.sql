@@ -0,0 +1,20 @@
+-- V5__create_change_log.sql
+-- Change feed para sincronização incremental dos clientes
+
+CREATE TABLE change_log (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Usado pela compactação para localizar entradas substituídas da mesma entidade
+CREATE INDEX idx_change_log_entity ON change_log(entity_type, entity_id, id);
+
+COMMENT ON TABLE change_log IS 'Registro ordenado de alterações em álbuns e artistas (change feed)';
+COMMENT ON COLUMN change_log.id IS 'Cursor sequencial da alteração (também usado como versão)';
+COMMENT ON COLUMN change_log.entity_type IS 'Tipo da entidade alterada (ALBUM, ARTIST)';
+COMMENT ON COLUMN change_log.entity_id IS 'ID da entidade alterada';
+COMMENT ON COLUMN change_log.operation IS 'Operação (UPSERT, DELETE)';
+COMMENT ON COLUMN change_log.created_at IS 'Data e hora da alteração';
@@ -0,0 +1,15 @@
+-- V6__create_rate_limit_bucket.sql
+-- Estado compartilhado dos token buckets para rate limiting entre instâncias
+
+CREATE TABLE rate_limit_bucket (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens BIGINT NOT NULL,
+    refill_at BIGINT NOT NULL,
+    granted BIGINT NOT NULL DEFAULT 0
+);
+
+COMMENT ON TABLE rate_limit_bucket IS 'Token buckets de rate limiting compartilhados pelas instâncias da API';
+COMMENT ON COLUMN rate_limit_bucket.bucket_key IS 'Chave do bucket (ex.: rate-limit:usuario)';
+COMMENT ON COLUMN rate_limit_bucket.tokens IS 'Tokens disponíveis após a última operação';
+COMMENT ON COLUMN rate_limit_bucket.refill_at IS 'Instante do último reabastecimento (epoch em milissegundos, relógio do banco)';
+COMMENT ON COLUMN rate_limit_bucket.granted IS 'Tokens entregues na última concessão (lease) a uma instância';
@@ -0,0 +1,9 @@
+-- V7__allow_regional_history.sql
+-- Permite manter o histórico de regionais: uma alteração de nome inativa a linha anterior e cria uma nova
+-- com o mesmo external_id, então a unicidade passa a valer apenas para as regionais ativas
+
+ALTER TABLE regionais DROP CONSTRAINT IF EXISTS regionais_external_id_key;
+
+CREATE UNIQUE INDEX uq_regionais_external_id_ativo ON regionais(external_id) WHERE ativo;
+
+COMMENT ON INDEX uq_regionais_external_id_ativo IS 'No máximo uma regional ativa por ID externo (alvo do upsert da sincronização)';
@@ -0,0 +1,17 @@
+-- V8__create_sync_state.sql
+-- Estado da última sincronização com APIs externas, usado para requisições condicionais
+
+CREATE TABLE sync_state (
+    source VARCHAR(50) PRIMARY KEY,
+    etag VARCHAR(255),
+    last_modified VARCHAR(64),
+    content_hash VARCHAR(64),
+    synced_at TIMESTAMP
+);
+
+COMMENT ON TABLE sync_state IS 'Estado da última sincronização aplicada por fonte externa';
+COMMENT ON COLUMN sync_state.source IS 'Fonte externa (ex.: regionais)';
+COMMENT ON COLUMN sync_state.etag IS 'ETag da última resposta, enviado em If-None-Match';
+COMMENT ON COLUMN sync_state.last_modified IS 'Last-Modified da última resposta, enviado em If-Modified-Since';
+COMMENT ON COLUMN sync_state.content_hash IS 'SHA-256 (hex) do corpo da última resposta aplicada';
+COMMENT ON COLUMN sync_state.synced_at IS 'Data e hora da última sincronização aplicada';
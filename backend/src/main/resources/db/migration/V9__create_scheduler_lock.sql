@@ -0,0 +1,15 @@
+-- V9__create_scheduler_lock.sql
+-- Locks dos jobs agendados, para que cada job rode em uma única instância por período
+
+CREATE TABLE scheduler_lock (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+);
+
+COMMENT ON TABLE scheduler_lock IS 'Locks com prazo (lease) dos jobs agendados compartilhados pelas instâncias da API';
+COMMENT ON COLUMN scheduler_lock.name IS 'Nome do job (ex.: regional-sync)';
+COMMENT ON COLUMN scheduler_lock.locked_until IS 'Fim do lease; após esse instante outra instância pode assumir o job (relógio do banco)';
+COMMENT ON COLUMN scheduler_lock.locked_at IS 'Instante em que o lease foi adquirido (relógio do banco)';
+COMMENT ON COLUMN scheduler_lock.locked_by IS 'Instância que adquiriu o lease por último';
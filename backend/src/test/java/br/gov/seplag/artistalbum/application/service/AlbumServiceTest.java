@@ -5,6 +5,7 @@ import br.gov.seplag.artistalbum.application.io.AlbumResponse;
 import br.gov.seplag.artistalbum.domain.entity.Album;
 import br.gov.seplag.artistalbum.domain.entity.AlbumCover;
 import br.gov.seplag.artistalbum.domain.entity.Artist;
+import br.gov.seplag.artistalbum.domain.event.AlbumEvent;
 import br.gov.seplag.artistalbum.domain.exception.DuplicateResourceException;
 import br.gov.seplag.artistalbum.domain.exception.InvalidFileException;
 import br.gov.seplag.artistalbum.domain.exception.ResourceNotFoundException;
@@ -12,7 +13,6 @@ import br.gov.seplag.artistalbum.domain.repository.AlbumCoverRepository;
 import br.gov.seplag.artistalbum.domain.repository.AlbumRepository;
 import br.gov.seplag.artistalbum.domain.repository.ArtistRepository;
 import br.gov.seplag.artistalbum.infrastructure.storage.MinioStorageService;
-import br.gov.seplag.artistalbum.infrastructure.websocket.WebSocketNotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -54,7 +55,7 @@ class AlbumServiceTest {
     private MinioStorageService minioStorageService;
 
     @Mock
-    private WebSocketNotificationService webSocketNotificationService;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private AlbumService albumService;
@@ -189,7 +190,8 @@ class AlbumServiceTest {
         verify(artistRepository).findById(1L);
         verify(albumRepository).existsByTitleAndArtistId("Toxicity", 1L);
         verify(albumRepository).save(any(Album.class));
-        verify(webSocketNotificationService).notifyNewAlbum(any(Album.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof AlbumEvent albumEvent && albumEvent.getType() == AlbumEvent.Type.CREATED));
     }
 
     @Test
@@ -229,6 +231,10 @@ class AlbumServiceTest {
 
         verify(albumRepository).findById(1L);
         verify(albumRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof AlbumEvent albumEvent
+                        && albumEvent.getType() == AlbumEvent.Type.DELETED
+                        && albumEvent.getAlbumId().equals(1L)));
     }
 
     @Test
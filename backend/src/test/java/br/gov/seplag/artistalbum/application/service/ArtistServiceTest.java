@@ -3,6 +3,7 @@ package br.gov.seplag.artistalbum.application.service;
 import br.gov.seplag.artistalbum.application.io.ArtistRequest;
 import br.gov.seplag.artistalbum.application.io.ArtistResponse;
 import br.gov.seplag.artistalbum.domain.entity.Artist;
+import br.gov.seplag.artistalbum.domain.event.ArtistEvent;
 import br.gov.seplag.artistalbum.domain.repository.ArtistRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -34,6 +36,9 @@ class ArtistServiceTest {
     @Mock
     private ArtistRepository artistRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ArtistService artistService;
 
@@ -155,7 +160,7 @@ class ArtistServiceTest {
     @DisplayName("Should delete artist successfully")
     void shouldDeleteArtistSuccessfully() {
         // Arrange
-        when(artistRepository.existsById(1L)).thenReturn(true);
+        when(artistRepository.findById(1L)).thenReturn(Optional.of(testArtist));
         doNothing().when(artistRepository).deleteById(1L);
 
         // Act
@@ -163,13 +168,15 @@ class ArtistServiceTest {
 
         // Assert
         verify(artistRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof ArtistEvent artistEvent && artistEvent.getType() == ArtistEvent.Type.DELETED));
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent artist")
     void shouldThrowExceptionWhenDeletingNonExistentArtist() {
         // Arrange
-        when(artistRepository.existsById(999L)).thenReturn(false);
+        when(artistRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> artistService.deleteArtist(999L))
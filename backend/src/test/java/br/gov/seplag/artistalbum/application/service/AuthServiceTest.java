@@ -8,17 +8,22 @@ import br.gov.seplag.artistalbum.domain.exception.InvalidTokenException;
 import br.gov.seplag.artistalbum.domain.exception.ResourceNotFoundException;
 import br.gov.seplag.artistalbum.domain.repository.UserRepository;
 import br.gov.seplag.artistalbum.infrastructure.security.JwtTokenProvider;
+import br.gov.seplag.artistalbum.infrastructure.security.PasswordVerificationExecutor;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
 
@@ -43,6 +48,9 @@ class AuthServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Spy
+    private PasswordVerificationExecutor passwordVerificationExecutor = new PasswordVerificationExecutor(Tracer.NOOP);
+
     @InjectMocks
     private AuthService authService;
 
@@ -51,6 +59,11 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(passwordVerificationExecutor, "threads", 1);
+        ReflectionTestUtils.setField(passwordVerificationExecutor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordVerificationExecutor, "timeoutMs", 5000L);
+        passwordVerificationExecutor.init();
+
         testUser = User.builder()
                 .id(1L)
                 .username("admin")
@@ -60,6 +73,11 @@ class AuthServiceTest {
         loginRequest = new LoginRequest("admin", "admin123");
     }
 
+    @AfterEach
+    void tearDown() {
+        passwordVerificationExecutor.shutdown();
+    }
+
     @Test
     @DisplayName("Should login successfully with valid credentials")
     void shouldLoginSuccessfullyWithValidCredentials() {
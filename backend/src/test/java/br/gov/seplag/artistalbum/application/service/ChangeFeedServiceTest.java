@@ -0,0 +1,198 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import br.gov.seplag.artistalbum.application.io.ChangeFeedResponse;
+import br.gov.seplag.artistalbum.domain.entity.Album;
+import br.gov.seplag.artistalbum.domain.entity.Artist;
+import br.gov.seplag.artistalbum.domain.entity.ChangeLogEntry;
+import br.gov.seplag.artistalbum.domain.entity.ChangeLogEntry.EntityType;
+import br.gov.seplag.artistalbum.domain.entity.ChangeLogEntry.Operation;
+import br.gov.seplag.artistalbum.domain.event.AlbumEvent;
+import br.gov.seplag.artistalbum.domain.event.ArtistEvent;
+import br.gov.seplag.artistalbum.domain.repository.ChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChangeFeedService Tests")
+class ChangeFeedServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @InjectMocks
+    private ChangeFeedService changeFeedService;
+
+    @Captor
+    private ArgumentCaptor<List<ChangeLogEntry>> entriesCaptor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(changeFeedService, "compactionMinAgeMinutes", 60L);
+    }
+
+    @Test
+    @DisplayName("Should return ordered changes after cursor")
+    void shouldReturnOrderedChangesAfterCursor() {
+        // Arrange
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(
+                        createEntry(11L, EntityType.ALBUM, 5L, Operation.UPSERT),
+                        createEntry(12L, EntityType.ARTIST, 2L, Operation.DELETE)
+                ));
+
+        // Act
+        ChangeFeedResponse response = changeFeedService.getChanges(10L, 2);
+
+        // Assert
+        assertThat(response.getChanges()).hasSize(2);
+        assertThat(response.getChanges().get(0).getEntity()).isEqualTo("ALBUM");
+        assertThat(response.getChanges().get(0).getOp()).isEqualTo("UPSERT");
+        assertThat(response.getChanges().get(0).getId()).isEqualTo(5L);
+        assertThat(response.getChanges().get(0).getVersion()).isEqualTo(11L);
+        assertThat(response.getChanges().get(1).getOp()).isEqualTo("DELETE");
+        assertThat(response.getCursor()).isEqualTo(12L);
+        assertThat(response.getHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should flag more changes when page is full")
+    void shouldFlagMoreChangesWhenPageIsFull() {
+        // Arrange
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(
+                        createEntry(1L, EntityType.ALBUM, 1L, Operation.UPSERT),
+                        createEntry(2L, EntityType.ALBUM, 2L, Operation.UPSERT),
+                        createEntry(3L, EntityType.ALBUM, 3L, Operation.UPSERT)
+                ));
+
+        // Act
+        ChangeFeedResponse response = changeFeedService.getChanges(null, 2);
+
+        // Assert
+        assertThat(response.getChanges()).hasSize(2);
+        assertThat(response.getCursor()).isEqualTo(2L);
+        assertThat(response.getHasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep cursor when there are no new changes")
+    void shouldKeepCursorWhenNoChanges() {
+        // Arrange
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(eq(42L), any())).thenReturn(new ArrayList<>());
+
+        // Act
+        ChangeFeedResponse response = changeFeedService.getChanges(42L, 500);
+
+        // Assert
+        assertThat(response.getChanges()).isEmpty();
+        assertThat(response.getCursor()).isEqualTo(42L);
+        assertThat(response.getHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record album upsert and artist upserts for album event")
+    void shouldRecordAlbumEvent() {
+        // Arrange
+        Album album = Album.builder().id(7L).title("Toxicity").build();
+        album.addArtist(Artist.builder().id(1L).name("System of a Down").build());
+
+        // Act
+        changeFeedService.onAlbumEvent(AlbumEvent.created(album));
+
+        // Assert
+        verify(changeLogRepository).lockForAppend();
+        verify(changeLogRepository).saveAll(entriesCaptor.capture());
+        List<ChangeLogEntry> entries = entriesCaptor.getValue();
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).getEntityType()).isEqualTo(EntityType.ALBUM);
+        assertThat(entries.get(0).getEntityId()).isEqualTo(7L);
+        assertThat(entries.get(0).getOperation()).isEqualTo(Operation.UPSERT);
+        assertThat(entries.get(1).getEntityType()).isEqualTo(EntityType.ARTIST);
+        assertThat(entries.get(1).getEntityId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should record upserts for the artist an album was moved away from")
+    void shouldRecordPreviousArtistsOfMovedAlbum() {
+        // Arrange - album moved from artist 1 to artist 2
+        Album album = Album.builder().id(7L).title("Toxicity").build();
+        album.addArtist(Artist.builder().id(2L).name("Serj Tankian").build());
+
+        // Act
+        changeFeedService.onAlbumEvent(AlbumEvent.updated(album, List.of(1L)));
+
+        // Assert
+        verify(changeLogRepository).saveAll(entriesCaptor.capture());
+        assertThat(entriesCaptor.getValue()).extracting(ChangeLogEntry::getEntityType, ChangeLogEntry::getEntityId,
+                        ChangeLogEntry::getOperation)
+                .containsExactly(
+                        tuple(EntityType.ALBUM, 7L, Operation.UPSERT),
+                        tuple(EntityType.ARTIST, 2L, Operation.UPSERT),
+                        tuple(EntityType.ARTIST, 1L, Operation.UPSERT)
+                );
+    }
+
+    @Test
+    @DisplayName("Should record artist delete and upserts for its albums")
+    void shouldRecordArtistDeleteEvent() {
+        // Arrange
+        Artist artist = Artist.builder().id(3L).name("Guns N' Roses").build();
+        artist.addAlbum(Album.builder().id(20L).title("Appetite for Destruction").build());
+
+        // Act
+        changeFeedService.onArtistEvent(ArtistEvent.deleted(artist));
+
+        // Assert
+        verify(changeLogRepository).saveAll(entriesCaptor.capture());
+        List<ChangeLogEntry> entries = entriesCaptor.getValue();
+        assertThat(entries).extracting(ChangeLogEntry::getEntityType, ChangeLogEntry::getEntityId,
+                        ChangeLogEntry::getOperation)
+                .containsExactly(
+                        tuple(EntityType.ARTIST, 3L, Operation.DELETE),
+                        tuple(EntityType.ALBUM, 20L, Operation.UPSERT)
+                );
+    }
+
+    @Test
+    @DisplayName("Should compact superseded entries older than minimum age")
+    void shouldCompactSupersededEntries() {
+        // Arrange
+        when(changeLogRepository.deleteSupersededBefore(any(LocalDateTime.class))).thenReturn(5);
+
+        // Act
+        changeFeedService.compact();
+
+        // Assert
+        verify(changeLogRepository).deleteSupersededBefore(argThat(cutoff ->
+                cutoff.isBefore(LocalDateTime.now().minusMinutes(59))));
+    }
+
+    private ChangeLogEntry createEntry(Long id, EntityType type, Long entityId, Operation operation) {
+        return ChangeLogEntry.builder()
+                .id(id)
+                .entityType(type)
+                .entityId(entityId)
+                .operation(operation)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Regional Index Tests")
+class RegionalIndexTest {
+
+    @Test
+    @DisplayName("Should keep the active row when an external ID has several rows")
+    void shouldPreferActiveRow() {
+        // Arrange
+        RegionalIndex index = new RegionalIndex(4);
+
+        // Act
+        index.put(1L, 10, "Regional Norte", true);
+        index.put(2L, 10, "Regional Norte Antiga", false);
+        index.put(3L, 20, "Regional Sul", false);
+        index.put(4L, 20, "Regional Sul Nova", false);
+
+        // Assert
+        int norte = index.find(10);
+        assertThat(index.id(norte)).isEqualTo(1L);
+        assertThat(index.isActive(norte)).isTrue();
+        assertThat(index.hasNome(norte, "Regional Norte")).isTrue();
+        int sul = index.find(20);
+        assertThat(index.id(sul)).isEqualTo(4L);
+        assertThat(index.hasNome(sul, "Regional Sul Nova")).isTrue();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep every entry when growing past the initial capacity")
+    void shouldResize() {
+        // Arrange
+        RegionalIndex index = new RegionalIndex(1);
+
+        // Act
+        for (int i = 1; i <= 10_000; i++) {
+            index.put(i, i * 7, "Regional " + i, true);
+        }
+
+        // Assert
+        assertThat(index.size()).isEqualTo(10_000);
+        for (int i = 1; i <= 10_000; i++) {
+            assertThat(index.id(index.find(i * 7))).isEqualTo(i);
+        }
+        assertThat(index.find(3)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should report only active rows not seen in the payload")
+    void shouldVisitActiveUnseen() {
+        // Arrange
+        RegionalIndex index = new RegionalIndex(4);
+        index.put(1L, 1, "Regional Norte", true);
+        index.put(2L, 2, "Regional Sul", true);
+        index.put(3L, 3, "Regional Leste", false);
+
+        // Act
+        boolean firstSeen = index.markSeen(index.find(1));
+        boolean secondSeen = index.markSeen(index.find(1));
+        List<Integer> unseen = new ArrayList<>();
+        index.forEachActiveUnseen(unseen::add);
+
+        // Assert
+        assertThat(firstSeen).isTrue();
+        assertThat(secondSeen).isFalse();
+        assertThat(unseen).containsExactly(2);
+    }
+}
@@ -0,0 +1,131 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import br.gov.seplag.artistalbum.domain.entity.Regional;
+import br.gov.seplag.artistalbum.domain.repository.RegionalRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RegionalSnapshotCache Tests")
+class RegionalSnapshotCacheTest {
+
+    @Mock
+    private RegionalRepository regionalRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RegionalSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RegionalSnapshotCache(regionalRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should build the snapshot once and serve it from memory")
+    void shouldBuildLazilyOnce() throws Exception {
+        // Arrange
+        List<Regional> all = List.of(regional(1L, 1, "Regional Norte", true), regional(2L, 2, "Regional Sul", false));
+        List<Regional> active = List.of(all.get(0));
+        when(regionalRepository.findAllByOrderByNomeAsc()).thenReturn(all);
+        when(regionalRepository.findByAtivoTrue()).thenReturn(active);
+
+        // Act
+        RegionalSnapshotCache.Body first = cache.getAll();
+        RegionalSnapshotCache.Body second = cache.getAll();
+        RegionalSnapshotCache.Body activeBody = cache.getActive();
+
+        // Assert
+        assertThat(first).isSameAs(second);
+        assertThat(first.json()).isEqualTo(objectMapper.writeValueAsBytes(all));
+        assertThat(activeBody.json()).isEqualTo(objectMapper.writeValueAsBytes(active));
+        assertThat(first.etag()).startsWith("\"").endsWith("\"").hasSize(34);
+        assertThat(first.etag()).isNotEqualTo(activeBody.etag());
+        verify(regionalRepository, times(1)).findAllByOrderByNomeAsc();
+        verify(regionalRepository, times(1)).findByAtivoTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the ETag when a rebuild finds the same content")
+    void shouldKeepEtagForSameContent() {
+        // Arrange
+        when(regionalRepository.findAllByOrderByNomeAsc())
+                .thenAnswer(call -> List.of(regional(1L, 1, "Regional Norte", true)));
+        when(regionalRepository.findByAtivoTrue())
+                .thenAnswer(call -> List.of(regional(1L, 1, "Regional Norte", true)));
+        String before = cache.getAll().etag();
+
+        // Act
+        cache.refresh();
+
+        // Assert
+        assertThat(cache.getAll().etag()).isEqualTo(before);
+        assertThat(cache.getRebuilds()).isEqualTo(2);
+        assertThat(cache.getSwaps()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should swap in new content and ETag on refresh")
+    void shouldSwapChangedContent() {
+        // Arrange
+        when(regionalRepository.findAllByOrderByNomeAsc())
+                .thenReturn(List.of(regional(1L, 1, "Regional Norte", true)))
+                .thenReturn(List.of(regional(1L, 1, "Regional Norte", false), regional(2L, 1, "Regional Norte II", true)));
+        when(regionalRepository.findByAtivoTrue())
+                .thenReturn(List.of(regional(1L, 1, "Regional Norte", true)))
+                .thenReturn(List.of(regional(2L, 1, "Regional Norte II", true)));
+        RegionalSnapshotCache.Body before = cache.getActive();
+
+        // Act
+        cache.refresh();
+
+        // Assert
+        RegionalSnapshotCache.Body after = cache.getActive();
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(new String(after.json())).contains("Regional Norte II");
+        assertThat(cache.getSwaps()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep serving the previous snapshot when a scheduled rebuild fails")
+    void shouldKeepPreviousSnapshotOnFailure() {
+        // Arrange
+        when(regionalRepository.findAllByOrderByNomeAsc())
+                .thenReturn(List.of(regional(1L, 1, "Regional Norte", true)))
+                .thenThrow(new IllegalStateException("database down"));
+        when(regionalRepository.findByAtivoTrue()).thenReturn(List.of(regional(1L, 1, "Regional Norte", true)));
+        RegionalSnapshotCache.Body before = cache.getAll();
+
+        // Act
+        cache.scheduledRefresh();
+
+        // Assert
+        assertThat(cache.getAll()).isSameAs(before);
+    }
+
+    @Test
+    @DisplayName("Should propagate the failure when there is no snapshot yet")
+    void shouldFailWithoutSnapshot() {
+        // Arrange
+        when(regionalRepository.findAllByOrderByNomeAsc()).thenThrow(new IllegalStateException("database down"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> cache.getAll()).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.getSizeInBytes()).isZero();
+    }
+
+    private Regional regional(Long id, Integer externalId, String nome, boolean ativo) {
+        return Regional.builder().id(id).externalId(externalId).nome(nome).ativo(ativo).build();
+    }
+}
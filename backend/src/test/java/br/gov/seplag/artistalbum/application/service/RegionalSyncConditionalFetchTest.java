@@ -0,0 +1,154 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import br.gov.seplag.artistalbum.domain.entity.SyncState;
+import br.gov.seplag.artistalbum.domain.repository.RegionalRepository;
+import br.gov.seplag.artistalbum.domain.repository.SyncStateRepository;
+import br.gov.seplag.artistalbum.infrastructure.external.RegionaisApiClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Regional sync against a local HTTP stub standing in for the external API
+ */
+@DisplayName("Regional Sync Conditional Fetch Tests")
+class RegionalSyncConditionalFetchTest {
+
+    private static final String PAYLOAD_V1 = "[{\"id\":1,\"nome\":\"Regional Norte\"},{\"id\":2,\"nome\":\"Regional Sul\"}]";
+    private static final String PAYLOAD_V2 = "[{\"id\":1,\"nome\":\"Regional Norte\"},{\"id\":3,\"nome\":\"Regional Leste\"}]";
+
+    private HttpServer server;
+    private final AtomicReference<String> payload = new AtomicReference<>(PAYLOAD_V1);
+    private final AtomicReference<String> etag = new AtomicReference<>("\"v1\"");
+    private final List<String> receivedIfNoneMatch = new CopyOnWriteArrayList<>();
+
+    private RegionalRepository regionalRepository;
+    private PlatformTransactionManager transactionManager;
+    private RegionalSyncService regionalSyncService;
+    private final AtomicReference<SyncState> storedState = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/regionais", exchange -> {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            receivedIfNoneMatch.add(String.valueOf(ifNoneMatch));
+            String currentEtag = etag.get();
+            if (currentEtag != null && currentEtag.equals(ifNoneMatch)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = payload.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (currentEtag != null) {
+                exchange.getResponseHeaders().set("ETag", currentEtag);
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        regionalRepository = mock(RegionalRepository.class);
+        SyncStateRepository syncStateRepository = mock(SyncStateRepository.class);
+        when(syncStateRepository.findById(RegionalSyncService.SOURCE))
+                .thenAnswer(call -> Optional.ofNullable(storedState.get()));
+        when(syncStateRepository.save(any(SyncState.class))).thenAnswer(call -> {
+            SyncState state = call.getArgument(0);
+            storedState.set(SyncState.builder().source(state.getSource()).etag(state.getEtag())
+                    .lastModified(state.getLastModified()).contentHash(state.getContentHash())
+                    .syncedAt(state.getSyncedAt()).build());
+            return state;
+        });
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        RegionaisApiClient regionaisApiClient = new RegionaisApiClient(ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(regionaisApiClient, "url",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/regionais");
+        ReflectionTestUtils.setField(regionaisApiClient, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(regionaisApiClient, "readTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(regionaisApiClient, "maxAttempts", 1);
+        ReflectionTestUtils.setField(regionaisApiClient, "failureThreshold", 3);
+        ReflectionTestUtils.setField(regionaisApiClient, "openMs", 60000L);
+        regionaisApiClient.init();
+
+        regionalSyncService = new RegionalSyncService(regionalRepository, syncStateRepository, new ObjectMapper(),
+                new TransactionTemplate(transactionManager), regionaisApiClient, mock(RegionalSnapshotCache.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should apply once and skip while the upstream answers 304")
+    void shouldSkipOnNotModified() {
+        // Act
+        regionalSyncService.synchronize();
+        regionalSyncService.synchronize();
+        regionalSyncService.synchronize();
+
+        // Assert
+        assertThat(receivedIfNoneMatch).containsExactly("null", "\"v1\"", "\"v1\"");
+        verify(transactionManager, times(1)).commit(any());
+        verify(regionalRepository, times(1)).forEachSyncRow(any());
+        assertThat(regionalSyncService.getApplied()).isEqualTo(1);
+        assertThat(regionalSyncService.getNotModified()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should skip by content hash when the upstream sends no validators")
+    void shouldSkipOnHashMatch() {
+        // Arrange
+        etag.set(null);
+
+        // Act
+        regionalSyncService.synchronize();
+        regionalSyncService.synchronize();
+
+        // Assert
+        verify(transactionManager, times(1)).commit(any());
+        assertThat(regionalSyncService.getApplied()).isEqualTo(1);
+        assertThat(regionalSyncService.getUnchanged()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should apply again when the upstream content changes")
+    void shouldApplyChangedContent() {
+        // Arrange
+        regionalSyncService.synchronize();
+        payload.set(PAYLOAD_V2);
+        etag.set("\"v2\"");
+
+        // Act
+        regionalSyncService.synchronize();
+
+        // Assert
+        verify(transactionManager, times(2)).commit(any());
+        verify(regionalRepository, times(2)).insertActive(any());
+        assertThat(storedState.get().getEtag()).isEqualTo("\"v2\"");
+        assertThat(regionalSyncService.getApplied()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,141 @@
+package br.gov.seplag.artistalbum.application.service;
+
+import br.gov.seplag.artistalbum.application.io.RegionalSyncJobResponse;
+import br.gov.seplag.artistalbum.application.io.RegionalSyncResult;
+import br.gov.seplag.artistalbum.domain.exception.ResourceNotFoundException;
+import br.gov.seplag.artistalbum.domain.exception.SynchronizationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RegionalSyncJobService Tests")
+class RegionalSyncJobServiceTest {
+
+    @Mock
+    private RegionalSyncService regionalSyncService;
+
+    private RegionalSyncJobService regionalSyncJobService;
+
+    @BeforeEach
+    void setUp() {
+        regionalSyncJobService = new RegionalSyncJobService(regionalSyncService);
+        ReflectionTestUtils.setField(regionalSyncJobService, "historySize", 2);
+        regionalSyncJobService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        regionalSyncJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run the synchronization in the background and report its result")
+    void shouldRunJobInBackground() throws Exception {
+        // Arrange
+        RegionalSyncResult result = RegionalSyncResult.builder()
+                .outcome(RegionalSyncResult.Outcome.APPLIED).inserted(3).build();
+        when(regionalSyncService.synchronize()).thenReturn(result);
+
+        // Act
+        RegionalSyncJobResponse submitted = regionalSyncJobService.submit();
+        RegionalSyncJobResponse finished = awaitFinished(submitted.getId());
+
+        // Assert
+        assertThat(submitted.getStatus()).isIn("PENDING", "RUNNING");
+        assertThat(finished.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(finished.getResult()).isEqualTo(result);
+        assertThat(finished.getStartedAt()).isNotNull();
+        assertThat(finished.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should record the failure reason")
+    void shouldRecordFailure() throws Exception {
+        // Arrange
+        when(regionalSyncService.synchronize())
+                .thenThrow(new SynchronizationException("regionais", "Connection refused", null));
+
+        // Act
+        RegionalSyncJobResponse finished = awaitFinished(regionalSyncJobService.submit().getId());
+
+        // Assert
+        assertThat(finished.getStatus()).isEqualTo("FAILED");
+        assertThat(finished.getError()).contains("Connection refused");
+        assertThat(finished.getResult()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return the running job instead of starting another one")
+    void shouldReturnRunningJob() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(regionalSyncService.synchronize()).thenAnswer(call -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return RegionalSyncResult.of(RegionalSyncResult.Outcome.NOT_MODIFIED);
+        });
+
+        // Act
+        RegionalSyncJobResponse first = regionalSyncJobService.submit();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        RegionalSyncJobResponse second = regionalSyncJobService.submit();
+        release.countDown();
+        awaitFinished(first.getId());
+
+        // Assert
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getStatus()).isEqualTo("RUNNING");
+        verify(regionalSyncService, times(1)).synchronize();
+    }
+
+    @Test
+    @DisplayName("Should forget the oldest finished jobs beyond the history size")
+    void shouldEvictOldJobs() throws Exception {
+        // Arrange
+        when(regionalSyncService.synchronize()).thenReturn(RegionalSyncResult.of(RegionalSyncResult.Outcome.UNCHANGED));
+        String oldest = awaitFinished(regionalSyncJobService.submit().getId()).getId();
+        awaitFinished(regionalSyncJobService.submit().getId());
+
+        // Act
+        awaitFinished(regionalSyncJobService.submit().getId());
+
+        // Assert
+        assertThatThrownBy(() -> regionalSyncJobService.getJob(oldest))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for unknown job")
+    void shouldThrowForUnknownJob() {
+        // Act & Assert
+        assertThatThrownBy(() -> regionalSyncJobService.getJob("missing"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("missing");
+    }
+
+    private RegionalSyncJobResponse awaitFinished(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            RegionalSyncJobResponse job = regionalSyncJobService.getJob(id);
+            if ("SUCCEEDED".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job " + id + " did not finish in time");
+    }
+}
@@ -1,28 +1,44 @@
 package br.gov.seplag.artistalbum.application.service;
 
 import br.gov.seplag.artistalbum.application.io.RegionalDTO;
+import br.gov.seplag.artistalbum.application.io.RegionalSyncResult;
 import br.gov.seplag.artistalbum.domain.entity.Regional;
+import br.gov.seplag.artistalbum.domain.entity.SyncState;
+import br.gov.seplag.artistalbum.domain.exception.ServiceUnavailableException;
 import br.gov.seplag.artistalbum.domain.exception.SynchronizationException;
+import br.gov.seplag.artistalbum.domain.repository.RegionalBatchRepository;
 import br.gov.seplag.artistalbum.domain.repository.RegionalRepository;
+import br.gov.seplag.artistalbum.domain.repository.SyncStateRepository;
+import br.gov.seplag.artistalbum.infrastructure.external.RegionaisApiClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,18 +49,38 @@ class RegionalSyncServiceTest {
     private RegionalRepository regionalRepository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private SyncStateRepository syncStateRepository;
+
+    @Mock
+    private RegionaisApiClient regionaisApiClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RegionalSnapshotCache regionalSnapshotCache;
 
     @InjectMocks
     private RegionalSyncService regionalSyncService;
 
-    private final String externalApiUrl = "http://example.com/api/regionais";
+    @Captor
+    private ArgumentCaptor<Map<Integer, String>> insertCaptor;
+
+    @Captor
+    private ArgumentCaptor<Collection<Integer>> inactivateCaptor;
+
+    @Captor
+    private ArgumentCaptor<Collection<Long>> activateCaptor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     void setUp() {
-        // Set the external API URL using reflection
-        ReflectionTestUtils.setField(regionalSyncService, "externalApiUrl", externalApiUrl);
-        ReflectionTestUtils.setField(regionalSyncService, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(regionalSyncService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(regionalSyncService, "transactionTemplate",
+                new TransactionTemplate(transactionManager));
+        lenient().when(syncStateRepository.findById(RegionalSyncService.SOURCE)).thenReturn(Optional.empty());
+        lenient().when(regionalRepository.insertActive(any())).thenAnswer(call -> call.<Map<?, ?>>getArgument(0).size());
     }
 
     @Test
@@ -56,25 +92,21 @@ class RegionalSyncServiceTest {
                 createRegionalDTO(2, "Regional Sul")
         };
 
-        when(restTemplate.getForObject(eq(externalApiUrl), eq(RegionalDTO[].class)))
-                .thenReturn(externalRegionais);
-        when(regionalRepository.findAll()).thenReturn(new ArrayList<>());
+        stubExternal(externalRegionais);
+        stubLocal(new ArrayList<>());
 
         // Act
-        regionalSyncService.synchronize();
+        RegionalSyncResult result = regionalSyncService.synchronize();
 
         // Assert
-        verify(regionalRepository, times(2)).save(any(Regional.class));
-        verify(regionalRepository).save(argThat(regional ->
-                regional.getExternalId().equals(1) &&
-                        regional.getNome().equals("Regional Norte") &&
-                        regional.getAtivo()
-        ));
-        verify(regionalRepository).save(argThat(regional ->
-                regional.getExternalId().equals(2) &&
-                        regional.getNome().equals("Regional Sul") &&
-                        regional.getAtivo()
-        ));
+        verify(regionalRepository).insertActive(insertCaptor.capture());
+        assertThat(insertCaptor.getValue()).containsExactly(
+                entry(1, "Regional Norte"),
+                entry(2, "Regional Sul")
+        );
+        assertThat(result.getOutcome()).isEqualTo(RegionalSyncResult.Outcome.APPLIED);
+        assertThat(result.getInserted()).isEqualTo(2);
+        verify(regionalRepository, never()).save(any(Regional.class));
     }
 
     @Test
@@ -88,16 +120,17 @@ class RegionalSyncServiceTest {
         Regional localRegional1 = createLocalRegional(1L, 1, "Regional Norte", true);
         Regional localRegional2 = createLocalRegional(2L, 2, "Regional Sul", true);
 
-        when(restTemplate.getForObject(eq(externalApiUrl), eq(RegionalDTO[].class)))
-                .thenReturn(externalRegionais);
-        when(regionalRepository.findAll()).thenReturn(Arrays.asList(localRegional1, localRegional2));
+        stubExternal(externalRegionais);
+        stubLocal(Arrays.asList(localRegional1, localRegional2));
 
         // Act
         regionalSyncService.synchronize();
 
         // Assert
-        assertThat(localRegional2.getAtivo()).isFalse();
-        verify(regionalRepository).save(localRegional2);
+        verify(regionalRepository).inactivateByExternalIds(inactivateCaptor.capture());
+        assertThat(inactivateCaptor.getValue()).containsExactly(2);
+        verify(regionalRepository).insertActive(insertCaptor.capture());
+        assertThat(insertCaptor.getValue()).isEmpty();
     }
 
     @Test
@@ -110,22 +143,44 @@ class RegionalSyncServiceTest {
 
         Regional localRegional = createLocalRegional(1L, 1, "Regional Norte", true);
 
-        when(restTemplate.getForObject(eq(externalApiUrl), eq(RegionalDTO[].class)))
-                .thenReturn(externalRegionais);
-        when(regionalRepository.findAll()).thenReturn(Arrays.asList(localRegional));
+        stubExternal(externalRegionais);
+        stubLocal(Arrays.asList(localRegional));
 
         // Act
         regionalSyncService.synchronize();
 
         // Assert
-        assertThat(localRegional.getAtivo()).isFalse();
-        verify(regionalRepository, times(2)).save(any(Regional.class));
-        verify(regionalRepository).save(localRegional); // inactivate old
-        verify(regionalRepository).save(argThat(regional ->
-                regional.getExternalId().equals(1) &&
-                        regional.getNome().equals("Regional Norte Atualizado") &&
-                        regional.getAtivo()
-        )); // create new
+        InOrder inOrder = inOrder(regionalRepository);
+        inOrder.verify(regionalRepository).inactivateByExternalIds(inactivateCaptor.capture()); // inactivate old
+        inOrder.verify(regionalRepository).insertActive(insertCaptor.capture()); // create new
+        assertThat(inactivateCaptor.getValue()).containsExactly(1);
+        assertThat(insertCaptor.getValue()).containsExactly(entry(1, "Regional Norte Atualizado"));
+    }
+
+    @Test
+    @DisplayName("Should compare against the active row when older names are kept inactive")
+    void shouldUseActiveRowFromHistory() {
+        // Arrange
+        RegionalDTO[] externalRegionais = {
+                createRegionalDTO(1, "Regional Norte Atualizado")
+        };
+
+        Regional oldName = createLocalRegional(1L, 1, "Regional Norte", false);
+        Regional currentName = createLocalRegional(5L, 1, "Regional Norte Atualizado", true);
+
+        stubExternal(externalRegionais);
+        stubLocal(Arrays.asList(currentName, oldName));
+
+        // Act
+        regionalSyncService.synchronize();
+
+        // Assert - nothing changed
+        verify(regionalRepository).insertActive(insertCaptor.capture());
+        verify(regionalRepository).inactivateByExternalIds(inactivateCaptor.capture());
+        verify(regionalRepository).activateByIds(activateCaptor.capture());
+        assertThat(insertCaptor.getValue()).isEmpty();
+        assertThat(inactivateCaptor.getValue()).isEmpty();
+        assertThat(activateCaptor.getValue()).isEmpty();
     }
 
     @Test
@@ -138,53 +193,55 @@ class RegionalSyncServiceTest {
 
         Regional localRegional = createLocalRegional(1L, 1, "Regional Norte", false);
 
-        when(restTemplate.getForObject(eq(externalApiUrl), eq(RegionalDTO[].class)))
-                .thenReturn(externalRegionais);
-        when(regionalRepository.findAll()).thenReturn(Arrays.asList(localRegional));
+        stubExternal(externalRegionais);
+        stubLocal(Arrays.asList(localRegional));
 
         // Act
         regionalSyncService.synchronize();
 
         // Assert
-        assertThat(localRegional.getAtivo()).isTrue();
-        verify(regionalRepository).save(localRegional);
+        verify(regionalRepository).activateByIds(activateCaptor.capture());
+        assertThat(activateCaptor.getValue()).containsExactly(1L);
+        verify(regionalRepository).insertActive(insertCaptor.capture());
+        assertThat(insertCaptor.getValue()).isEmpty();
     }
 
     @Test
     @DisplayName("Should handle empty response from external API")
     void shouldHandleEmptyResponseFromExternalAPI() {
         // Arrange
-        when(restTemplate.getForObject(eq(externalApiUrl), eq(RegionalDTO[].class)))
-                .thenReturn(new RegionalDTO[0]);
+        stubExternal(new RegionalDTO[0]);
 
         // Act
-        regionalSyncService.synchronize();
+        RegionalSyncResult result = regionalSyncService.synchronize();
 
         // Assert
-        verify(regionalRepository, never()).save(any(Regional.class));
-        verify(regionalRepository, never()).findAll();
+        assertThat(result.getOutcome()).isEqualTo(RegionalSyncResult.Outcome.EMPTY);
+        verify(regionalRepository, never()).insertActive(any());
+        verify(regionalRepository, never()).inactivateByExternalIds(any());
+        verifyNoInteractions(transactionManager);
     }
 
     @Test
     @DisplayName("Should handle null response from external API")
     void shouldHandleNullResponseFromExternalAPI() {
         // Arrange
-        when(restTemplate.getForObject(eq(externalApiUrl), eq(RegionalDTO[].class)))
-                .thenReturn(null);
+        stubExternal(null);
 
         // Act
-        regionalSyncService.synchronize();
+        RegionalSyncResult result = regionalSyncService.synchronize();
 
         // Assert
-        verify(regionalRepository, never()).save(any(Regional.class));
-        verify(regionalRepository, never()).findAll();
+        assertThat(result.getOutcome()).isEqualTo(RegionalSyncResult.Outcome.EMPTY);
+        verify(regionalRepository, never()).insertActive(any());
+        verify(regionalRepository, never()).inactivateByExternalIds(any());
     }
 
     @Test
     @DisplayName("Should throw SynchronizationException when external API fails")
     void shouldThrowSynchronizationExceptionWhenExternalAPIFails() {
         // Arrange
-        when(restTemplate.getForObject(anyString(), eq(RegionalDTO[].class)))
+        when(regionaisApiClient.fetch(any(HttpHeaders.class), any()))
                 .thenThrow(new RestClientException("Connection failed"));
 
         // Act & Assert
@@ -193,6 +250,56 @@ class RegionalSyncServiceTest {
                 .hasMessageContaining("regionais");
     }
 
+    @Test
+    @DisplayName("Should fail without writing when the payload is malformed")
+    void shouldFailOnMalformedPayload() {
+        // Arrange
+        stubResponse(HttpStatus.OK, new HttpHeaders(), "[{\"id\":1,\"nome\":".getBytes());
+        stubLocal(List.of(createLocalRegional(1L, 1, "Regional Norte", true)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> regionalSyncService.synchronize())
+                .isInstanceOf(SynchronizationException.class)
+                .hasMessageContaining("Malformed regionais payload");
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should keep the first of repeated payload entries and skip entries without ID")
+    void shouldIgnoreRepeatedAndIncompleteEntries() {
+        // Arrange
+        stubExternal(new RegionalDTO[]{
+                createRegionalDTO(1, "Regional Norte"),
+                createRegionalDTO(1, "Regional Norte Duplicada"),
+                createRegionalDTO(2, "Regional Sul"),
+                createRegionalDTO(2, "Regional Sul Duplicada"),
+                createRegionalDTO(null, "Sem ID")
+        });
+        stubLocal(List.of(createLocalRegional(1L, 1, "Regional Norte", true)));
+
+        // Act
+        RegionalSyncResult result = regionalSyncService.synchronize();
+
+        // Assert
+        verify(regionalRepository).insertActive(insertCaptor.capture());
+        assertThat(insertCaptor.getValue()).containsExactly(entry(2, "Regional Sul"));
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getInserted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should propagate circuit-open rejection without wrapping it")
+    void shouldPropagateCircuitOpenRejection() {
+        // Arrange
+        when(regionaisApiClient.fetch(any(HttpHeaders.class), any()))
+                .thenThrow(new ServiceUnavailableException("circuit open", 30));
+
+        // Act & Assert
+        assertThatThrownBy(() -> regionalSyncService.synchronize())
+                .isInstanceOf(ServiceUnavailableException.class);
+        verifyNoInteractions(transactionManager);
+    }
+
     @Test
     @DisplayName("Should get all active regionais")
     void shouldGetAllActiveRegionais() {
@@ -241,16 +348,15 @@ class RegionalSyncServiceTest {
                 createRegionalDTO(1, "Regional Norte")
         };
 
-        when(restTemplate.getForObject(eq(externalApiUrl), eq(RegionalDTO[].class)))
-                .thenReturn(externalRegionais);
-        when(regionalRepository.findAll()).thenReturn(new ArrayList<>());
+        stubExternal(externalRegionais);
+        stubLocal(new ArrayList<>());
 
         // Act
         regionalSyncService.scheduledSync();
 
         // Assert
-        verify(restTemplate).getForObject(eq(externalApiUrl), eq(RegionalDTO[].class));
-        verify(regionalRepository).save(any(Regional.class));
+        verify(regionaisApiClient).fetch(any(HttpHeaders.class), any());
+        verify(regionalRepository).insertActive(any());
     }
 
     @Test
@@ -269,16 +375,15 @@ class RegionalSyncServiceTest {
                 .ativo(true)
                 .build();
 
-        when(restTemplate.getForObject(eq(externalApiUrl), eq(RegionalDTO[].class)))
-                .thenReturn(externalRegionais);
-        when(regionalRepository.findAll()).thenReturn(Arrays.asList(localRegional1, localRegional2));
+        stubExternal(externalRegionais);
+        stubLocal(Arrays.asList(localRegional1, localRegional2));
 
         // Act
         regionalSyncService.synchronize();
 
-        // Assert
-        assertThat(localRegional2.getAtivo()).isTrue(); // Should remain active
-        verify(regionalRepository, never()).save(localRegional2);
+        // Assert - Should remain active
+        verify(regionalRepository).inactivateByExternalIds(inactivateCaptor.capture());
+        assertThat(inactivateCaptor.getValue()).isEmpty();
     }
 
     @Test
@@ -292,19 +397,182 @@ class RegionalSyncServiceTest {
         Regional localRegional1 = createLocalRegional(1L, 1, "Regional Norte", true);
         Regional localRegional2 = createLocalRegional(2L, 2, "Regional Sul", false); // Already inactive
 
-        when(restTemplate.getForObject(eq(externalApiUrl), eq(RegionalDTO[].class)))
-                .thenReturn(externalRegionais);
-        when(regionalRepository.findAll()).thenReturn(Arrays.asList(localRegional1, localRegional2));
+        stubExternal(externalRegionais);
+        stubLocal(Arrays.asList(localRegional1, localRegional2));
+
+        // Act
+        regionalSyncService.synchronize();
+
+        // Assert - Should not touch already inactive
+        verify(regionalRepository).inactivateByExternalIds(inactivateCaptor.capture());
+        assertThat(inactivateCaptor.getValue()).isEmpty();
+        verify(regionalRepository).insertActive(insertCaptor.capture());
+        assertThat(insertCaptor.getValue()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply a large synthetic diff with one statement per kind of change")
+    void shouldApplyLargeDiffWithSetBasedStatements() {
+        // Arrange - 20,000 local rows; the payload keeps 5,000, renames 5,000, drops 5,000,
+        // reactivates 5,000 and adds 5,000 new ones
+        List<Regional> localRegionais = new ArrayList<>();
+        List<RegionalDTO> external = new ArrayList<>();
+        for (int id = 1; id <= 20_000; id++) {
+            boolean active = id <= 15_000;
+            localRegionais.add(createLocalRegional((long) id, id, "Regional " + id, active));
+            if (id <= 5_000) {
+                external.add(createRegionalDTO(id, "Regional " + id));
+            } else if (id <= 10_000) {
+                external.add(createRegionalDTO(id, "Regional " + id + " Renomeada"));
+            } else if (id > 15_000) {
+                external.add(createRegionalDTO(id, "Regional " + id));
+            }
+        }
+        for (int id = 20_001; id <= 25_000; id++) {
+            external.add(createRegionalDTO(id, "Regional " + id));
+        }
+
+        stubExternal(external.toArray(new RegionalDTO[0]));
+        stubLocal(localRegionais);
+
+        // Act
+        regionalSyncService.synchronize();
+
+        // Assert
+        verify(regionalRepository, times(1)).insertActive(insertCaptor.capture());
+        verify(regionalRepository, times(1)).inactivateByExternalIds(inactivateCaptor.capture());
+        verify(regionalRepository, times(1)).activateByIds(activateCaptor.capture());
+        verify(regionalRepository, never()).save(any(Regional.class));
+        verify(regionalRepository, never()).saveAll(any());
+
+        Map<Integer, String> inserts = insertCaptor.getValue();
+        assertThat(inserts).hasSize(10_000);
+        assertThat(inserts).doesNotContainKey(1).containsEntry(5_001, "Regional 5001 Renomeada")
+                .containsEntry(25_000, "Regional 25000").doesNotContainKey(15_001);
+        assertThat(inactivateCaptor.getValue()).hasSize(10_000).contains(5_001, 10_001, 15_000).doesNotContain(1);
+        assertThat(activateCaptor.getValue()).hasSize(5_000).contains(15_001L, 20_000L);
+    }
+
+    @Test
+    @DisplayName("Should send stored validators and skip without a transaction on 304")
+    void shouldSkipWhenNotModified() {
+        // Arrange
+        SyncState state = SyncState.builder().source(RegionalSyncService.SOURCE)
+                .etag("\"v1\"").lastModified("Wed, 01 Jan 2025 00:00:00 GMT").contentHash("abc").build();
+        when(syncStateRepository.findById(RegionalSyncService.SOURCE)).thenReturn(Optional.of(state));
+        stubResponse(HttpStatus.NOT_MODIFIED, new HttpHeaders(), null);
+
+        // Act
+        regionalSyncService.synchronize();
+
+        // Assert
+        verify(regionaisApiClient).fetch(argThat((HttpHeaders headers) ->
+                headers.getIfNoneMatch().contains("\"v1\"") &&
+                        "Wed, 01 Jan 2025 00:00:00 GMT".equals(headers.getFirst("If-Modified-Since"))
+        ), any());
+        verifyNoInteractions(transactionManager);
+        verify(regionalRepository, never()).forEachSyncRow(any());
+        assertThat(regionalSyncService.getNotModified()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip without a transaction when the payload hash matches")
+    void shouldSkipWhenHashMatches() {
+        // Arrange
+        stubExternal(new RegionalDTO[]{createRegionalDTO(1, "Regional Norte")});
+        stubLocal(new ArrayList<>());
+        regionalSyncService.synchronize();
+        ArgumentCaptor<SyncState> stateCaptor = ArgumentCaptor.forClass(SyncState.class);
+        verify(syncStateRepository).save(stateCaptor.capture());
+        when(syncStateRepository.findById(RegionalSyncService.SOURCE)).thenReturn(Optional.of(stateCaptor.getValue()));
+        clearInvocations(regionalRepository, transactionManager, syncStateRepository, regionalSnapshotCache);
 
         // Act
         regionalSyncService.synchronize();
 
         // Assert
-        assertThat(localRegional2.getAtivo()).isFalse();
-        verify(regionalRepository, never()).save(localRegional2); // Should not save already inactive
+        verifyNoInteractions(transactionManager, regionalSnapshotCache);
+        verify(regionalRepository, never()).insertActive(any());
+        verify(regionalRepository, never()).inactivateByExternalIds(any());
+        verify(syncStateRepository, never()).save(any());
+        assertThat(regionalSyncService.getApplied()).isEqualTo(1);
+        assertThat(regionalSyncService.getUnchanged()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record validators and hash of the applied response")
+    void shouldRecordAppliedResponse() throws Exception {
+        // Arrange
+        byte[] body = objectMapper.writeValueAsBytes(new RegionalDTO[]{createRegionalDTO(1, "Regional Norte")});
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v2\"");
+        headers.set(HttpHeaders.LAST_MODIFIED, "Thu, 02 Jan 2025 00:00:00 GMT");
+        stubResponse(HttpStatus.OK, headers, body);
+        stubLocal(new ArrayList<>());
+
+        // Act
+        regionalSyncService.synchronize();
+
+        // Assert
+        ArgumentCaptor<SyncState> stateCaptor = ArgumentCaptor.forClass(SyncState.class);
+        verify(syncStateRepository).save(stateCaptor.capture());
+        SyncState saved = stateCaptor.getValue();
+        assertThat(saved.getEtag()).isEqualTo("\"v2\"");
+        assertThat(saved.getLastModified()).isEqualTo("Thu, 02 Jan 2025 00:00:00 GMT");
+        assertThat(saved.getContentHash()).hasSize(64);
+        assertThat(saved.getSyncedAt()).isNotNull();
+        InOrder inOrder = inOrder(transactionManager, regionalSnapshotCache);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(regionalSnapshotCache).refresh();
+    }
+
+    @Test
+    @DisplayName("Should not fail the synchronization when the snapshot cannot be refreshed")
+    void shouldTolerateSnapshotRefreshFailure() {
+        // Arrange
+        stubExternal(new RegionalDTO[]{createRegionalDTO(1, "Regional Norte")});
+        stubLocal(new ArrayList<>());
+        doThrow(new IllegalStateException("database down")).when(regionalSnapshotCache).refresh();
+
+        // Act
+        RegionalSyncResult result = regionalSyncService.synchronize();
+
+        // Assert
+        assertThat(result.getOutcome()).isEqualTo(RegionalSyncResult.Outcome.APPLIED);
+        verify(transactionManager).commit(any());
     }
 
     // Helper methods
+    private void stubExternal(RegionalDTO[] regionais) {
+        byte[] body;
+        try {
+            body = regionais != null ? objectMapper.writeValueAsBytes(regionais) : null;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        stubResponse(HttpStatus.OK, new HttpHeaders(), body);
+    }
+
+    private void stubResponse(HttpStatus status, HttpHeaders headers, byte[] body) {
+        when(regionaisApiClient.fetch(any(HttpHeaders.class), any())).thenAnswer(call -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(body != null ? body : new byte[0], status);
+            response.getHeaders().putAll(headers);
+            return call.<ResponseExtractor<?>>getArgument(1).extractData(response);
+        });
+    }
+
+    private void stubLocal(List<Regional> localRegionais) {
+        doAnswer(call -> {
+            RegionalBatchRepository.SyncRowHandler handler = call.getArgument(0);
+            for (Regional regional : localRegionais) {
+                if (regional.getExternalId() != null) {
+                    handler.accept(regional.getId(), regional.getExternalId(), regional.getNome(), regional.getAtivo());
+                }
+            }
+            return null;
+        }).when(regionalRepository).forEachSyncRow(any());
+    }
+
     private RegionalDTO createRegionalDTO(Integer id, String nome) {
         RegionalDTO dto = new RegionalDTO();
         dto.setId(id);
@@ -0,0 +1,102 @@
+package br.gov.seplag.artistalbum.benchmark;
+
+import br.gov.seplag.artistalbum.application.io.AlbumResponse;
+import br.gov.seplag.artistalbum.application.service.AlbumService;
+import br.gov.seplag.artistalbum.domain.entity.Album;
+import br.gov.seplag.artistalbum.domain.entity.AlbumCover;
+import br.gov.seplag.artistalbum.domain.entity.Artist;
+import br.gov.seplag.artistalbum.domain.repository.AlbumCoverRepository;
+import br.gov.seplag.artistalbum.domain.repository.AlbumRepository;
+import br.gov.seplag.artistalbum.domain.repository.ArtistRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Cost of mapping an album to AlbumResponse (AlbumService.toResponse)
+ *
+ * toResponse is private, so it is driven through getAlbumById with an
+ * in-memory repository stub; each cover adds one presigned URL.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=br.gov.seplag.artistalbum.benchmark.AlbumServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlbumServiceBenchmark {
+
+    @Param({"0", "3"})
+    public int covers;
+
+    private AlbumService albumService;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        Album album = Album.builder()
+                .id(1L)
+                .title("Harakiri")
+                .releaseYear(2012)
+                .genre("Rock")
+                .recordLabel("Sony")
+                .totalTracks(12)
+                .totalDurationSeconds(2880)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        album.getArtists().add(Artist.builder().id(1L).name("Serj Tankian").artistType("SOLO").country("US").build());
+        album.getArtists().add(Artist.builder().id(2L).name("Guns N' Roses").artistType("BAND").country("US").build());
+
+        List<AlbumCover> albumCovers = new ArrayList<>();
+        for (int i = 1; i <= covers; i++) {
+            albumCovers.add(AlbumCover.builder()
+                    .id((long) i)
+                    .fileName("cover" + i + ".jpg")
+                    .objectKey("covers/cover-" + i + ".jpg")
+                    .contentType("image/jpeg")
+                    .fileSize(204_800L)
+                    .album(album)
+                    .createdAt(now)
+                    .build());
+        }
+        album.setCovers(albumCovers);
+
+        AlbumRepository albumRepository = mock(AlbumRepository.class, withSettings().stubOnly());
+        when(albumRepository.findById(1L)).thenReturn(Optional.of(album));
+
+        albumService = new AlbumService(albumRepository,
+                mock(ArtistRepository.class, withSettings().stubOnly()),
+                mock(AlbumCoverRepository.class, withSettings().stubOnly()),
+                MinioStorageServiceBenchmark.storageService("http://localhost:9000"),
+                mock(ApplicationEventPublisher.class, withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public AlbumResponse toResponse() {
+        return albumService.getAlbumById(1L);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AlbumServiceBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-album-mapping.json")
+                .build();
+        new Runner(options).run();
+    }
+}
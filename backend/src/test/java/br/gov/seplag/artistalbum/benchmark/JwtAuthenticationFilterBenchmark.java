@@ -0,0 +1,99 @@
+package br.gov.seplag.artistalbum.benchmark;
+
+import br.gov.seplag.artistalbum.domain.entity.User;
+import br.gov.seplag.artistalbum.infrastructure.security.JwtAuthenticationFilter;
+import br.gov.seplag.artistalbum.infrastructure.security.JwtTokenProvider;
+import br.gov.seplag.artistalbum.infrastructure.security.PrincipalCache;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of JwtAuthenticationFilter per authenticated request
+ *
+ * The user lookup is an in-memory stub, so the numbers isolate token
+ * verification and principal resolution from the database.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=br.gov.seplag.artistalbum.benchmark.JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "your-super-secret-key-change-in-production-minimum-256-bits-required";
+
+    @Param({"true", "false"})
+    public boolean verifiedTokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .id(1L)
+                .username("admin")
+                .password("password")
+                .email("admin@example.com")
+                .enabled(true)
+                .build();
+
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheEnabled", verifiedTokenCache);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheMaxSize", 10_000);
+        jwtTokenProvider.init();
+        token = jwtTokenProvider.generateToken(user);
+
+        PrincipalCache principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "enabled", true);
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 10_000);
+
+        UserDetailsService userDetailsService = username -> user;
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, principalCache, Tracer.NOOP);
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/albums");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public Object verifyToken() {
+        return jwtTokenProvider.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-jwt-filter.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,78 @@
+package br.gov.seplag.artistalbum.benchmark;
+
+import br.gov.seplag.artistalbum.domain.entity.User;
+import br.gov.seplag.artistalbum.infrastructure.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and validating access tokens with JwtTokenProvider
+ *
+ * Validation runs with the verified token cache on and off; with the cache on
+ * only the first call pays for the signature check.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=br.gov.seplag.artistalbum.benchmark.JwtTokenProviderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "your-super-secret-key-change-in-production-minimum-256-bits-required";
+
+    @Param({"true", "false"})
+    public boolean verifiedTokenCache;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        user = User.builder()
+                .id(1L)
+                .username("admin")
+                .password("password")
+                .email("admin@example.com")
+                .enabled(true)
+                .build();
+
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheEnabled", verifiedTokenCache);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheMaxSize", 10_000);
+        jwtTokenProvider.init();
+        token = jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtTokenProvider.validateToken(token, user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-jwt-provider.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,73 @@
+package br.gov.seplag.artistalbum.benchmark;
+
+import br.gov.seplag.artistalbum.infrastructure.storage.MinioStorageService;
+import io.minio.MinioClient;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of MinioStorageService.getPresignedUrl per cover
+ *
+ * Presigning is computed locally; the client is built with a fixed region so
+ * no bucket location lookup reaches the network.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=br.gov.seplag.artistalbum.benchmark.MinioStorageServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinioStorageServiceBenchmark {
+
+    private static final String INTERNAL_URL = "http://minio:9000";
+
+    @Param({"true", "false"})
+    public boolean externalUrlRewrite;
+
+    private MinioStorageService minioStorageService;
+
+    @Setup
+    public void setUp() {
+        minioStorageService = storageService(externalUrlRewrite ? "http://localhost:9000" : INTERNAL_URL);
+    }
+
+    @Benchmark
+    public String presignedUrl() {
+        return minioStorageService.getPresignedUrl("covers/3f2b8c1e-6a57-4a3e-9f0d-2b9c7a1d4e55.jpg");
+    }
+
+    /**
+     * Storage service wired to a local-only MinIO client, shared with the album mapping benchmark
+     */
+    static MinioStorageService storageService(String externalUrl) {
+        MinioStorageService storageService = new MinioStorageService();
+        ReflectionTestUtils.setField(storageService, "minioUrl", INTERNAL_URL);
+        ReflectionTestUtils.setField(storageService, "minioExternalUrl", externalUrl);
+        ReflectionTestUtils.setField(storageService, "bucketName", "album-covers");
+        ReflectionTestUtils.setField(storageService, "presignedUrlExpiration", 1800);
+        ReflectionTestUtils.setField(storageService, "minioClient", MinioClient.builder()
+                .endpoint(INTERNAL_URL)
+                .region("us-east-1")
+                .credentials("minioadmin", "minioadmin")
+                .build());
+        return storageService;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MinioStorageServiceBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-minio-presign.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,87 @@
+package br.gov.seplag.artistalbum.benchmark;
+
+import br.gov.seplag.artistalbum.infrastructure.ratelimit.RateLimitProperties;
+import br.gov.seplag.artistalbum.infrastructure.ratelimit.RateLimitService;
+import br.gov.seplag.artistalbum.infrastructure.ratelimit.TokenLeaseSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cost of RateLimitService.tryConsume under contention
+ *
+ * Eight threads consume either from one shared bucket (every request from
+ * the same user) or from one bucket each. The benchmark tier refills every
+ * millisecond, so requests are mostly admitted and the numbers measure the
+ * bucket update itself rather than the rejection path.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=br.gov.seplag.artistalbum.benchmark.RateLimitServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimitServiceBenchmark {
+
+    private static final String TIER = "benchmark";
+
+    @Param({"shared", "per-thread"})
+    public String keys;
+
+    private RateLimitService rateLimitService;
+
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Tier tier = new RateLimitProperties.Tier();
+        tier.setCapacity(Short.MAX_VALUE);
+        tier.setPeriod(Duration.ofMillis(1));
+        properties.getTiers().put(TIER, tier);
+
+        rateLimitService = new RateLimitService(mock(TokenLeaseSource.class), properties);
+        ReflectionTestUtils.setField(rateLimitService, "requestsPerMinute", 10);
+        ReflectionTestUtils.setField(rateLimitService, "mode", "local");
+        ReflectionTestUtils.setField(rateLimitService, "maxEntries", 100_000);
+        rateLimitService.init();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+
+        private String key;
+
+        @Setup
+        public void setUp(RateLimitServiceBenchmark benchmark) {
+            key = "shared".equals(benchmark.keys) ? "user-0" : "user-" + benchmark.threadIds.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    public boolean tryConsume(ThreadKey threadKey) {
+        return rateLimitService.tryConsumeAndReturnRemaining(TIER, threadKey.key, 1).consumed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RateLimitServiceBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-rate-limit.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,133 @@
+package br.gov.seplag.artistalbum.benchmark;
+
+import br.gov.seplag.artistalbum.application.io.RegionalSyncResult;
+import br.gov.seplag.artistalbum.application.service.RegionalSnapshotCache;
+import br.gov.seplag.artistalbum.application.service.RegionalSyncService;
+import br.gov.seplag.artistalbum.domain.repository.RegionalBatchRepository;
+import br.gov.seplag.artistalbum.domain.repository.RegionalRepository;
+import br.gov.seplag.artistalbum.domain.repository.SyncStateRepository;
+import br.gov.seplag.artistalbum.infrastructure.external.RegionaisApiClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cost of a full regional synchronization against a large payload
+ *
+ * The payload is served by a local HTTP server and the repositories are
+ * in-memory stubs, so the numbers cover download, streaming parse, hashing
+ * and diffing; one regional in a hundred is renamed so the diff is not empty.
+ * Run with -prof gc to see allocation per sync.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=br.gov.seplag.artistalbum.benchmark.RegionalSyncBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class RegionalSyncBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private HttpServer server;
+    private RegionalSyncService regionalSyncService;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] payload = payload(size);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/regionais", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        });
+        server.start();
+
+        RegionalRepository regionalRepository = mock(RegionalRepository.class, withSettings().stubOnly());
+        doAnswer(call -> {
+            RegionalBatchRepository.SyncRowHandler handler = call.getArgument(0);
+            for (int i = 1; i <= size; i++) {
+                handler.accept(i, i, i % 100 == 0 ? "Regional antiga " + i : "Regional " + i, true);
+            }
+            return null;
+        }).when(regionalRepository).forEachSyncRow(any());
+
+        SyncStateRepository syncStateRepository = mock(SyncStateRepository.class, withSettings().stubOnly());
+        when(syncStateRepository.findById(any())).thenReturn(Optional.empty());
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+
+        RegionaisApiClient regionaisApiClient = new RegionaisApiClient(ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(regionaisApiClient, "url",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/regionais");
+        ReflectionTestUtils.setField(regionaisApiClient, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(regionaisApiClient, "readTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(regionaisApiClient, "maxAttempts", 1);
+        ReflectionTestUtils.setField(regionaisApiClient, "failureThreshold", 3);
+        ReflectionTestUtils.setField(regionaisApiClient, "openMs", 60000L);
+        regionaisApiClient.init();
+
+        regionalSyncService = new RegionalSyncService(regionalRepository, syncStateRepository, new ObjectMapper(),
+                new TransactionTemplate(transactionManager), regionaisApiClient,
+                mock(RegionalSnapshotCache.class, withSettings().stubOnly()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public RegionalSyncResult synchronize() {
+        return regionalSyncService.synchronize();
+    }
+
+    private static byte[] payload(int size) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 32);
+        StringBuilder entry = new StringBuilder(64);
+        out.write('[');
+        for (int i = 1; i <= size; i++) {
+            entry.setLength(0);
+            if (i > 1) {
+                entry.append(',');
+            }
+            entry.append("{\"id\":").append(i).append(",\"nome\":\"Regional ").append(i).append("\"}");
+            out.writeBytes(entry.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RegionalSyncBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-regional-sync.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,300 @@
+package br.gov.seplag.artistalbum.catalog;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic catalog: artists, albums, artist_album links and album_covers
+ *
+ * Rows are streamed as CSV in COPY format, one table at a time in foreign key
+ * order, with explicit ids starting at 1. Each table draws from its own
+ * random stream split from the seed, so the same seed and sizes always give
+ * byte-identical output, and changing the album count leaves the artists
+ * unchanged.
+ *
+ * Album authorship follows a Zipf distribution over a shuffled artist
+ * ranking: a few artists have thousands of albums, most have a handful and
+ * many have none, like a real catalog. Some albums are collaborations with
+ * extra artists drawn from the same distribution. Record labels are Zipf too.
+ * Covers per album are 0-3, mostly 1.
+ */
+public final class CatalogGenerator {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2015, 1, 1, 0, 0);
+    private static final long CATALOG_SPAN_SECONDS = 10L * 365 * 24 * 3600;
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ra", "te", "vu", "son", "bel", "dar", "no", "zi", "ta", "mar", "lu", "pe", "gra",
+            "fe", "xo", "ri", "can", "do", "sa", "vi", "len", "ju", "ba", "tor", "qui", "ne", "ma"};
+    private static final String[] WORDS = {
+            "Noite", "Sol", "Estrada", "Coração", "Cidade", "Mar", "Sertão", "Luz", "Saudade", "Fogo", "Rio",
+            "Horizonte", "Silêncio", "Tempo", "Vento", "Lua", "Caminho", "Sonho", "Chuva", "Aurora", "Echoes",
+            "Midnight", "Broken", "Golden", "Electric", "Wild", "Shadows", "Paradise", "Hollow", "Neon"};
+    private static final String[] ARTIST_TYPES = {"Cantor", "Banda", "Dupla", "DJ", "Compositor"};
+    private static final double[] ARTIST_TYPE_WEIGHTS = {0.45, 0.30, 0.10, 0.10, 0.05};
+    private static final String[] COUNTRIES = {"Brasil", "Estados Unidos", "Reino Unido", "Argentina", "Portugal",
+            "Alemanha", "França", "Japão", "Coreia do Sul", "México"};
+    private static final double[] COUNTRY_WEIGHTS = {0.40, 0.25, 0.10, 0.05, 0.05, 0.04, 0.04, 0.03, 0.02, 0.02};
+    private static final String[] GENRES = {"Rock", "Pop", "Sertanejo", "MPB", "Samba", "Funk", "Eletrônica",
+            "Hip Hop", "Jazz", "Metal", "Forró", "Gospel", "Clássica", "Reggae", "Blues"};
+    private static final double[] GENRE_WEIGHTS = {0.16, 0.16, 0.12, 0.09, 0.07, 0.07, 0.06, 0.06, 0.04, 0.04,
+            0.04, 0.04, 0.02, 0.02, 0.01};
+    private static final double[] COVER_COUNT_WEIGHTS = {0.25, 0.55, 0.15, 0.05};
+    private static final int LABELS = 500;
+
+    /**
+     * @param seed              random seed; same seed and sizes give the same catalog
+     * @param artists           artist rows
+     * @param albums            album rows
+     * @param zipfExponent      skew of albums per artist (1.0-1.2 is typical of real catalogs)
+     * @param collaborationRate fraction of albums with extra artists
+     */
+    public record Options(long seed, int artists, int albums, double zipfExponent, double collaborationRate) {
+
+        public static Options of(long seed, int artists, int albums) {
+            return new Options(seed, artists, albums, 1.1, 0.15);
+        }
+    }
+
+    /**
+     * Receives one COPY stream per table; the generator closes each stream when the table is done
+     */
+    public interface CopySink {
+
+        OutputStream open(String table, String columns) throws IOException;
+    }
+
+    /**
+     * Rows written per table
+     */
+    public record Counts(long artists, long albums, long artistAlbums, long covers) {
+    }
+
+    private final Options options;
+
+    public CatalogGenerator(Options options) {
+        this.options = options;
+    }
+
+    public Counts generate(CopySink sink) throws IOException {
+        SplittableRandom root = new SplittableRandom(options.seed());
+        SplittableRandom artistRandom = root.split();
+        SplittableRandom albumRandom = root.split();
+        SplittableRandom linkRandom = root.split();
+        SplittableRandom coverRandom = root.split();
+
+        long artists = writeArtists(sink, artistRandom);
+        long albums = writeAlbums(sink, albumRandom);
+        long links = writeArtistAlbums(sink, linkRandom);
+        long covers = writeCovers(sink, coverRandom);
+        return new Counts(artists, albums, links, covers);
+    }
+
+    private long writeArtists(CopySink sink, SplittableRandom random) throws IOException {
+        try (CsvWriter out = new CsvWriter(sink.open("artists",
+                "id, name, artist_type, country, biography, created_at, updated_at"))) {
+            for (int id = 1; id <= options.artists(); id++) {
+                String name = capitalize(syllables(random, 2 + random.nextInt(3)))
+                        + (random.nextInt(3) == 0 ? " " + capitalize(syllables(random, 2 + random.nextInt(2))) : "");
+                LocalDateTime createdAt = timestamp(random);
+                out.row(id, name, pick(random, ARTIST_TYPES, ARTIST_TYPE_WEIGHTS),
+                        pick(random, COUNTRIES, COUNTRY_WEIGHTS),
+                        random.nextInt(5) == 0 ? name + " " + sentence(random, 20 + random.nextInt(60)) : null,
+                        createdAt, createdAt);
+            }
+        }
+        return options.artists();
+    }
+
+    private long writeAlbums(CopySink sink, SplittableRandom random) throws IOException {
+        ZipfSampler labels = new ZipfSampler(LABELS, 1.0);
+        try (CsvWriter out = new CsvWriter(sink.open("albums",
+                "id, title, release_year, genre, record_label, total_tracks, total_duration_seconds, "
+                        + "created_at, updated_at"))) {
+            for (int id = 1; id <= options.albums(); id++) {
+                int tracks = 6 + random.nextInt(15);
+                LocalDateTime createdAt = timestamp(random);
+                out.row(id, sentence(random, 1 + random.nextInt(4)),
+                        2025 - (int) Math.min(75, -Math.log(1 - random.nextDouble()) * 12),
+                        pick(random, GENRES, GENRE_WEIGHTS),
+                        "Label " + labels.sample(random),
+                        tracks, tracks * (150 + random.nextInt(150)),
+                        createdAt, createdAt);
+            }
+        }
+        return options.albums();
+    }
+
+    private long writeArtistAlbums(CopySink sink, SplittableRandom random) throws IOException {
+        int[] ranking = shuffledIds(options.artists(), random);
+        ZipfSampler popularity = new ZipfSampler(options.artists(), options.zipfExponent());
+        long id = 0;
+        try (CsvWriter out = new CsvWriter(sink.open("artist_album", "id, artist_id, album_id, created_at"))) {
+            int[] albumArtists = new int[4];
+            for (int albumId = 1; albumId <= options.albums(); albumId++) {
+                int count = random.nextDouble() < options.collaborationRate() ? 2 + random.nextInt(3) : 1;
+                int distinct = 0;
+                for (int i = 0; i < count; i++) {
+                    int artistId = ranking[popularity.sample(random) - 1];
+                    if (!contains(albumArtists, distinct, artistId)) {
+                        albumArtists[distinct++] = artistId;
+                    }
+                }
+                LocalDateTime createdAt = timestamp(random);
+                for (int i = 0; i < distinct; i++) {
+                    out.row(++id, albumArtists[i], albumId, createdAt);
+                }
+            }
+        }
+        return id;
+    }
+
+    private long writeCovers(CopySink sink, SplittableRandom random) throws IOException {
+        long id = 0;
+        try (CsvWriter out = new CsvWriter(sink.open("album_covers",
+                "id, file_name, object_key, content_type, file_size, album_id, created_at"))) {
+            for (int albumId = 1; albumId <= options.albums(); albumId++) {
+                int covers = pickIndex(random, COVER_COUNT_WEIGHTS);
+                for (int i = 0; i < covers; i++) {
+                    boolean png = random.nextInt(5) == 0;
+                    String extension = png ? ".png" : ".jpg";
+                    out.row(++id, "cover-" + (i + 1) + extension,
+                            "covers/" + new UUID(random.nextLong(), random.nextLong()) + extension,
+                            png ? "image/png" : "image/jpeg",
+                            50_000 + random.nextInt(4_950_000),
+                            albumId, timestamp(random));
+                }
+            }
+        }
+        return id;
+    }
+
+    private static int[] shuffledIds(int size, SplittableRandom random) {
+        int[] ids = new int[size];
+        Arrays.setAll(ids, i -> i + 1);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDateTime timestamp(SplittableRandom random) {
+        return EPOCH.plusSeconds(random.nextLong(CATALOG_SPAN_SECONDS));
+    }
+
+    private static String syllables(SplittableRandom random, int count) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static String pick(SplittableRandom random, String[] values, double[] weights) {
+        return values[pickIndex(random, weights)];
+    }
+
+    private static int pickIndex(SplittableRandom random, double[] weights) {
+        double target = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < weights.length - 1; i++) {
+            cumulative += weights[i];
+            if (target < cumulative) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Ranks 1..n with P(k) proportional to 1 / k^exponent, by binary search over the cumulative weights
+     */
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int size, double exponent) {
+            cumulative = new double[size];
+            double total = 0;
+            for (int k = 1; k <= size; k++) {
+                total += 1.0 / Math.pow(k, exponent);
+                cumulative[k - 1] = total;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, target);
+            return (index >= 0 ? index : -index - 1) + 1;
+        }
+    }
+
+    /**
+     * CSV rows in the format COPY ... (FORMAT csv) reads: null is an empty unquoted field
+     */
+    private static final class CsvWriter implements AutoCloseable {
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream stream) {
+            writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = values[i];
+                if (value instanceof String text) {
+                    writer.write('"');
+                    writer.write(text.replace("\"", "\"\""));
+                    writer.write('"');
+                } else if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package br.gov.seplag.artistalbum.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Catalog Generator Tests")
+class CatalogGeneratorTest {
+
+    private static final int ARTISTS = 2_000;
+    private static final int ALBUMS = 10_000;
+
+    @Test
+    @DisplayName("Should produce byte-identical tables for the same seed")
+    void shouldBeDeterministicBySeed() throws Exception {
+        // Act
+        Map<String, String> first = generate(CatalogGenerator.Options.of(7, ARTISTS, ALBUMS));
+        Map<String, String> second = generate(CatalogGenerator.Options.of(7, ARTISTS, ALBUMS));
+        Map<String, String> other = generate(CatalogGenerator.Options.of(8, ARTISTS, ALBUMS));
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(other.get("artists")).isNotEqualTo(first.get("artists"));
+    }
+
+    @Test
+    @DisplayName("Should keep the artists unchanged when only the album count changes")
+    void shouldDrawTablesFromIndependentStreams() throws Exception {
+        // Act
+        Map<String, String> small = generate(CatalogGenerator.Options.of(7, ARTISTS, 100));
+        Map<String, String> large = generate(CatalogGenerator.Options.of(7, ARTISTS, ALBUMS));
+
+        // Assert
+        assertThat(large.get("artists")).isEqualTo(small.get("artists"));
+    }
+
+    @Test
+    @DisplayName("Should write every row with the declared columns and valid references")
+    void shouldWriteConsistentRows() throws Exception {
+        // Act
+        Map<String, String> tables = generate(CatalogGenerator.Options.of(7, ARTISTS, ALBUMS));
+
+        // Assert
+        assertThat(lines(tables.get("artists"))).hasSize(ARTISTS);
+        assertThat(lines(tables.get("albums"))).hasSize(ALBUMS);
+        for (String line : lines(tables.get("artist_album"))) {
+            String[] fields = line.split(",");
+            assertThat(Integer.parseInt(fields[1])).isBetween(1, ARTISTS);
+            assertThat(Integer.parseInt(fields[2])).isBetween(1, ALBUMS);
+        }
+        for (String line : lines(tables.get("album_covers"))) {
+            assertThat(Integer.parseInt(line.split(",")[5])).isBetween(1, ALBUMS);
+        }
+    }
+
+    @Test
+    @DisplayName("Should concentrate albums on few artists (power law)")
+    void shouldFollowPowerLaw() throws Exception {
+        // Arrange
+        Map<String, String> tables = generate(CatalogGenerator.Options.of(7, ARTISTS, ALBUMS));
+        Map<Integer, Integer> albumsPerArtist = new HashMap<>();
+        List<String> links = lines(tables.get("artist_album"));
+        for (String line : links) {
+            albumsPerArtist.merge(Integer.parseInt(line.split(",")[1]), 1, Integer::sum);
+        }
+
+        // Act
+        int[] counts = albumsPerArtist.values().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int topOnePercent = Arrays.stream(counts, counts.length - ARTISTS / 100, counts.length).sum();
+
+        // Assert - the top 1% of artists hold a large share, while many artists have no album at all
+        assertThat(topOnePercent).isGreaterThan(links.size() / 4);
+        assertThat(albumsPerArtist).hasSizeLessThan(ARTISTS);
+        assertThat(links.size()).isGreaterThan(ALBUMS);
+    }
+
+    private static Map<String, String> generate(CatalogGenerator.Options options) throws Exception {
+        Map<String, ByteArrayOutputStream> streams = new LinkedHashMap<>();
+        new CatalogGenerator(options).generate((table, columns) -> {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            streams.put(table, stream);
+            return stream;
+        });
+        Map<String, String> tables = new LinkedHashMap<>();
+        streams.forEach((table, stream) -> tables.put(table, stream.toString(StandardCharsets.UTF_8)));
+        return tables;
+    }
+
+    private static List<String> lines(String table) {
+        return table.lines().toList();
+    }
+}
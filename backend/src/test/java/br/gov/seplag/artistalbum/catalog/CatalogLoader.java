@@ -0,0 +1,115 @@
+package br.gov.seplag.artistalbum.catalog;
+
+import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads a {@link CatalogGenerator} catalog into PostgreSQL with COPY
+ *
+ * Migrates the schema, then in one transaction truncates the catalog tables
+ * (artists, albums, artist_album, album_covers), streams the generated rows
+ * through COPY, moves the id sequences past the loaded ids and analyzes the
+ * tables so the planner sees the new statistics. Users, regionais and the
+ * other tables are left alone; the change feed is cleared, since it would
+ * point at the replaced rows.
+ *
+ * Run with: mvn -Pcatalog test -Dcatalog.args="--artists=1000000 --albums=3000000 --seed=42"
+ * (the leading dashes are optional)
+ * Options (--name=value):
+ *   url       jdbc:postgresql://localhost:5432/artistdb
+ *   user, password  postgres / postgres
+ *   seed      42
+ *   artists   1000000
+ *   albums    3000000
+ *   zipf      1.1
+ *   collaboration-rate  0.15
+ */
+public final class CatalogLoader {
+
+    private static final String[] SEQUENCES = {"artists", "albums", "artist_album", "album_covers"};
+
+    private CatalogLoader() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] parts = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(parts[0], parts.length > 1 ? parts[1] : "true");
+        }
+        String url = options.getOrDefault("url", "jdbc:postgresql://localhost:5432/artistdb");
+        String user = options.getOrDefault("user", "postgres");
+        String password = options.getOrDefault("password", "postgres");
+        CatalogGenerator.Options catalog = new CatalogGenerator.Options(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("artists", "1000000")),
+                Integer.parseInt(options.getOrDefault("albums", "3000000")),
+                Double.parseDouble(options.getOrDefault("zipf", "1.1")),
+                Double.parseDouble(options.getOrDefault("collaboration-rate", "0.15")));
+
+        migrate(url, user, password);
+        long start = System.nanoTime();
+        CatalogGenerator.Counts counts;
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            counts = load(connection, catalog);
+        }
+        System.out.printf("Loaded %d artists, %d albums, %d artist_album links and %d covers (seed %d) in %.1f s%n",
+                counts.artists(), counts.albums(), counts.artistAlbums(), counts.covers(), catalog.seed(),
+                (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    public static void migrate(String url, String user, String password) {
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+
+    /**
+     * Replaces the catalog on the given connection and commits
+     */
+    public static CatalogGenerator.Counts load(Connection connection, CatalogGenerator.Options catalog)
+            throws Exception {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE artist_album, album_covers, albums, artists, change_log");
+            }
+            CatalogGenerator.Counts counts = new CatalogGenerator(catalog).generate((table, columns) -> {
+                try {
+                    return new PGCopyOutputStream(pgConnection,
+                            "COPY " + table + " (" + columns + ") FROM STDIN (FORMAT csv)", 1 << 16);
+                } catch (SQLException e) {
+                    throw new IOException("COPY into " + table + " failed", e);
+                }
+            });
+            try (Statement statement = connection.createStatement()) {
+                for (String table : SEQUENCES) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                            + "COALESCE((SELECT MAX(id) FROM " + table + "), 0) + 1, false)");
+                }
+                statement.execute("ANALYZE artists, albums, artist_album, album_covers");
+            }
+            connection.commit();
+            return counts;
+        } catch (Exception e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
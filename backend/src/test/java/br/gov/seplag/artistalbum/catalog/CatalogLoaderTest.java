@@ -0,0 +1,97 @@
+package br.gov.seplag.artistalbum.catalog;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * COPY load against a local PostgreSQL (replaces its catalog tables)
+ * Run with TEST_DB_URL=jdbc:postgresql://localhost:5432/artistdb
+ * (and optionally TEST_DB_USER / TEST_DB_PASSWORD)
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@DisplayName("Catalog Loader Tests")
+class CatalogLoaderTest {
+
+    private static final CatalogGenerator.Options CATALOG = CatalogGenerator.Options.of(42, 2_000, 6_000);
+
+    @BeforeAll
+    static void migrate() {
+        CatalogLoader.migrate(url(), user(), password());
+    }
+
+    @Test
+    @DisplayName("Should load the generated catalog and continue the id sequences after it")
+    void shouldLoadCatalog() throws Exception {
+        try (Connection connection = connect()) {
+            // Act
+            CatalogGenerator.Counts counts = CatalogLoader.load(connection, CATALOG);
+
+            // Assert
+            assertThat(count(connection, "SELECT COUNT(*) FROM artists")).isEqualTo(counts.artists());
+            assertThat(count(connection, "SELECT COUNT(*) FROM albums")).isEqualTo(counts.albums());
+            assertThat(count(connection, "SELECT COUNT(*) FROM artist_album")).isEqualTo(counts.artistAlbums());
+            assertThat(count(connection, "SELECT COUNT(*) FROM album_covers")).isEqualTo(counts.covers());
+            assertThat(count(connection, "SELECT nextval(pg_get_serial_sequence('albums', 'id'))"))
+                    .isEqualTo(counts.albums() + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should load identical data for the same seed")
+    void shouldBeRepeatable() throws Exception {
+        try (Connection connection = connect()) {
+            // Act
+            CatalogLoader.load(connection, CATALOG);
+            String first = checksum(connection);
+            CatalogLoader.load(connection, CATALOG);
+            String second = checksum(connection);
+
+            // Assert
+            assertThat(second).isEqualTo(first);
+        }
+    }
+
+    private static String checksum(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT md5(string_agg(a.id || a.name || al.title || aa.album_id, ',' ORDER BY aa.id)) "
+                             + "FROM artist_album aa JOIN artists a ON a.id = aa.artist_id "
+                             + "JOIN albums al ON al.id = aa.album_id")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static Connection connect() throws Exception {
+        return DriverManager.getConnection(url(), user(), password());
+    }
+
+    private static String url() {
+        return System.getenv("TEST_DB_URL");
+    }
+
+    private static String user() {
+        return System.getenv().getOrDefault("TEST_DB_USER", "postgres");
+    }
+
+    private static String password() {
+        return System.getenv().getOrDefault("TEST_DB_PASSWORD", "postgres");
+    }
+}
@@ -0,0 +1,245 @@
+package br.gov.seplag.artistalbum.domain.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGStatement;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Captures the SQL of repository calls and checks its EXPLAIN (ANALYZE, BUFFERS) plan
+ *
+ * The capturing DataSource records each executed statement with the setters
+ * of its parameters. Every captured statement is then explained on a
+ * separate connection, with the same parameters bound, inside a transaction
+ * that is rolled back, so modifying statements leave no trace. A shape fails
+ * when its plan reads a table larger than seq-scan.max-table-rows with a
+ * sequential scan (unless the shape lists the table in allow-seq-scan), or
+ * when execution time or shared buffers exceed the thresholds in
+ * query-plan-thresholds.properties. Plans are written to target/query-plans
+ * for inspection.
+ */
+final class QueryPlanGuard {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate");
+    private static final Path OUTPUT = Path.of("target", "query-plans");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Properties thresholds = new Properties();
+    private final List<Captured> captured = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> tableRows = new HashMap<>();
+    private final DataSource explainDataSource;
+    private volatile boolean capturing;
+
+    /**
+     * Binds one captured parameter on the EXPLAIN statement
+     */
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement explain) throws Throwable;
+    }
+
+    /**
+     * SQL as executed, its rendering with inlined values (for messages) and the parameter setters
+     */
+    private record Captured(String sql, String display, List<Binder> parameters) {
+    }
+
+    QueryPlanGuard(DataSource explainDataSource) {
+        this.explainDataSource = explainDataSource;
+        try (InputStream stream = QueryPlanGuard.class.getResourceAsStream("/query-plan-thresholds.properties")) {
+            thresholds.load(stream);
+        } catch (IOException e) {
+            throw new IllegalStateException("query-plan-thresholds.properties not readable", e);
+        }
+    }
+
+    String property(String name) {
+        return thresholds.getProperty(name).trim();
+    }
+
+    /**
+     * Runs the repository call and returns a description of every threshold its statements broke
+     */
+    List<String> check(String shape, Runnable repositoryCall) throws Throwable {
+        captured.clear();
+        capturing = true;
+        try {
+            repositoryCall.run();
+        } finally {
+            capturing = false;
+        }
+        if (captured.isEmpty()) {
+            return List.of(shape + ": no SQL captured");
+        }
+
+        long maxMillis = threshold(shape, "max-execution-ms");
+        long maxBuffers = threshold(shape, "max-buffers");
+        long maxSeqScanRows = Long.parseLong(property("seq-scan.max-table-rows"));
+        Set<String> allowedSeqScans = Set.of(thresholds.getProperty(shape + ".allow-seq-scan", "").split(","));
+        List<String> violations = new ArrayList<>();
+        Files.createDirectories(OUTPUT);
+        for (int i = 0; i < captured.size(); i++) {
+            Captured statement = captured.get(i);
+            JsonNode explained = explain(statement);
+            Files.writeString(OUTPUT.resolve(shape + "-" + (i + 1) + ".json"),
+                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(explained));
+
+            JsonNode plan = explained.path("Plan");
+            double millis = explained.path("Execution Time").asDouble();
+            long buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+            String where = shape + " statement " + (i + 1) + " [" + statement.display() + "]";
+            if (millis > maxMillis) {
+                violations.add(where + ": " + millis + " ms > " + maxMillis + " ms");
+            }
+            if (buffers > maxBuffers) {
+                violations.add(where + ": " + buffers + " buffers > " + maxBuffers);
+            }
+            for (String table : sequentialScans(plan, new ArrayList<>())) {
+                long rows = tableRows(table);
+                if (rows > maxSeqScanRows && !allowedSeqScans.contains(table)) {
+                    violations.add(where + ": sequential scan on " + table + " (" + rows + " rows)");
+                }
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Wraps the application DataSource so executed statements are recorded while a check runs
+     */
+    DataSource capturing(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            @NonNull
+            public Connection getConnection() throws SQLException {
+                Connection connection = obtainTargetDataSource().getConnection();
+                return (Connection) Proxy.newProxyInstance(QueryPlanGuard.class.getClassLoader(),
+                        new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                            Object result = invoke(connection, method, args);
+                            if (result instanceof Statement statement) {
+                                String sql = args != null && args.length > 0 && args[0] instanceof String text
+                                        ? text : null;
+                                return capture(statement, method.getReturnType(), sql);
+                            }
+                            return result;
+                        });
+            }
+        };
+    }
+
+    /**
+     * Records the statement SQL with its parameter setters, replayed later on the EXPLAIN statement
+     */
+    private Object capture(Statement statement, Class<?> type, String preparedSql) {
+        Map<Integer, Binder> parameters = new TreeMap<>();
+        return Proxy.newProxyInstance(QueryPlanGuard.class.getClassLoader(),
+                new Class<?>[]{type}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, binder(method, args));
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (capturing && EXECUTE_METHODS.contains(name)) {
+                        captured.add(args == null
+                                ? new Captured(preparedSql, statement.unwrap(PGStatement.class).toString(),
+                                List.copyOf(parameters.values()))
+                                : new Captured((String) args[0], (String) args[0], List.of()));
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    /**
+     * Arrays are copied when bound, since the driver frees them once the statement has run
+     */
+    private static Binder binder(Method setter, Object[] args) throws SQLException {
+        if (args[1] instanceof Array array) {
+            String type = array.getBaseTypeName();
+            Object[] elements = (Object[]) array.getArray();
+            return explain -> explain.setArray((Integer) args[0],
+                    explain.getConnection().createArrayOf(type, elements));
+        }
+        return explain -> invoke(explain, setter, args);
+    }
+
+    private JsonNode explain(Captured statement) throws Throwable {
+        try (Connection connection = explainDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement explain = connection.prepareStatement(
+                    "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + statement.sql())) {
+                for (Binder binder : statement.parameters()) {
+                    binder.bind(explain);
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return objectMapper.readTree(resultSet.getString(1)).get(0);
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private static List<String> sequentialScans(JsonNode plan, List<String> tables) {
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            tables.add(plan.path("Relation Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            sequentialScans(child, tables);
+        }
+        return tables;
+    }
+
+    private long tableRows(String table) throws SQLException {
+        Long rows = tableRows.get(table);
+        if (rows == null) {
+            try (Connection connection = explainDataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)")) {
+                statement.setString(1, table);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    rows = resultSet.next() ? resultSet.getLong(1) : 0L;
+                }
+            }
+            tableRows.put(table, rows);
+        }
+        return rows;
+    }
+
+    private long threshold(String shape, String name) {
+        String value = thresholds.getProperty(shape + "." + name, thresholds.getProperty("default." + name));
+        return Long.parseLong(value.trim());
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
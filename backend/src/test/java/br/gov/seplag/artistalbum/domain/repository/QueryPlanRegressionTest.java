@@ -0,0 +1,358 @@
+package br.gov.seplag.artistalbum.domain.repository;
+
+import br.gov.seplag.artistalbum.catalog.CatalogGenerator;
+import br.gov.seplag.artistalbum.catalog.CatalogLoader;
+import br.gov.seplag.artistalbum.infrastructure.security.PrincipalCache;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plans of the catalog repositories against a PostgreSQL seeded at scale
+ * Run with QUERY_PLAN_DB_URL=jdbc:postgresql://localhost:5432/artistdb_plans
+ * (and optionally QUERY_PLAN_DB_USER / QUERY_PLAN_DB_PASSWORD)
+ *
+ * Use a dedicated database: when its catalog does not have the size set in
+ * query-plan-thresholds.properties, it is replaced with the synthetic catalog
+ * (about five minutes for the default 1M artists / 3M albums) and the
+ * regionais table is rebuilt with a synthetic history. Each shape runs one
+ * repository call and checks the EXPLAIN (ANALYZE, BUFFERS) plan of every
+ * statement it issued (see {@link QueryPlanGuard}).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PrincipalCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "QUERY_PLAN_DB_URL", matches = ".+")
+@DisplayName("Query Plan Regression Tests")
+class QueryPlanRegressionTest {
+
+    private static final List<Class<?>> GUARDED_REPOSITORIES = List.of(
+            AlbumRepository.class, ArtistRepository.class, RegionalRepository.class, AlbumCoverRepository.class);
+
+    private static final Pageable ALBUMS_BY_TITLE = PageRequest.of(0, 20, Sort.by("title"));
+    private static final Pageable ARTISTS_BY_NAME = PageRequest.of(0, 20, Sort.by("name"));
+    private static final Pageable DEEP_ALBUMS_BY_TITLE = PageRequest.of(500, 20, Sort.by("title"));
+
+    private static QueryPlanGuard guard;
+    private static Samples samples;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private RegionalRepository regionalRepository;
+
+    @Autowired
+    private AlbumCoverRepository albumCoverRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Parameters taken from the seeded data, so every shape hits existing rows
+     */
+    private record Samples(long typicalArtistId, long popularArtistId, String albumTitle, String artistName,
+                           long coverAlbumId, String coverObjectKey, int regionalExternalId, long inactiveRegionalId,
+                           String albumSearch, String artistSearch) {
+    }
+
+    /**
+     * One repository call; modifying shapes run in a transaction that is rolled back
+     */
+    private record Shape(String name, boolean modifying, Consumer<QueryPlanRegressionTest> call) {
+
+        static Shape read(String name, Consumer<QueryPlanRegressionTest> call) {
+            return new Shape(name, false, call);
+        }
+
+        static Shape write(String name, Consumer<QueryPlanRegressionTest> call) {
+            return new Shape(name, true, call);
+        }
+
+        String repositoryMethod() {
+            String[] parts = name.split("\\.");
+            return parts[0] + "." + parts[1];
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @TestConfiguration
+    static class CapturingDataSourceConfiguration {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? guard.capturing(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", QueryPlanRegressionTest::url);
+        registry.add("spring.datasource.username", QueryPlanRegressionTest::user);
+        registry.add("spring.datasource.password", QueryPlanRegressionTest::password);
+    }
+
+    @BeforeAll
+    static void seed() throws Exception {
+        guard = new QueryPlanGuard(new DriverManagerDataSource(url(), user(), password()));
+        CatalogLoader.migrate(url(), user(), password());
+        try (Connection connection = DriverManager.getConnection(url(), user(), password())) {
+            CatalogGenerator.Options catalog = CatalogGenerator.Options.of(
+                    Long.parseLong(guard.property("catalog.seed")),
+                    Integer.parseInt(guard.property("catalog.artists")),
+                    Integer.parseInt(guard.property("catalog.albums")));
+            if (count(connection, "SELECT COUNT(*) FROM artists") != catalog.artists()
+                    || count(connection, "SELECT COUNT(*) FROM albums") != catalog.albums()) {
+                CatalogLoader.load(connection, catalog);
+                vacuum(connection, "artists, albums, artist_album, album_covers");
+            }
+            seedRegionais(connection);
+            samples = samples(connection);
+        }
+    }
+
+    static Stream<Shape> shapes() {
+        return Stream.of(
+                Shape.read("AlbumRepository.findAll.page", t -> t.albumRepository.findAll(ALBUMS_BY_TITLE)),
+                Shape.read("AlbumRepository.findAll.deepPage", t -> t.albumRepository.findAll(DEEP_ALBUMS_BY_TITLE)),
+                Shape.read("AlbumRepository.findById", t -> t.albumRepository.findById(samples.coverAlbumId())),
+                Shape.read("AlbumRepository.findByArtistId.typicalArtistPage",
+                        t -> t.albumRepository.findByArtistId(samples.typicalArtistId(), ALBUMS_BY_TITLE)),
+                Shape.read("AlbumRepository.findByArtistId.popularArtistPage",
+                        t -> t.albumRepository.findByArtistId(samples.popularArtistId(), ALBUMS_BY_TITLE)),
+                Shape.read("AlbumRepository.findByArtistId.popularArtistList",
+                        t -> t.albumRepository.findByArtistId(samples.popularArtistId())),
+                Shape.read("AlbumRepository.findByArtistIdAndTitleContainingIgnoreCase.popularArtistPage",
+                        t -> t.albumRepository.findByArtistIdAndTitleContainingIgnoreCase(
+                                samples.popularArtistId(), samples.albumSearch(), ALBUMS_BY_TITLE)),
+                Shape.read("AlbumRepository.findByTitleContainingIgnoreCase.page",
+                        t -> t.albumRepository.findByTitleContainingIgnoreCase(
+                                samples.albumSearch(), ALBUMS_BY_TITLE)),
+                Shape.read("AlbumRepository.existsByTitleAndArtistId.popularArtist",
+                        t -> t.albumRepository.existsByTitleAndArtistId(
+                                samples.albumTitle(), samples.popularArtistId())),
+                Shape.read("AlbumRepository.existsByTitleAndArtistIdAndIdNot.popularArtist",
+                        t -> t.albumRepository.existsByTitleAndArtistIdAndIdNot(
+                                samples.albumTitle(), samples.popularArtistId(), 0L)),
+                Shape.read("ArtistRepository.findAll.page", t -> t.artistRepository.findAll(ARTISTS_BY_NAME)),
+                Shape.read("ArtistRepository.findById", t -> t.artistRepository.findById(samples.popularArtistId())),
+                Shape.read("ArtistRepository.findByNameContainingIgnoreCase.page",
+                        t -> t.artistRepository.findByNameContainingIgnoreCase(
+                                samples.artistSearch(), ARTISTS_BY_NAME)),
+                Shape.read("ArtistRepository.findByNameIgnoreCase",
+                        t -> t.artistRepository.findByNameIgnoreCase(samples.artistName())),
+                Shape.read("ArtistRepository.existsByNameIgnoreCase",
+                        t -> t.artistRepository.existsByNameIgnoreCase(samples.artistName())),
+                Shape.read("ArtistRepository.existsByNameIgnoreCaseAndIdNot",
+                        t -> t.artistRepository.existsByNameIgnoreCaseAndIdNot(samples.artistName(), 0L)),
+                Shape.read("AlbumCoverRepository.findByAlbumId",
+                        t -> t.albumCoverRepository.findByAlbumId(samples.coverAlbumId())),
+                Shape.read("AlbumCoverRepository.findByObjectKey",
+                        t -> t.albumCoverRepository.findByObjectKey(samples.coverObjectKey())),
+                Shape.write("AlbumCoverRepository.deleteByAlbumId",
+                        t -> t.albumCoverRepository.deleteByAlbumId(samples.coverAlbumId())),
+                Shape.read("RegionalRepository.findByExternalIdAndAtivoTrue",
+                        t -> t.regionalRepository.findByExternalIdAndAtivoTrue(samples.regionalExternalId())),
+                Shape.read("RegionalRepository.findByAtivoTrue", t -> t.regionalRepository.findByAtivoTrue()),
+                Shape.read("RegionalRepository.findAllByOrderByNomeAsc",
+                        t -> t.regionalRepository.findAllByOrderByNomeAsc()),
+                Shape.read("RegionalRepository.forEachSyncRow",
+                        t -> t.regionalRepository.forEachSyncRow((id, externalId, nome, ativo) -> {
+                        })),
+                Shape.write("RegionalRepository.insertActive",
+                        t -> t.regionalRepository.insertActive(Map.of(
+                                samples.regionalExternalId(), "Regional existente",
+                                -1, "Regional nova"))),
+                Shape.write("RegionalRepository.inactivateByExternalIds",
+                        t -> t.regionalRepository.inactivateByExternalIds(List.of(samples.regionalExternalId()))),
+                Shape.write("RegionalRepository.activateByIds",
+                        t -> t.regionalRepository.activateByIds(List.of(samples.inactiveRegionalId())))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("shapes")
+    @DisplayName("Should keep the plan of each repository query within its thresholds")
+    void shouldKeepPlanWithinThresholds(Shape shape) throws Throwable {
+        // Act
+        List<String> violations = guard.check(shape.name(), () -> run(shape));
+
+        // Assert
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should guard every query method declared by the catalog repositories")
+    void shouldGuardEveryRepositoryMethod() {
+        // Arrange
+        Set<String> guarded = shapes().map(Shape::repositoryMethod).collect(Collectors.toSet());
+
+        // Act
+        List<String> unguarded = GUARDED_REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getMethods())
+                        .filter(method -> !method.getDeclaringClass().isAssignableFrom(JpaRepository.class))
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .filter(method -> !guarded.contains(method))
+                .toList();
+
+        // Assert
+        assertThat(unguarded).isEmpty();
+    }
+
+    private void run(Shape shape) {
+        if (!shape.modifying()) {
+            shape.call().accept(this);
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            shape.call().accept(this);
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+    }
+
+    /**
+     * Rebuilds regionais with a history of inactive rows per external ID, unless it already has the configured size
+     *
+     * Every tenth external ID has only inactive rows (a regional removed upstream).
+     */
+    private static void seedRegionais(Connection connection) throws Exception {
+        int externalIds = Integer.parseInt(guard.property("regionais.external-ids"));
+        int versions = Integer.parseInt(guard.property("regionais.history")) + 1;
+        if (count(connection, "SELECT COUNT(*) FROM regionais") == (long) externalIds * versions
+                && count(connection, "SELECT COUNT(*) FROM regionais WHERE ativo") == externalIds - externalIds / 10) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE regionais");
+            statement.execute("INSERT INTO regionais (external_id, nome, ativo, created_at, updated_at) "
+                    + "SELECT e, 'Regional ' || e || ' v' || v, v = " + versions + " AND e % 10 <> 0, "
+                    + "LOCALTIMESTAMP, LOCALTIMESTAMP "
+                    + "FROM generate_series(1, " + externalIds + ") e, generate_series(1, " + versions + ") v "
+                    + "ORDER BY v, e");
+        }
+        vacuum(connection, "regionais");
+    }
+
+    /**
+     * Sets the visibility map and statistics as autovacuum would on a settled database
+     */
+    private static void vacuum(Connection connection, String tables) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM (ANALYZE) " + tables);
+        }
+    }
+
+    private static Samples samples(Connection connection) throws Exception {
+        long typicalArtistId = artistWithAtLeast(connection, Integer.parseInt(guard.property("sample.typical-artist-albums")));
+        long popularArtistId = artistWithAtLeast(connection, Integer.parseInt(guard.property("sample.popular-artist-albums")));
+        String albumTitle = text(connection, "SELECT al.title FROM artist_album aa JOIN albums al ON al.id = aa.album_id "
+                + "WHERE aa.artist_id = " + popularArtistId + " ORDER BY al.id LIMIT 1");
+        String artistName = text(connection, "SELECT MIN(name) FROM (SELECT name FROM artists "
+                + "GROUP BY name HAVING COUNT(*) = 1) unique_names");
+        long coverAlbumId = count(connection, "SELECT album_id FROM album_covers ORDER BY id LIMIT 1");
+        String coverObjectKey = text(connection, "SELECT object_key FROM album_covers ORDER BY id LIMIT 1");
+        long inactiveRegionalId = count(connection, "SELECT MIN(id) FROM regionais WHERE external_id % 10 = 0");
+        return new Samples(typicalArtistId, popularArtistId, albumTitle, artistName, coverAlbumId, coverObjectKey,
+                1, inactiveRegionalId, guard.property("search.album-title"), guard.property("search.artist-name"));
+    }
+
+    /**
+     * The artist with the fewest albums among those with at least the given number
+     */
+    private static long artistWithAtLeast(Connection connection, int albums) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT artist_id FROM artist_album GROUP BY artist_id HAVING COUNT(*) >= ? "
+                        + "ORDER BY COUNT(*), artist_id LIMIT 1")) {
+            statement.setInt(1, albums);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String text(Connection connection, String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static String url() {
+        return System.getenv("QUERY_PLAN_DB_URL");
+    }
+
+    private static String user() {
+        return System.getenv().getOrDefault("QUERY_PLAN_DB_USER", "postgres");
+    }
+
+    private static String password() {
+        return System.getenv().getOrDefault("QUERY_PLAN_DB_PASSWORD", "postgres");
+    }
+}
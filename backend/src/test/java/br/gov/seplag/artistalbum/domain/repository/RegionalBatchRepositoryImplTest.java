@@ -0,0 +1,136 @@
+package br.gov.seplag.artistalbum.domain.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Set-based regional writes against a local PostgreSQL
+ * Run with TEST_DB_URL=jdbc:postgresql://localhost:5432/artistdb
+ * (and optionally TEST_DB_USER / TEST_DB_PASSWORD)
+ *
+ * Uses a temporary regionais table on a single connection, which shadows the real one.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@DisplayName("Regional Batch Repository Tests")
+class RegionalBatchRepositoryImplTest {
+
+    private static final int ROWS = 50_000;
+
+    private SingleConnectionDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private RegionalBatchRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource(System.getenv("TEST_DB_URL"),
+                System.getenv().getOrDefault("TEST_DB_USER", "postgres"),
+                System.getenv().getOrDefault("TEST_DB_PASSWORD", "postgres"), true);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jdbcTemplate.getJdbcTemplate().execute("""
+                CREATE TEMPORARY TABLE regionais (
+                    id BIGSERIAL PRIMARY KEY,
+                    external_id INTEGER,
+                    nome VARCHAR(200) NOT NULL,
+                    ativo BOOLEAN NOT NULL DEFAULT TRUE,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP
+                )
+                """);
+        jdbcTemplate.getJdbcTemplate().execute(
+                "CREATE UNIQUE INDEX ON pg_temp.regionais(external_id) WHERE ativo");
+        repository = new RegionalBatchRepositoryImpl(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.getJdbcTemplate().execute("DROP TABLE IF EXISTS pg_temp.regionais");
+        dataSource.destroy();
+    }
+
+    @Test
+    @Tag("load")
+    @DisplayName("Should insert, rename, reactivate and inactivate a large synthetic payload")
+    void shouldApplyLargePayload() {
+        // Arrange
+        Map<Integer, String> initial = new LinkedHashMap<>();
+        for (int id = 1; id <= ROWS; id++) {
+            initial.put(id, "Regional " + id);
+        }
+        long start = System.nanoTime();
+        int created = repository.insertActive(initial);
+        long insertMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<Integer> removed = new ArrayList<>();
+        for (int id = 1; id <= ROWS / 2; id++) {
+            removed.add(id);
+        }
+        List<Integer> renamedIds = new ArrayList<>();
+        Map<Integer, String> renamed = new LinkedHashMap<>();
+        for (int id = ROWS / 2 + 1; id <= ROWS; id += 2) {
+            renamedIds.add(id);
+            renamed.put(id, "Regional " + id + " Renomeada");
+        }
+
+        // Act - the same three statements the sync issues, whatever the size of the diff
+        start = System.nanoTime();
+        int inactivated = repository.inactivateByExternalIds(removed);
+        int renamedOld = repository.inactivateByExternalIds(renamedIds);
+        int renamedNew = repository.insertActive(renamed);
+        int reactivated = repository.activateByIds(List.of(idOf(1)));
+        long diffMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertThat(created).isEqualTo(ROWS);
+        assertThat(inactivated).isEqualTo(ROWS / 2);
+        assertThat(renamedOld).isEqualTo(ROWS / 4);
+        assertThat(renamedNew).isEqualTo(ROWS / 4);
+        assertThat(reactivated).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM regionais")).isEqualTo(ROWS + ROWS / 4);
+        assertThat(count("SELECT COUNT(*) FROM regionais WHERE ativo")).isEqualTo(ROWS / 2 + 1);
+        assertThat(count("SELECT COUNT(*) FROM regionais WHERE ativo AND nome LIKE '%Renomeada'"))
+                .isEqualTo(ROWS / 4);
+        log.debug("Inserted {} rows in {} ms; applied {}-row diff in {} ms",
+                ROWS, insertMillis, removed.size() + 2 * renamed.size() + 1, diffMillis);
+    }
+
+    @Test
+    @DisplayName("Should skip external IDs that already have an active row")
+    void shouldSkipAlreadyActiveRows() {
+        // Arrange
+        repository.insertActive(Map.of(1, "Regional Norte", 2, "Regional Sul"));
+
+        // Act
+        int inserted = repository.insertActive(Map.of(1, "Regional Norte"));
+        int inactivated = repository.inactivateByExternalIds(List.of(3));
+
+        // Assert
+        assertThat(inserted).isZero();
+        assertThat(inactivated).isZero();
+    }
+
+    private long idOf(int externalId) {
+        Long id = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT MAX(id) FROM regionais WHERE external_id = ?", Long.class, externalId);
+        return id != null ? id : 0;
+    }
+
+    private long count(String sql) {
+        Long value = jdbcTemplate.getJdbcTemplate().queryForObject(sql, Long.class);
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,127 @@
+package br.gov.seplag.artistalbum.infrastructure.concurrency;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Concurrency Limit Filter Tests")
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+    private FilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        concurrencyLimitFilter = new ConcurrencyLimitFilter();
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "enabled", true);
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "bypassPaths",
+                List.of("/actuator/health", "/actuator/health/**"));
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "readInitial", 2);
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "readMin", 1);
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "readMax", 10);
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "writeInitial", 1);
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "writeMin", 1);
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "writeMax", 10);
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "rttTolerance", 1.5);
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "smoothing", 0.2);
+        ReflectionTestUtils.setField(concurrencyLimitFilter, "retryAfterSeconds", 1L);
+        concurrencyLimitFilter.init();
+
+        filterChain = mock(FilterChain.class);
+    }
+
+    @Test
+    @DisplayName("Should pass requests through and release their permits")
+    void shouldReleasePermitAfterRequest() throws Exception {
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/v1/albums");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        verify(filterChain).doFilter(any(), any());
+        assertThat(concurrencyLimitFilter.getReadLimit().getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should shed requests over the limit with 503 and Retry-After")
+    void shouldShedExcessRequests() throws Exception {
+        // Arrange - the read group is saturated
+        concurrencyLimitFilter.getReadLimit().tryAcquire();
+        concurrencyLimitFilter.getReadLimit().tryAcquire();
+
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/v1/albums");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("Service Unavailable");
+        verifyNoInteractions(filterChain);
+        assertThat(concurrencyLimitFilter.getRejected(ConcurrencyLimitFilter.READ_GROUP)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should limit reads and writes separately")
+    void shouldLimitGroupsSeparately() throws Exception {
+        // Arrange - the write group is saturated
+        concurrencyLimitFilter.getWriteLimit().tryAcquire();
+
+        // Act
+        MockHttpServletResponse write = perform("POST", "/api/v1/albums");
+        MockHttpServletResponse read = perform("GET", "/api/v1/albums");
+
+        // Assert
+        assertThat(write.getStatus()).isEqualTo(503);
+        assertThat(read.getStatus()).isEqualTo(200);
+        assertThat(concurrencyLimitFilter.getRejected(ConcurrencyLimitFilter.WRITE_GROUP)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should always admit health checks")
+    void shouldAdmitHealthChecks() throws Exception {
+        // Arrange
+        concurrencyLimitFilter.getReadLimit().tryAcquire();
+        concurrencyLimitFilter.getReadLimit().tryAcquire();
+
+        // Act
+        MockHttpServletResponse response = perform("GET", "/actuator/health");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the request fails")
+    void shouldReleasePermitOnFailure() throws Exception {
+        // Arrange
+        doThrow(new IllegalStateException("boom")).when(filterChain).doFilter(any(), any());
+
+        // Act
+        try {
+            perform("POST", "/api/v1/albums");
+        } catch (IllegalStateException expected) {
+            // propagated to the container
+        }
+
+        // Assert
+        assertThat(concurrencyLimitFilter.getWriteLimit().getInFlight()).isZero();
+    }
+
+    private MockHttpServletResponse perform(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        concurrencyLimitFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+}
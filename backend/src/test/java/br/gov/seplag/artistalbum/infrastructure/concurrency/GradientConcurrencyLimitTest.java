@@ -0,0 +1,105 @@
+package br.gov.seplag.artistalbum.infrastructure.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Gradient Concurrency Limit Tests")
+class GradientConcurrencyLimitTest {
+
+    private static final long FAST = 10_000_000L;
+
+    @Test
+    @DisplayName("Should reject permits beyond the current limit")
+    void shouldRejectBeyondLimit() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(2, 1, 10, 1.5, 0.2);
+
+        // Act
+        int first = limit.tryAcquire();
+        int second = limit.tryAcquire();
+        int third = limit.tryAcquire();
+
+        // Assert
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(third).isEqualTo(-1);
+        assertThat(limit.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while saturated and latency stays flat")
+    void shouldGrowWhenLatencyIsStable() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100, 1.5, 0.2);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            sample(limit, FAST, limit.getLimit());
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises above the baseline")
+    void shouldShrinkWhenLatencyRises() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 5, 100, 1.5, 0.2);
+        for (int i = 0; i < 100; i++) {
+            sample(limit, FAST, 50);
+        }
+        int before = limit.getLimit();
+
+        // Act - queueing makes requests ten times slower
+        for (int i = 0; i < 30; i++) {
+            sample(limit, FAST * 10, limit.getLimit());
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isLessThan(before / 2);
+        assertThat(limit.getLimit()).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while most permits are unused")
+    void shouldNotGrowWhenUnderused() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 1, 100, 1.5, 0.2);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            sample(limit, FAST, 2);
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should keep the limit within its bounds")
+    void shouldClampToBounds() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 4, 12, 1.5, 1.0);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            sample(limit, FAST, limit.getLimit());
+        }
+        int grown = limit.getLimit();
+        for (int i = 0; i < 50; i++) {
+            sample(limit, FAST * 100, limit.getLimit());
+        }
+
+        // Assert
+        assertThat(grown).isEqualTo(12);
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    private void sample(GradientConcurrencyLimit limit, long rttNanos, int inFlight) {
+        limit.tryAcquire();
+        limit.release(rttNanos, inFlight);
+    }
+}
@@ -0,0 +1,83 @@
+package br.gov.seplag.artistalbum.infrastructure.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.lang.NonNull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MetricsConfiguration Tests")
+class MetricsConfigurationTest {
+
+    private SimpleMeterRegistry registry;
+    private Service service;
+
+    @Timed(value = "service.invocations", histogram = true)
+    static class Service implements MeterBinder {
+
+        public String find(String id) {
+            return id;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+
+        @Override
+        public void bindTo(@NonNull MeterRegistry registry) {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Service());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new MetricsConfiguration().timedAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should time class-annotated methods tagged by class and method")
+    void shouldTimeAnnotatedClass() {
+        // Act
+        service.find("1");
+        service.find("2");
+
+        // Assert
+        Timer timer = registry.get("service.invocations")
+                .tags("class", Service.class.getName(), "method", "find", "exception", "none")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should tag failed calls with the exception class")
+    void shouldTagExceptions() {
+        // Act
+        assertThatThrownBy(() -> service.fail()).isInstanceOf(IllegalStateException.class);
+
+        // Assert
+        assertThat(registry.get("service.invocations")
+                .tags("method", "fail", "exception", "IllegalStateException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not time meter binding")
+    void shouldSkipBindTo() {
+        // Act
+        service.bindTo(registry);
+
+        // Assert
+        assertThat(registry.find("service.invocations").tag("method", "bindTo").timer()).isNull();
+    }
+}
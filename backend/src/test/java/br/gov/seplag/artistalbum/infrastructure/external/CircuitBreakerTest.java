@@ -0,0 +1,81 @@
+package br.gov.seplag.artistalbum.infrastructure.external;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(3, 10_000, now::get);
+
+    @Test
+    @DisplayName("Should open after consecutive failures reach the threshold")
+    void shouldOpenAfterThreshold() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertThat(circuitBreaker.tryAcquire()).isTrue();
+            circuitBreaker.onFailure();
+        }
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.getRemainingOpenMillis()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count on success")
+    void shouldResetOnSuccess() {
+        // Act
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should allow a single trial call after the open period")
+    void shouldAllowSingleTrialWhenHalfOpen() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+        now.addAndGet(10_000);
+
+        // Act & Assert
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reopen when the trial call fails")
+    void shouldReopenWhenTrialFails() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+        now.addAndGet(10_000);
+        circuitBreaker.tryAcquire();
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,174 @@
+package br.gov.seplag.artistalbum.infrastructure.external;
+
+import br.gov.seplag.artistalbum.domain.exception.ServiceUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Client behaviour against a local HTTP stub standing in for the external API
+ */
+@DisplayName("RegionaisApiClient Tests")
+class RegionaisApiClientTest {
+
+    private static final String PAYLOAD = "[{\"id\":1,\"nome\":\"Regional Norte\"}]";
+    private static final ResponseExtractor<byte[]> BODY = response -> response.getBody().readAllBytes();
+
+    private HttpServer server;
+    // Status codes to answer with, in order; 200 once exhausted. Negative values stall the response.
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private RegionaisApiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/regionais", exchange -> {
+            requests.incrementAndGet();
+            Integer status = statuses.poll();
+            if (status != null && status < 0) {
+                try {
+                    Thread.sleep(-status);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                status = 200;
+            }
+            int code = status != null ? status : 200;
+            byte[] body = (code == 200 ? PAYLOAD : "{\"error\":" + code + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(code, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        client = new RegionaisApiClient(ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(client, "url",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/regionais");
+        ReflectionTestUtils.setField(client, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(client, "readTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(client, "maxAttempts", 3);
+        ReflectionTestUtils.setField(client, "backoffMs", 2L);
+        ReflectionTestUtils.setField(client, "maxBackoffMs", 10L);
+        ReflectionTestUtils.setField(client, "failureThreshold", 2);
+        ReflectionTestUtils.setField(client, "openMs", 60000L);
+        client.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should return the payload on success")
+    void shouldReturnPayload() {
+        // Act
+        byte[] body = client.fetch(new HttpHeaders(), BODY);
+
+        // Assert
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo(PAYLOAD);
+        assertThat(client.getSuccesses()).isEqualTo(1);
+        assertThat(client.getRetries()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should retry server errors and rate limiting until a call succeeds")
+    void shouldRetryTransientErrors() {
+        // Arrange
+        statuses.add(503);
+        statuses.add(429);
+
+        // Act
+        byte[] body = client.fetch(new HttpHeaders(), BODY);
+
+        // Assert
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo(PAYLOAD);
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(client.getRetries()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not retry client errors")
+    void shouldNotRetryClientErrors() {
+        // Arrange
+        statuses.add(404);
+
+        // Act & Assert
+        assertThatThrownBy(() -> client.fetch(new HttpHeaders(), BODY))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should not retry when the extractor rejects the content")
+    void shouldNotRetryRejectedContent() {
+        // Act & Assert
+        assertThatThrownBy(() -> client.fetch(new HttpHeaders(), response -> {
+            throw new IllegalStateException("Malformed payload");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should give up after the last attempt times out")
+    void shouldTimeOutSlowResponses() {
+        // Arrange
+        ReflectionTestUtils.setField(client, "readTimeoutMs", 200L);
+        client.init();
+        for (int i = 0; i < 3; i++) {
+            statuses.add(-1000);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> client.fetch(new HttpHeaders(), BODY))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(client.getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should open the circuit and fail fast after repeated failed calls")
+    void shouldOpenCircuitAfterRepeatedFailures() {
+        // Arrange
+        for (int i = 0; i < 6; i++) {
+            statuses.add(500);
+        }
+        assertThatThrownBy(() -> client.fetch(new HttpHeaders(), BODY)).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> client.fetch(new HttpHeaders(), BODY)).isInstanceOf(HttpServerErrorException.class);
+
+        // Act & Assert
+        assertThatThrownBy(() -> client.fetch(new HttpHeaders(), BODY))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfterSeconds()).isEqualTo(60));
+        assertThat(requests.get()).isEqualTo(6);
+        assertThat(client.getRejected()).isEqualTo(1);
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,62 @@
+package br.gov.seplag.artistalbum.infrastructure.jdbc;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+/**
+ * Statement budget assertions for tests
+ *
+ * Counts statements that go through a {@link StatementTrackingDataSource}, so
+ * the code under test must use one (see StatementTrackingDataSourceTest), or
+ * for MockMvc the {@link StatementStatsFilter} must be registered:
+ * <pre>
+ * mockMvc.perform(get("/api/v1/albums")).andExpect(StatementBudget.statementsAtMost(3));
+ * </pre>
+ * Catches N+1 regressions: a lazy association loaded per row shows up as a
+ * statement count that grows with the data instead of staying fixed.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> action) {
+        StatementStats previous = StatementStats.current();
+        StatementStats stats = StatementStats.start();
+        try {
+            T result = action.get();
+            check(maxStatements, stats);
+            return result;
+        } finally {
+            StatementStats.resume(previous);
+        }
+    }
+
+    public static void assertAtMost(int maxStatements, Runnable action) {
+        assertAtMost(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Fails the MockMvc request if its handler ran more than maxStatements
+     */
+    public static ResultMatcher statementsAtMost(int maxStatements) {
+        return result -> {
+            Object stats = result.getRequest().getAttribute(StatementStatsFilter.STATS_ATTRIBUTE);
+            if (!(stats instanceof StatementStats statementStats)) {
+                throw new AssertionError("No statement stats on the request; is StatementStatsFilter registered?");
+            }
+            check(maxStatements, statementStats);
+        };
+    }
+
+    private static void check(int maxStatements, StatementStats stats) {
+        if (stats.getStatements() > maxStatements) {
+            throw new AssertionError("Statement budget exceeded: expected at most " + maxStatements
+                    + " statement(s) but got " + stats);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package br.gov.seplag.artistalbum.infrastructure.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Statement Stats Filter Tests")
+class StatementStatsFilterTest {
+
+    private StatementStatsFilter statementStatsFilter;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        statementStatsFilter = new StatementStatsFilter();
+        ReflectionTestUtils.setField(statementStatsFilter, "enabled", true);
+        registry = new SimpleMeterRegistry();
+        statementStatsFilter.bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("Should record per-request statement metrics by endpoint pattern")
+    void shouldRecordMetrics() throws Exception {
+        // Act
+        perform((request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/albums/{id}");
+            simulateQueries(3, 10);
+        });
+
+        // Assert
+        assertThat(registry.get("http.server.requests.db.statements")
+                .tags("method", "GET", "uri", "/api/v1/albums/{id}")
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get("http.server.requests.db.rows").summary().totalAmount()).isEqualTo(10);
+        assertThat(registry.get("http.server.requests.db.time").timer().count()).isEqualTo(1);
+        assertThat(StatementStats.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should add Server-Timing when enabled, even after the body commits")
+    void shouldAddServerTimingHeader() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(statementStatsFilter, "serverTiming", true);
+
+        // Act
+        MockHttpServletResponse response = perform((request, servletResponse) -> {
+            simulateQueries(2, 4);
+            servletResponse.getWriter().write("[]");
+            servletResponse.flushBuffer();
+        });
+
+        // Assert
+        assertThat(response.getHeader(StatementStatsFilter.SERVER_TIMING_HEADER))
+                .startsWith("db;dur=")
+                .endsWith("db-statements;desc=\"2\", db-rows;desc=\"4\"");
+    }
+
+    @Test
+    @DisplayName("Should not add Server-Timing by default")
+    void shouldNotAddServerTimingByDefault() throws Exception {
+        // Act
+        MockHttpServletResponse response = perform((request, servletResponse) -> simulateQueries(1, 1));
+
+        // Assert
+        assertThat(response.getHeader(StatementStatsFilter.SERVER_TIMING_HEADER)).isNull();
+    }
+
+    private MockHttpServletResponse perform(FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/albums/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        statementStatsFilter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static void simulateQueries(int statements, int rows) {
+        StatementStats stats = StatementStats.current();
+        for (int i = 0; i < statements; i++) {
+            stats.recordStatement(1_000_000);
+        }
+        for (int i = 0; i < rows; i++) {
+            stats.recordRow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package br.gov.seplag.artistalbum.infrastructure.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Statement Tracking DataSource Tests")
+class StatementTrackingDataSourceTest {
+
+    private DriverManagerDataSource target;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        target = new DriverManagerDataSource("jdbc:h2:mem:statements-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new StatementTrackingDataSource(target));
+        jdbcTemplate.execute("CREATE TABLE artist (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE album (id BIGINT PRIMARY KEY, artist_id BIGINT, title VARCHAR(50))");
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("INSERT INTO artist VALUES (?, ?)", id, "Artist " + id);
+            jdbcTemplate.update("INSERT INTO album VALUES (?, ?, ?)", id, id, "Album " + id);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatementStats.stop();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Should count statements and fetched rows in the open scope")
+    void shouldCountStatementsAndRows() {
+        // Arrange
+        StatementStats stats = StatementStats.start();
+
+        // Act
+        jdbcTemplate.queryForList("SELECT title FROM album", String.class);
+        jdbcTemplate.update("UPDATE album SET title = ? WHERE id = ?", "Renamed", 1L);
+
+        // Assert
+        assertThat(stats.getStatements()).isEqualTo(2);
+        assertThat(stats.getRows()).isEqualTo(5);
+        assertThat(stats.getElapsedNanos()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should hand out raw connections outside a scope")
+    void shouldNotWrapOutsideScope() throws Exception {
+        // Act
+        try (Connection connection = new StatementTrackingDataSource(target).getConnection()) {
+            // Assert
+            assertThat(connection.getClass().getName()).startsWith("org.h2");
+        }
+    }
+
+    @Test
+    @DisplayName("Should unwrap tracked connections to the driver connection")
+    void shouldUnwrapToDriverConnection() throws Exception {
+        // Arrange
+        StatementStats.start();
+
+        // Act
+        try (Connection connection = new StatementTrackingDataSource(target).getConnection()) {
+            // Assert
+            assertThat(connection.isWrapperFor(org.h2.jdbc.JdbcConnection.class)).isTrue();
+            assertThat(connection.unwrap(org.h2.jdbc.JdbcConnection.class)).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass when the work stays within the statement budget")
+    void shouldPassWithinBudget() {
+        // Act - one join for all albums
+        List<String> names = StatementBudget.assertAtMost(1, () -> jdbcTemplate.queryForList(
+                "SELECT ar.name FROM album al JOIN artist ar ON ar.id = al.artist_id", String.class));
+
+        // Assert
+        assertThat(names).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should fail an N+1 access pattern that exceeds the statement budget")
+    void shouldFailOverBudget() {
+        // Act & Assert - one query per album for its artist
+        assertThatThrownBy(() -> StatementBudget.assertAtMost(2, () -> {
+            for (Long artistId : jdbcTemplate.queryForList("SELECT artist_id FROM album", Long.class)) {
+                jdbcTemplate.queryForObject("SELECT name FROM artist WHERE id = ?", String.class, artistId);
+            }
+        }))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("expected at most 2 statement(s) but got 6 statement(s)");
+    }
+}
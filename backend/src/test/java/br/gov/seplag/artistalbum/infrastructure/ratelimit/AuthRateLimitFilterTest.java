@@ -0,0 +1,97 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Auth Rate Limit Filter Tests")
+class AuthRateLimitFilterTest {
+
+    private AuthRateLimitFilter authRateLimitFilter;
+    private FilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        ClientIpResolver clientIpResolver = new ClientIpResolver();
+        ReflectionTestUtils.setField(clientIpResolver, "trustedProxies", List.of("127.0.0.1/32"));
+        clientIpResolver.init();
+
+        authRateLimitFilter = new AuthRateLimitFilter(clientIpResolver);
+        ReflectionTestUtils.setField(authRateLimitFilter, "requestsPerMinute", 3);
+        ReflectionTestUtils.setField(authRateLimitFilter, "paths", List.of("/api/*/auth/login", "/api/*/auth/refresh"));
+        ReflectionTestUtils.setField(authRateLimitFilter, "maxEntries", 1000);
+        authRateLimitFilter.init();
+
+        filterChain = mock(FilterChain.class);
+    }
+
+    @Test
+    @DisplayName("Should reject login attempts over the per-IP limit before the chain runs")
+    void shouldRejectExcessLoginAttempts() throws Exception {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = login("198.51.100.1");
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse rejected = login("198.51.100.1");
+
+        // Assert
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(rejected.getContentAsString()).contains("Too Many Requests");
+        verify(filterChain, times(3)).doFilter(any(), any());
+        assertThat(authRateLimitFilter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep separate limits per client IP")
+    void shouldKeepSeparateLimitsPerIp() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            login("198.51.100.1");
+        }
+
+        // Act
+        MockHttpServletResponse other = login("198.51.100.2");
+
+        // Assert
+        assertThat(other.getStatus()).isEqualTo(200);
+        assertThat(authRateLimitFilter.getTrackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not limit endpoints outside the configured paths")
+    void shouldSkipOtherEndpoints() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/albums");
+        request.setRemoteAddr("198.51.100.1");
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            authRateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        }
+
+        // Assert
+        verify(filterChain, times(5)).doFilter(any(), any());
+        assertThat(authRateLimitFilter.getTrackedClients()).isZero();
+    }
+
+    private MockHttpServletResponse login(String clientIp) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader("X-Forwarded-For", clientIp);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        authRateLimitFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+}
@@ -0,0 +1,95 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Client IP Resolver Tests")
+class ClientIpResolverTest {
+
+    private ClientIpResolver clientIpResolver;
+
+    @BeforeEach
+    void setUp() {
+        clientIpResolver = new ClientIpResolver();
+        ReflectionTestUtils.setField(clientIpResolver, "trustedProxies", List.of("127.0.0.1/32", "172.16.0.0/12"));
+        clientIpResolver.init();
+    }
+
+    @Test
+    @DisplayName("Should use remote address when peer is not a trusted proxy")
+    void shouldIgnoreForwardedForFromUntrustedPeer() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+
+        // Act & Assert
+        assertThat(clientIpResolver.resolve(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Should use forwarded client when peer is a trusted proxy")
+    void shouldUseForwardedForFromTrustedProxy() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("172.18.0.2");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+
+        // Act & Assert
+        assertThat(clientIpResolver.resolve(request)).isEqualTo("198.51.100.1");
+    }
+
+    @Test
+    @DisplayName("Should ignore spoofed entries left of the last untrusted hop")
+    void shouldIgnoreSpoofedLeftmostEntries() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("172.18.0.2");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 198.51.100.1, 172.18.0.3");
+
+        // Act & Assert
+        assertThat(clientIpResolver.resolve(request)).isEqualTo("198.51.100.1");
+    }
+
+    @Test
+    @DisplayName("Should give each client behind the frontend nginx its own address")
+    void shouldResolveClientsBehindFrontendProxy() {
+        // Arrange - trusted proxies as configured in docker-compose
+        ReflectionTestUtils.setField(clientIpResolver, "trustedProxies",
+                List.of("127.0.0.1/32", "::1/128", "172.28.0.10/32"));
+        clientIpResolver.init();
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        first.setRemoteAddr("172.28.0.10");
+        first.addHeader("X-Forwarded-For", "198.51.100.1");
+        MockHttpServletRequest second = new MockHttpServletRequest();
+        second.setRemoteAddr("172.28.0.10");
+        // nginx appends the peer to a header sent by the client
+        second.addHeader("X-Forwarded-For", "1.2.3.4, 198.51.100.2");
+        MockHttpServletRequest sibling = new MockHttpServletRequest();
+        sibling.setRemoteAddr("172.28.0.11");
+        sibling.addHeader("X-Forwarded-For", "198.51.100.3");
+
+        // Act & Assert
+        assertThat(clientIpResolver.resolve(first)).isEqualTo("198.51.100.1");
+        assertThat(clientIpResolver.resolve(second)).isEqualTo("198.51.100.2");
+        assertThat(clientIpResolver.resolve(sibling)).isEqualTo("172.28.0.11");
+    }
+
+    @Test
+    @DisplayName("Should fall back to remote address without forwarded header")
+    void shouldFallBackToRemoteAddress() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("127.0.0.1");
+
+        // Act & Assert
+        assertThat(clientIpResolver.resolve(request)).isEqualTo("127.0.0.1");
+    }
+}
@@ -0,0 +1,198 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Leased Token Bucket Store Tests")
+class LeasedTokenBucketStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private final BucketLimits limits = BucketLimits.perInterval(10, Duration.ofMinutes(1));
+    private SharedBucket shared;
+
+    @BeforeEach
+    void setUp() {
+        shared = new SharedBucket(10);
+    }
+
+    @Test
+    @DisplayName("Should serve most checks from the local lease")
+    void shouldServeChecksFromLease() {
+        // Arrange
+        LeasedTokenBucketStore store = new LeasedTokenBucketStore("default", limits, 5, 5000, shared, local(), clock::get);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThat(store.tryConsume("user", 1).consumed()).isTrue();
+        }
+
+        // Assert
+        assertThat(shared.calls.get()).isEqualTo(1);
+        assertThat(store.getLocalGrants()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should enforce the shared limit across instances")
+    void shouldEnforceSharedLimitAcrossInstances() {
+        // Arrange - two replicas sharing one bucket
+        LeasedTokenBucketStore first = new LeasedTokenBucketStore("default", limits, 3, 5000, shared, local(), clock::get);
+        LeasedTokenBucketStore second = new LeasedTokenBucketStore("default", limits, 3, 5000, shared, local(), clock::get);
+        int granted = 0;
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            LeasedTokenBucketStore store = i % 2 == 0 ? first : second;
+            if (store.tryConsume("user", 1).consumed()) {
+                granted++;
+            }
+        }
+
+        // Assert
+        assertThat(granted).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should report wait time from the shared bucket when rejected")
+    void shouldReportWaitWhenRejected() {
+        // Arrange
+        LeasedTokenBucketStore store = new LeasedTokenBucketStore("default", limits, 1, 5000, shared, local(), clock::get);
+        shared.tokens = 0;
+
+        // Act
+        ConsumptionResult result = store.tryConsume("user", 1);
+
+        // Assert
+        assertThat(result.consumed()).isFalse();
+        assertThat(result.millisToWait()).isEqualTo(SharedBucket.WAIT_MILLIS);
+    }
+
+    @Test
+    @DisplayName("Should stop using a lease after it expires")
+    void shouldDropExpiredLease() {
+        // Arrange
+        LeasedTokenBucketStore store = new LeasedTokenBucketStore("default", limits, 5, 1000, shared, local(), clock::get);
+        store.tryConsume("user", 1);
+
+        // Act
+        clock.addAndGet(1000);
+        store.tryConsume("user", 1);
+        store.evictRefilled();
+
+        // Assert
+        assertThat(shared.calls.get()).isEqualTo(2);
+        assertThat(shared.evictions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should credit unused tokens of an expired lease back to the shared bucket")
+    void shouldReturnUnusedLeaseTokens() {
+        // Arrange - one request every lease TTL
+        LeasedTokenBucketStore store = new LeasedTokenBucketStore("default", limits, 2, 1000, shared, local(), clock::get);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThat(store.tryConsume("user", 1).consumed()).isTrue();
+            clock.addAndGet(1000);
+        }
+
+        // Assert - one leased token is outstanding, one token per request was spent
+        assertThat(shared.tokens).isEqualTo(10 - 5 - 1);
+        assertThat(shared.returned).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should forget expired leases only once the shared bucket has refilled")
+    void shouldKeepExpiredLeaseForOneRefillPeriod() {
+        // Arrange
+        LeasedTokenBucketStore store = new LeasedTokenBucketStore("default", limits, 2, 1000, shared, local(), clock::get);
+        store.tryConsume("user", 1);
+        clock.addAndGet(1000);
+
+        // Act
+        store.evictRefilled();
+        int afterExpiry = store.getLeaseCount();
+        clock.addAndGet(60_000);
+        store.evictRefilled();
+
+        // Assert
+        assertThat(afterExpiry).isEqualTo(1);
+        assertThat(store.getLeaseCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fall back to per-instance buckets when the shared bucket is unreachable")
+    void shouldFallBackWhenSharedBucketFails() {
+        // Arrange
+        LeasedTokenBucketStore store = new LeasedTokenBucketStore("default", limits, 1, 5000, shared, local(), clock::get);
+        shared.failing = true;
+
+        // Act
+        int granted = 0;
+        for (int i = 0; i < 12; i++) {
+            if (store.tryConsume("user", 1).consumed()) {
+                granted++;
+            }
+        }
+        shared.failing = false;
+        ConsumptionResult recovered = store.tryConsume("user", 1);
+
+        // Assert
+        assertThat(granted).isEqualTo(10);
+        assertThat(store.getFallbackChecks()).isEqualTo(12);
+        assertThat(recovered.consumed()).isTrue();
+        assertThat(store.evictRefilled()).isZero();
+    }
+
+    private TokenBucketStore local() {
+        return new TokenBucketStore(limits.capacity(), limits.refillTokens(), Duration.ofMinutes(1), 100, clock::get);
+    }
+
+    /**
+     * Shared bucket without refill, standing in for the database
+     */
+    private static class SharedBucket implements TokenLeaseSource {
+
+        static final long WAIT_MILLIS = 42_000;
+
+        private long tokens;
+        private long returned;
+        private boolean failing;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger evictions = new AtomicInteger();
+
+        SharedBucket(long tokens) {
+            this.tokens = tokens;
+        }
+
+        @Override
+        public synchronized TokenLease acquire(String key, long needed, long requested, long returned,
+                                               BucketLimits limits) {
+            calls.incrementAndGet();
+            if (failing) {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }
+            this.returned += returned;
+            tokens = Math.min(limits.capacity(), tokens + returned);
+            long granted = tokens >= needed ? Math.min(requested, tokens) : 0;
+            tokens -= granted;
+            return new TokenLease(granted, tokens, WAIT_MILLIS);
+        }
+
+        @Override
+        public int evictRefilled(String namespace, BucketLimits limits) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }
+            evictions.incrementAndGet();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multi-instance test against a local PostgreSQL
+ * Run with TEST_DB_URL=jdbc:postgresql://localhost:5432/artistdb
+ * (and optionally TEST_DB_USER / TEST_DB_PASSWORD)
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@DisplayName("PostgreSQL Token Lease Source Tests")
+class PostgresTokenLeaseSourceTest {
+
+    private static final int INSTANCES = 3;
+    private static final int THREADS_PER_INSTANCE = 8;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+
+    private final BucketLimits limits = BucketLimits.perInterval(100, Duration.ofMinutes(1));
+    private final List<NamedParameterJdbcTemplate> instances = new ArrayList<>();
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < INSTANCES; i++) {
+            // One connection source per simulated API replica
+            instances.add(new NamedParameterJdbcTemplate(dataSource()));
+        }
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V6__create_rate_limit_bucket.sql"));
+        schema.setContinueOnError(true); // table already exists when migrations have run
+        schema.execute(dataSource());
+        key = "test-" + System.nanoTime();
+    }
+
+    @AfterEach
+    void tearDown() {
+        instances.get(0).getJdbcTemplate().update("DELETE FROM rate_limit_bucket WHERE bucket_key LIKE ?", "%" + key);
+    }
+
+    @Test
+    @Tag("load")
+    @DisplayName("Should grant exactly the shared capacity across concurrent instances")
+    void shouldGrantExactlyCapacityAcrossInstances() throws Exception {
+        // Arrange
+        List<LeasedTokenBucketStore> stores = new ArrayList<>();
+        for (NamedParameterJdbcTemplate jdbcTemplate : instances) {
+            stores.add(new LeasedTokenBucketStore("test", limits, 5, 60_000,
+                    new PostgresTokenLeaseSource(jdbcTemplate), new TokenBucketStore(100, 100, Duration.ofMinutes(1), 100)));
+        }
+        ExecutorService threads = Executors.newFixedThreadPool(INSTANCES * THREADS_PER_INSTANCE);
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (LeasedTokenBucketStore store : stores) {
+            for (int t = 0; t < THREADS_PER_INSTANCE; t++) {
+                futures.add(threads.submit(() -> {
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        if (store.tryConsume(key, 1).consumed()) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        threads.shutdown();
+
+        // Assert
+        assertThat(granted.get()).isLessThanOrEqualTo(100);
+        assertThat(granted.get()).isGreaterThan(100 - INSTANCES * 5);
+        long remoteCalls = stores.stream().mapToLong(LeasedTokenBucketStore::getRemoteCalls).sum();
+        long localGrants = stores.stream().mapToLong(LeasedTokenBucketStore::getLocalGrants).sum();
+        log.debug("Granted {} of {} attempts: {} from leases, {} database round trips",
+                granted.get(), INSTANCES * THREADS_PER_INSTANCE * ATTEMPTS_PER_THREAD, localGrants, remoteCalls);
+    }
+
+    @Test
+    @DisplayName("Should evict refilled shared buckets only within their namespace")
+    void shouldEvictRefilledBuckets() {
+        // Arrange
+        PostgresTokenLeaseSource source = new PostgresTokenLeaseSource(instances.get(0));
+        BucketLimits fast = BucketLimits.perInterval(2, Duration.ofMillis(50));
+
+        // Act
+        TokenLeaseSource.TokenLease first = source.acquire(key + ":user", 1, 2, 0, fast);
+        TokenLeaseSource.TokenLease empty = source.acquire(key + ":user", 1, 2, 0, fast);
+        sleep(120);
+        int otherNamespace = source.evictRefilled("other-" + key, fast);
+        int evicted = source.evictRefilled(key, fast);
+
+        // Assert
+        assertThat(first.granted()).isEqualTo(2);
+        assertThat(empty.granted()).isZero();
+        assertThat(empty.millisToRefill()).isLessThanOrEqualTo(50);
+        assertThat(otherNamespace).isZero();
+        assertThat(evicted).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should credit tokens returned from an expired lease before taking")
+    void shouldCreditReturnedTokens() {
+        // Arrange
+        PostgresTokenLeaseSource source = new PostgresTokenLeaseSource(instances.get(0));
+        source.acquire(key + ":user", 1, 5, 0, limits);
+
+        // Act
+        TokenLeaseSource.TokenLease lease = source.acquire(key + ":user", 1, 2, 3, limits);
+
+        // Assert - 100 - 5 + 3 - 2
+        assertThat(lease.granted()).isEqualTo(2);
+        assertThat(lease.remaining()).isEqualTo(96);
+    }
+
+    private DriverManagerDataSource dataSource() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getenv("TEST_DB_URL"));
+        dataSource.setUsername(System.getenv().getOrDefault("TEST_DB_USER", "postgres"));
+        dataSource.setPassword(System.getenv().getOrDefault("TEST_DB_PASSWORD", "postgres"));
+        return dataSource;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Rate Limit Filter Tests")
+class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+    private FilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Policy sync = new RateLimitProperties.Policy();
+        sync.setName("regional-sync");
+        sync.setMethods(List.of("POST"));
+        sync.setPattern("/api/*/regionais/sync");
+        sync.setCost(4);
+        properties.getPolicies().add(sync);
+
+        RateLimitService rateLimitService = new RateLimitService(mock(TokenLeaseSource.class), properties);
+        ReflectionTestUtils.setField(rateLimitService, "requestsPerMinute", 10);
+        ReflectionTestUtils.setField(rateLimitService, "mode", "local");
+        ReflectionTestUtils.setField(rateLimitService, "maxEntries", 1000);
+        rateLimitService.init();
+
+        rateLimitFilter = new RateLimitFilter(rateLimitService);
+        filterChain = mock(FilterChain.class);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should set limit headers from the consumption result")
+    void shouldSetLimitHeaders() throws Exception {
+        // Act
+        MockHttpServletResponse response = perform("GET", "/api/v1/albums");
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("X-RateLimit-Limit")).isEqualTo("10");
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("9");
+        assertThat(response.getHeader("X-RateLimit-Policy")).isEqualTo("default");
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should charge the route policy cost")
+    void shouldChargePolicyCost() throws Exception {
+        // Act
+        MockHttpServletResponse response = perform("POST", "/api/v1/regionais/sync");
+
+        // Assert
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("6");
+        assertThat(response.getHeader("X-RateLimit-Policy")).isEqualTo("regional-sync");
+    }
+
+    @Test
+    @DisplayName("Should reject with Retry-After and the configured message when tokens run out")
+    void shouldRejectWhenTokensRunOut() throws Exception {
+        // Arrange
+        perform("POST", "/api/v1/regionais/sync");
+        perform("POST", "/api/v1/regionais/sync");
+
+        // Act
+        MockHttpServletResponse rejected = perform("POST", "/api/v1/regionais/sync");
+
+        // Assert
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("X-RateLimit-Remaining")).isEqualTo("2");
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(rejected.getContentAsString())
+                .contains("Rate limit exceeded. Maximum 10 requests per minute allowed.");
+        verify(filterChain, times(2)).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not limit public endpoints")
+    void shouldSkipPublicEndpoints() throws Exception {
+        // Act
+        MockHttpServletResponse response = perform("POST", "/api/v1/auth/login");
+
+        // Assert
+        assertThat(response.getHeader("X-RateLimit-Limit")).isNull();
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    private MockHttpServletResponse perform(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+}
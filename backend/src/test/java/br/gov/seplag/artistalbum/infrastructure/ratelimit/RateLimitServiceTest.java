@@ -1,22 +1,40 @@
 package br.gov.seplag.artistalbum.infrastructure.ratelimit;
 
-import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
 
 @DisplayName("Rate Limit Service Tests")
 class RateLimitServiceTest {
 
     private RateLimitService rateLimitService;
+    private RateLimitProperties properties;
 
     @BeforeEach
     void setUp() {
-        rateLimitService = new RateLimitService();
+        properties = new RateLimitProperties();
+        RateLimitProperties.Tier uploads = new RateLimitProperties.Tier();
+        uploads.setCapacity(20);
+        uploads.setMessage("Upload limit exceeded, try again in {retryAfter} seconds.");
+        properties.getTiers().put("uploads", uploads);
+        properties.getPolicies().add(policy("album-covers", "POST", "/api/*/albums/*/covers", "uploads", 1, 1));
+        properties.getPolicies().add(policy("regional-sync", "POST", "/api/*/regionais/sync", "default", 5, 0));
+
+        rateLimitService = new RateLimitService(mock(TokenLeaseSource.class), properties);
         ReflectionTestUtils.setField(rateLimitService, "requestsPerMinute", 10);
+        ReflectionTestUtils.setField(rateLimitService, "mode", "local");
+        ReflectionTestUtils.setField(rateLimitService, "maxEntries", 1000);
+        ReflectionTestUtils.setField(rateLimitService, "maxRequestSize", DataSize.ofMegabytes(8));
+        rateLimitService.init();
     }
 
     @Test
@@ -85,16 +103,155 @@ class RateLimitServiceTest {
     }
 
     @Test
-    @DisplayName("Should resolve bucket for key")
-    void shouldResolveBucketForKey() {
+    @DisplayName("Should report full capacity for unknown key")
+    void shouldReportFullCapacityForUnknownKey() {
         // Arrange
         String key = "test-user";
 
         // Act
-        Bucket bucket = rateLimitService.resolveBucket(key);
+        long availableTokens = rateLimitService.getAvailableTokens(key);
+
+        // Assert
+        assertThat(availableTokens).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should keep buckets that still have consumed tokens")
+    void shouldKeepPartiallyConsumedBuckets() {
+        // Arrange
+        rateLimitService.tryConsume("test-user");
+
+        // Act
+        rateLimitService.evictRefilled();
+
+        // Assert
+        assertThat(rateLimitService.getAvailableTokens("test-user")).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should charge the first matching policy by method and path")
+    void shouldResolvePolicyCharge() {
+        // Act
+        RateLimitCharge sync = rateLimitService.resolveCharge("POST", "/api/v1/regionais/sync", -1);
+        RateLimitCharge read = rateLimitService.resolveCharge("GET", "/api/v1/regionais/sync", -1);
+
+        // Assert
+        assertThat(sync).isEqualTo(new RateLimitCharge("regional-sync", "default", 5));
+        assertThat(read).isEqualTo(new RateLimitCharge("default", "default", 1));
+    }
+
+    @Test
+    @DisplayName("Should add cost per started megabyte and cap it at the tier capacity")
+    void shouldWeighCostByContentLength() {
+        // Act
+        RateLimitCharge small = rateLimitService.resolveCharge("POST", "/api/v1/albums/1/covers", 1024);
+        RateLimitCharge medium = rateLimitService.resolveCharge("POST", "/api/v1/albums/1/covers", 3 * 1024 * 1024 + 1);
+        RateLimitCharge huge = rateLimitService.resolveCharge("POST", "/api/v1/albums/1/covers", 50L * 1024 * 1024);
+
+        // Assert
+        assertThat(small.tokens()).isEqualTo(2);
+        assertThat(medium.tokens()).isEqualTo(5);
+        assertThat(huge.tokens()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should charge a body without Content-Length as the largest accepted request")
+    void shouldChargeChunkedBodyAsMaxRequestSize() {
+        // Act
+        RateLimitCharge chunked = rateLimitService.resolveCharge("POST", "/api/v1/albums/1/covers", -1);
+        RateLimitCharge empty = rateLimitService.resolveCharge("POST", "/api/v1/albums/1/covers", 0);
+
+        // Assert
+        assertThat(chunked.tokens()).isEqualTo(9);
+        assertThat(empty.tokens()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return remaining tokens and wait time from a single consumption")
+    void shouldReturnRemainingAndWaitFromOneCall() {
+        // Act
+        ConsumptionResult first = rateLimitService.tryConsumeAndReturnRemaining("default", "test-user", 6);
+        ConsumptionResult second = rateLimitService.tryConsumeAndReturnRemaining("default", "test-user", 6);
+
+        // Assert
+        assertThat(first.consumed()).isTrue();
+        assertThat(first.remainingTokens()).isEqualTo(4);
+        assertThat(second.consumed()).isFalse();
+        assertThat(second.remainingTokens()).isEqualTo(4);
+        assertThat(second.millisToWait()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per tier")
+    void shouldKeepSeparateBucketsPerTier() {
+        // Arrange
+        rateLimitService.tryConsumeAndReturnRemaining("uploads", "test-user", 20);
+
+        // Act
+        boolean allowed = rateLimitService.tryConsume("test-user");
+
+        // Assert
+        assertThat(allowed).isTrue();
+        assertThat(rateLimitService.getLimit("uploads")).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should render the configured rejection message per tier")
+    void shouldRenderRejectionMessage() {
+        // Act & Assert
+        assertThat(rateLimitService.getRejectionMessage("default", 30))
+                .isEqualTo("Rate limit exceeded. Maximum 10 requests per minute allowed.");
+        assertThat(rateLimitService.getRejectionMessage("uploads", 30))
+                .isEqualTo("Upload limit exceeded, try again in 30 seconds.");
+    }
+
+    @Test
+    @DisplayName("Should count allowed and rejected checks per tier")
+    void shouldCountDecisionsPerTier() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        rateLimitService.bindTo(registry);
+
+        // Act
+        for (int i = 0; i < 12; i++) {
+            rateLimitService.tryConsume("test-user");
+        }
+        rateLimitService.tryConsumeAndReturnRemaining("uploads", "test-user", 1);
 
         // Assert
-        assertThat(bucket).isNotNull();
-        assertThat(bucket.getAvailableTokens()).isEqualTo(10);
+        assertThat(rateLimitService.getAllowed("default")).isEqualTo(10);
+        assertThat(rateLimitService.getRejected("default")).isEqualTo(2);
+        assertThat(registry.get("rate_limit.requests").tags("tier", "default", "result", "rejected")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("rate_limit.requests").tags("tier", "uploads", "result", "allowed")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail startup when a policy references an unknown tier")
+    void shouldRejectPolicyWithUnknownTier() {
+        // Arrange
+        properties.getPolicies().add(policy("broken", "GET", "/api/**", "missing", 1, 0));
+        RateLimitService service = new RateLimitService(mock(TokenLeaseSource.class), properties);
+        ReflectionTestUtils.setField(service, "requestsPerMinute", 10);
+        ReflectionTestUtils.setField(service, "mode", "local");
+        ReflectionTestUtils.setField(service, "maxEntries", 1000);
+
+        // Act & Assert
+        assertThatThrownBy(service::init)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing");
+    }
+
+    private RateLimitProperties.Policy policy(String name, String method, String pattern, String tier,
+                                              int cost, int costPerMb) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setName(name);
+        policy.setMethods(List.of(method));
+        policy.setPattern(pattern);
+        policy.setTier(tier);
+        policy.setCost(cost);
+        policy.setCostPerMb(costPerMb);
+        return policy;
     }
 }
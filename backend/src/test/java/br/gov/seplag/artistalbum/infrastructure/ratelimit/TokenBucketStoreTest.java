@@ -0,0 +1,184 @@
+package br.gov.seplag.artistalbum.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Token Bucket Store Tests")
+class TokenBucketStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private TokenBucketStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenBucketStore(10, 10, Duration.ofMinutes(1), 3, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should report remaining tokens and wait time from one call")
+    void shouldReportRemainingAndWait() {
+        // Act
+        ConsumptionResult first = store.tryConsume("user", 4);
+        clock.addAndGet(15_000);
+        ConsumptionResult second = store.tryConsume("user", 7);
+
+        // Assert
+        assertThat(first.consumed()).isTrue();
+        assertThat(first.remainingTokens()).isEqualTo(6);
+        assertThat(second.consumed()).isFalse();
+        assertThat(second.remainingTokens()).isEqualTo(6);
+        assertThat(second.millisToWait()).isEqualTo(45_000);
+    }
+
+    @Test
+    @DisplayName("Should refill whole intervals")
+    void shouldRefillWholeIntervals() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            store.tryConsume("user", 1);
+        }
+
+        // Act & Assert
+        clock.addAndGet(59_999);
+        assertThat(store.tryConsume("user", 1).consumed()).isFalse();
+        clock.addAndGet(1);
+        assertThat(store.getAvailableTokens("user")).isEqualTo(10);
+        assertThat(store.tryConsume("user", 1).consumed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should evict only buckets that have fully refilled")
+    void shouldEvictOnlyRefilledBuckets() {
+        // Arrange
+        store.tryConsume("old", 1);
+        clock.addAndGet(30_000);
+        store.tryConsume("recent", 1);
+        clock.addAndGet(30_000);
+
+        // Act
+        int evicted = store.evictRefilled();
+
+        // Assert
+        assertThat(evicted).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.getAvailableTokens("recent")).isEqualTo(9);
+        assertThat(store.getAvailableTokens("old")).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should never hold more than the maximum number of entries")
+    void shouldBoundEntries() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            store.tryConsume("user" + i, 1);
+        }
+
+        // Assert
+        assertThat(store.size()).isLessThanOrEqualTo(3);
+        assertThat(store.getEvictedForced()).isPositive();
+        assertThat(store.getEstimatedMemoryBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should examine only one segment per new key when the store is full")
+    void shouldEvictOneSegmentPerNewKey() {
+        // Arrange - a full store of buckets that have all refilled
+        TokenBucketStore large = new TokenBucketStore(10, 10, Duration.ofMinutes(1), 1000, clock::get);
+        for (int i = 0; i < 1000; i++) {
+            large.tryConsume("user" + i, 1);
+        }
+        clock.addAndGet(60_000);
+
+        // Act
+        large.tryConsume("newcomer", 1);
+
+        // Assert
+        assertThat(large.getEvictedRefilled()).isEqualTo(64);
+        assertThat(large.size()).isEqualTo(1000 - 64 + 1);
+        assertThat(large.getEvictedForced()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should allow without recording when no room can be made")
+    void shouldFailOpenWhenStoreStaysFull() throws Exception {
+        // Arrange - another request holds the eviction lock
+        for (int i = 0; i < 3; i++) {
+            store.tryConsume("user" + i, 1);
+        }
+        ReentrantLock evictionLock = (ReentrantLock) ReflectionTestUtils.getField(store, "evictionLock");
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        other.submit(evictionLock::lock).get();
+
+        try {
+            // Act
+            ConsumptionResult result = store.tryConsume("newcomer", 1);
+
+            // Assert
+            assertThat(result.consumed()).isTrue();
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.getUntracked()).isEqualTo(1);
+        } finally {
+            other.submit(evictionLock::unlock).get();
+            other.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject requests larger than capacity")
+    void shouldRejectRequestsLargerThanCapacity() {
+        // Act
+        ConsumptionResult result = store.tryConsume("user", 11);
+
+        // Assert
+        assertThat(result.consumed()).isFalse();
+        assertThat(result.millisToWait()).isEqualTo(Long.MAX_VALUE);
+        assertThatThrownBy(() -> new TokenBucketStore(TokenBucketStore.MAX_CAPACITY + 1, 1,
+                Duration.ofMinutes(1), 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should hand out exactly the capacity under contention")
+    void shouldHandOutExactlyCapacityUnderContention() throws Exception {
+        // Arrange
+        TokenBucketStore shared = new TokenBucketStore(1000, 1000, Duration.ofMinutes(1), 10, clock::get);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            futures.add(threads.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (shared.tryConsume("hot-key", 1).consumed()) {
+                        granted.incrementAndGet();
+                    }
+                    if (i % 50 == 0) {
+                        shared.evictRefilled();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        threads.shutdown();
+
+        // Assert
+        assertThat(granted.get()).isEqualTo(1000);
+    }
+}
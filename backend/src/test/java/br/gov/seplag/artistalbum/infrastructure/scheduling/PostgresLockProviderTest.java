@@ -0,0 +1,163 @@
+package br.gov.seplag.artistalbum.infrastructure.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multi-instance test against a local PostgreSQL
+ * Run with TEST_DB_URL=jdbc:postgresql://localhost:5432/artistdb
+ * (and optionally TEST_DB_USER / TEST_DB_PASSWORD)
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+@DisplayName("PostgreSQL Lock Provider Tests")
+class PostgresLockProviderTest {
+
+    private static final int INSTANCES = 5;
+
+    private final List<PostgresLockProvider> instances = new ArrayList<>();
+    private final List<SingleConnectionDataSource> zonedDataSources = new ArrayList<>();
+    private String name;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = dataSource();
+        for (int i = 0; i < INSTANCES; i++) {
+            // One connection source and node ID per simulated API replica
+            instances.add(new PostgresLockProvider(new NamedParameterJdbcTemplate(dataSource()), "node-" + i));
+        }
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V9__create_scheduler_lock.sql"),
+                new ClassPathResource("db/migration/V11__use_timestamptz_for_scheduler_lock.sql"));
+        schema.setContinueOnError(true); // table already exists when migrations have run
+        schema.execute(dataSource);
+        name = "test-" + System.nanoTime();
+    }
+
+    @AfterEach
+    void tearDown() {
+        zonedDataSources.forEach(SingleConnectionDataSource::destroy);
+        new NamedParameterJdbcTemplate(dataSource()).getJdbcTemplate()
+                .update("DELETE FROM scheduler_lock WHERE name = ?", name);
+    }
+
+    @Test
+    @DisplayName("Should grant the lock to exactly one of several concurrent instances")
+    void shouldGrantLockToOneInstance() throws Exception {
+        // Arrange
+        ExecutorService threads = Executors.newFixedThreadPool(INSTANCES);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (PostgresLockProvider instance : instances) {
+            attempts.add(() -> instance.tryLock(name, Duration.ofMinutes(5)));
+        }
+
+        // Act
+        int granted = 0;
+        for (Future<Boolean> result : threads.invokeAll(attempts)) {
+            if (result.get()) {
+                granted++;
+            }
+        }
+        threads.shutdown();
+
+        // Assert
+        assertThat(granted).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the lock until lockAtLeastFor has passed after release")
+    void shouldHoldUntilLockAtLeastFor() {
+        // Arrange
+        assertThat(instances.get(0).tryLock(name, Duration.ofMinutes(5))).isTrue();
+
+        // Act
+        instances.get(0).unlock(name, Duration.ofMinutes(1));
+
+        // Assert
+        assertThat(instances.get(1).tryLock(name, Duration.ofMinutes(5))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should free the lock on release when lockAtLeastFor has already passed")
+    void shouldFreeLockOnRelease() {
+        // Arrange
+        assertThat(instances.get(0).tryLock(name, Duration.ofMinutes(5))).isTrue();
+
+        // Act
+        instances.get(0).unlock(name, Duration.ZERO);
+
+        // Assert
+        assertThat(instances.get(1).tryLock(name, Duration.ofMinutes(5))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should let another instance take over an expired lease")
+    void shouldTakeOverExpiredLease() throws Exception {
+        // Arrange - the owner never releases, as if it had crashed
+        assertThat(instances.get(0).tryLock(name, Duration.ofMillis(200))).isTrue();
+        assertThat(instances.get(1).tryLock(name, Duration.ofMinutes(5))).isFalse();
+
+        // Act
+        Thread.sleep(300);
+
+        // Assert
+        assertThat(instances.get(1).tryLock(name, Duration.ofMinutes(5))).isTrue();
+        instances.get(0).unlock(name, Duration.ofMinutes(10)); // stale owner must not extend the new lease
+        assertThat(instances.get(1).tryLock(name, Duration.ofMinutes(5))).isFalse();
+        instances.get(1).unlock(name, Duration.ZERO);
+        assertThat(instances.get(2).tryLock(name, Duration.ofMinutes(5))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should agree on lease expiry between instances in different time zones")
+    void shouldAgreeAcrossSessionTimeZones() {
+        // Arrange - the driver takes the session TimeZone from each JVM
+        PostgresLockProvider saoPaulo = new PostgresLockProvider(
+                new NamedParameterJdbcTemplate(dataSource("America/Sao_Paulo")), "node-sao-paulo");
+        PostgresLockProvider tokyo = new PostgresLockProvider(
+                new NamedParameterJdbcTemplate(dataSource("Asia/Tokyo")), "node-tokyo");
+
+        // Act
+        boolean first = saoPaulo.tryLock(name, Duration.ofMinutes(5));
+        boolean second = tokyo.tryLock(name, Duration.ofMinutes(5));
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+    }
+
+    private DriverManagerDataSource dataSource() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getenv("TEST_DB_URL"));
+        dataSource.setUsername(System.getenv().getOrDefault("TEST_DB_USER", "postgres"));
+        dataSource.setPassword(System.getenv().getOrDefault("TEST_DB_PASSWORD", "postgres"));
+        return dataSource;
+    }
+
+    // Single connection, so the session time zone set here applies to every statement
+    private SingleConnectionDataSource dataSource(String timeZone) {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(System.getenv("TEST_DB_URL"),
+                System.getenv().getOrDefault("TEST_DB_USER", "postgres"),
+                System.getenv().getOrDefault("TEST_DB_PASSWORD", "postgres"), true);
+        new JdbcTemplate(dataSource).execute("SET TIME ZONE '" + timeZone + "'");
+        zonedDataSources.add(dataSource);
+        return dataSource;
+    }
+}
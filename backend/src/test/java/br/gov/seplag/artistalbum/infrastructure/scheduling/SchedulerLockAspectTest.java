@@ -0,0 +1,141 @@
+package br.gov.seplag.artistalbum.infrastructure.scheduling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SchedulerLockAspect Tests")
+class SchedulerLockAspectTest {
+
+    @Mock
+    private LockProvider lockProvider;
+
+    private SchedulerLockAspect aspect;
+    private Job target;
+    private Job job;
+
+    static class Job {
+        final AtomicInteger runs = new AtomicInteger();
+        final AtomicBoolean heldDuringRun = new AtomicBoolean();
+        SchedulerLockAspect aspect;
+
+        @SchedulerLock(name = "test-job", lockAtMostFor = "PT5M", lockAtLeastFor = "PT1M")
+        public void run() {
+            runs.incrementAndGet();
+            heldDuringRun.set(aspect.isHeld("test-job"));
+        }
+
+        @SchedulerLock(name = "failing-job")
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        aspect = new SchedulerLockAspect(lockProvider);
+        target = new Job();
+        target.aspect = aspect;
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        job = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should run the job and release the lock when acquired")
+    void shouldRunWhenLockAcquired() {
+        // Arrange
+        when(lockProvider.tryLock("test-job", Duration.ofMinutes(5))).thenReturn(true);
+
+        // Act
+        job.run();
+
+        // Assert
+        assertThat(target.runs).hasValue(1);
+        assertThat(target.heldDuringRun).isTrue();
+        assertThat(aspect.isHeld("test-job")).isFalse();
+        assertThat(aspect.getExecuted("test-job")).isEqualTo(1);
+        verify(lockProvider).unlock("test-job", Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should skip the run when another instance holds the lock")
+    void shouldSkipWhenLockHeldElsewhere() {
+        // Arrange
+        when(lockProvider.tryLock(eq("test-job"), any())).thenReturn(false);
+
+        // Act
+        job.run();
+
+        // Assert
+        assertThat(target.runs).hasValue(0);
+        assertThat(aspect.getSkipped("test-job")).isEqualTo(1);
+        verify(lockProvider, never()).unlock(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip the run when the lock store is unreachable")
+    void shouldSkipWhenLockStoreFails() {
+        // Arrange
+        when(lockProvider.tryLock(eq("test-job"), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // Act
+        job.run();
+
+        // Assert
+        assertThat(target.runs).hasValue(0);
+        assertThat(aspect.getSkipped("test-job")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the lock when the job throws")
+    void shouldReleaseWhenJobThrows() {
+        // Arrange
+        when(lockProvider.tryLock(eq("failing-job"), any())).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> job.fail()).isInstanceOf(IllegalStateException.class);
+        verify(lockProvider).unlock("failing-job", Duration.ZERO);
+        assertThat(aspect.isHeld("failing-job")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should expose ownership and run metrics per lock")
+    void shouldExposeMetrics() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        aspect.bindTo(registry);
+        when(lockProvider.tryLock(eq("test-job"), any())).thenReturn(true, false);
+
+        // Act
+        job.run();
+        job.run();
+
+        // Assert
+        assertThat(registry.get("scheduler.lock.runs").tags("name", "test-job", "result", "executed")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("scheduler.lock.runs").tags("name", "test-job", "result", "skipped")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("scheduler.lock.held").tag("name", "test-job").gauge().value()).isZero();
+        assertThat(registry.get("scheduler.lock.last_run").tag("name", "test-job").gauge().value()).isPositive();
+    }
+}
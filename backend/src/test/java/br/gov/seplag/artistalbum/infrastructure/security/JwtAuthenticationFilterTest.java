@@ -1,5 +1,7 @@
 package br.gov.seplag.artistalbum.infrastructure.security;
 
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,13 +12,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.*;
@@ -33,6 +38,12 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Spy
+    private PrincipalCache principalCache = new PrincipalCache();
+
+    @Spy
+    private Tracer tracer = Tracer.NOOP;
+
     @Mock
     private HttpServletRequest request;
 
@@ -48,6 +59,9 @@ class JwtAuthenticationFilterTest {
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
+        ReflectionTestUtils.setField(principalCache, "enabled", true);
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 100);
     }
 
     @Test
@@ -64,9 +78,8 @@ class JwtAuthenticationFilterTest {
                 .build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.extractUsername(token)).thenReturn(username);
+        when(jwtTokenProvider.verify(token)).thenReturn(verifiedToken(username));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtTokenProvider.validateToken(token, userDetails)).thenReturn(true);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -88,7 +101,7 @@ class JwtAuthenticationFilterTest {
 
         // Assert
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verify(jwtTokenProvider, never()).extractUsername(anyString());
+        verify(jwtTokenProvider, never()).verify(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
     }
@@ -104,7 +117,7 @@ class JwtAuthenticationFilterTest {
 
         // Assert
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verify(jwtTokenProvider, never()).extractUsername(anyString());
+        verify(jwtTokenProvider, never()).verify(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -122,9 +135,7 @@ class JwtAuthenticationFilterTest {
                 .build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.extractUsername(token)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtTokenProvider.validateToken(token, userDetails)).thenReturn(false);
+        when(jwtTokenProvider.verify(token)).thenThrow(new SignatureException("JWT signature does not match"));
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -141,7 +152,7 @@ class JwtAuthenticationFilterTest {
         String token = "valid.jwt.token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.extractUsername(token)).thenThrow(new RuntimeException("Token parsing error"));
+        when(jwtTokenProvider.verify(token)).thenThrow(new RuntimeException("Token parsing error"));
 
         // Act & Assert - should not throw exception
         assertThatCode(() -> jwtAuthenticationFilter.doFilterInternal(request, response, filterChain))
@@ -150,6 +161,26 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    @DisplayName("Should not authenticate with a refresh token")
+    void shouldNotAuthenticateWithRefreshToken() throws ServletException, IOException {
+        // Arrange
+        String token = "refresh.jwt.token";
+        Instant now = Instant.now();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.verify(token)).thenReturn(
+                new VerifiedToken("testuser", VerifiedToken.REFRESH_TYPE, now, now.plusSeconds(86400)));
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(filterChain).doFilter(request, response);
+    }
+
     @Test
     @DisplayName("Should not authenticate when username is null")
     void shouldNotAuthenticateWhenUsernameIsNull() throws ServletException, IOException {
@@ -157,7 +188,7 @@ class JwtAuthenticationFilterTest {
         String token = "valid.jwt.token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.extractUsername(token)).thenReturn(null);
+        when(jwtTokenProvider.verify(token)).thenReturn(verifiedToken(null));
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -195,7 +226,7 @@ class JwtAuthenticationFilterTest {
         // Assert
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(existingUser);
-        verify(jwtTokenProvider, never()).extractUsername(anyString());
+        verify(jwtTokenProvider, never()).verify(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -213,15 +244,73 @@ class JwtAuthenticationFilterTest {
                 .build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.extractUsername(token)).thenReturn(username);
+        when(jwtTokenProvider.verify(token)).thenReturn(verifiedToken(username));
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(jwtTokenProvider, times(1)).verify(token);
+        verifyNoMoreInteractions(jwtTokenProvider);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the principal cache")
+    void shouldServeRepeatedRequestsFromPrincipalCache() throws ServletException, IOException {
+        // Arrange
+        String token = "valid.jwt.token";
+        String username = "testuser";
+
+        UserDetails userDetails = User.builder()
+                .username(username)
+                .password("password")
+                .authorities(Collections.emptyList())
+                .build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.verify(token)).thenReturn(verifiedToken(username));
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verify(userDetailsService, times(1)).loadUserByUsername(username);
+        assertThat(principalCache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not authenticate disabled user")
+    void shouldNotAuthenticateDisabledUser() throws ServletException, IOException {
+        // Arrange
+        String token = "valid.jwt.token";
+        String username = "testuser";
+
+        UserDetails userDetails = User.builder()
+                .username(username)
+                .password("password")
+                .authorities(Collections.emptyList())
+                .disabled(true)
+                .build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.verify(token)).thenReturn(verifiedToken(username));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtTokenProvider.validateToken(token, userDetails)).thenReturn(true);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtTokenProvider).extractUsername(token);
-        verify(jwtTokenProvider).validateToken(token, userDetails);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(filterChain).doFilter(request, response);
+    }
+
+    private VerifiedToken verifiedToken(String username) {
+        Instant now = Instant.now();
+        return new VerifiedToken(username, null, now, now.plusSeconds(300));
     }
 }
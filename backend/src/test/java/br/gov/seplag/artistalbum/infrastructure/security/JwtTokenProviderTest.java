@@ -2,6 +2,7 @@ package br.gov.seplag.artistalbum.infrastructure.security;
 
 import br.gov.seplag.artistalbum.domain.entity.User;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +25,9 @@ class JwtTokenProviderTest {
                 "your-super-secret-key-change-in-production-minimum-256-bits-required");
         ReflectionTestUtils.setField(jwtTokenProvider, "expiration", 300000L); // 5 minutes
         ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 86400000L); // 24 hours
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheEnabled", true);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheMaxSize", 100);
+        jwtTokenProvider.init();
 
         testUser = User.builder()
                 .id(1L)
@@ -107,4 +111,76 @@ class JwtTokenProviderTest {
         // Assert
         assertThat(expirationTime).isEqualTo(300000L);
     }
+
+    @Test
+    @DisplayName("Should verify token into immutable claims")
+    void shouldVerifyTokenIntoClaims() {
+        // Arrange
+        String token = jwtTokenProvider.generateRefreshToken(testUser);
+
+        // Act
+        VerifiedToken verified = jwtTokenProvider.verify(token);
+
+        // Assert
+        assertThat(verified.getSubject()).isEqualTo("testuser");
+        assertThat(verified.isRefreshToken()).isTrue();
+        assertThat(verified.getExpiresAt()).isAfter(verified.getIssuedAt());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated verification from the verified-token cache")
+    void shouldServeRepeatedVerificationFromCache() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken(testUser);
+
+        // Act
+        VerifiedToken first = jwtTokenProvider.verify(token);
+        VerifiedToken second = jwtTokenProvider.verify(token);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(jwtTokenProvider.getCacheHits()).isEqualTo(1);
+        assertThat(jwtTokenProvider.getCacheMisses()).isEqualTo(1);
+        assertThat(jwtTokenProvider.getVerifiedCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject tampered token and not cache it")
+    void shouldRejectTamperedToken() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken(testUser);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThatThrownBy(() -> jwtTokenProvider.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(jwtTokenProvider.validateToken(tampered, testUser)).isFalse();
+        assertThat(jwtTokenProvider.getVerifiedCacheSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject expired token")
+    void shouldRejectExpiredToken() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtTokenProvider, "expiration", -1000L);
+        String token = jwtTokenProvider.generateToken(testUser);
+
+        // Act & Assert
+        assertThatThrownBy(() -> jwtTokenProvider.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtTokenProvider.isTokenExpired(token)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not cache beyond the configured maximum size")
+    void shouldBoundVerifiedCache() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheMaxSize", 1);
+        UserDetails otherUser = User.builder().username("other").password("password").build();
+
+        // Act
+        jwtTokenProvider.verify(jwtTokenProvider.generateToken(testUser));
+        jwtTokenProvider.verify(jwtTokenProvider.generateToken(otherUser));
+
+        // Assert
+        assertThat(jwtTokenProvider.getVerifiedCacheSize()).isEqualTo(1);
+    }
 }
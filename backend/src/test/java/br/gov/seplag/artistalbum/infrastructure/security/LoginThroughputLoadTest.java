@@ -0,0 +1,147 @@
+package br.gov.seplag.artistalbum.infrastructure.security;
+
+import br.gov.seplag.artistalbum.domain.exception.ServiceUnavailableException;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Login throughput under a burst: many request threads share the bounded
+ * BCrypt verification pool with the production cost factor
+ */
+@Slf4j
+@DisplayName("Login Throughput Load Tests")
+class LoginThroughputLoadTest {
+
+    private static final int REQUEST_THREADS = 100;
+    private static final int LOGINS = 100;
+    private static final int STRENGTH = 10;
+
+    private final Map<String, String> storedHashes = new ConcurrentHashMap<>();
+    private final AtomicInteger upgrades = new AtomicInteger();
+
+    private PasswordVerificationExecutor verificationExecutor;
+    private AuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(STRENGTH);
+        storedHashes.put("admin", encoder.encode("admin123"));
+        storedHashes.put("legacy", new BCryptPasswordEncoder(4).encode("legacy123"));
+
+        UserDetailsPasswordService passwordService = (user, newPassword) -> {
+            upgrades.incrementAndGet();
+            storedHashes.put(user.getUsername(), newPassword);
+            return User.withUserDetails(user).password(newPassword).build();
+        };
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(this::loadUser);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(passwordService);
+        authenticationManager = new ProviderManager(provider);
+
+        verificationExecutor = new PasswordVerificationExecutor(Tracer.NOOP);
+        ReflectionTestUtils.setField(verificationExecutor, "threads", 0);
+        ReflectionTestUtils.setField(verificationExecutor, "queueCapacity", 16);
+        ReflectionTestUtils.setField(verificationExecutor, "timeoutMs", 30_000L);
+        verificationExecutor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        verificationExecutor.shutdown();
+    }
+
+    @Test
+    @Tag("load")
+    @DisplayName("Should verify a login burst on the bounded pool and shed the excess with 503")
+    void shouldVerifyLoginBurstOnBoundedPool() throws Exception {
+        // Arrange
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> requests = new ArrayList<>();
+
+        for (int i = 0; i < LOGINS; i++) {
+            requests.add(requestThreads.submit(() -> {
+                start.await();
+                try {
+                    Authentication result = verificationExecutor.execute(() -> authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken("admin", "admin123")));
+                    if (result.isAuthenticated()) {
+                        succeeded.incrementAndGet();
+                    }
+                } catch (ServiceUnavailableException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> request : requests) {
+            request.get();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        requestThreads.shutdown();
+
+        // Assert
+        assertThat(succeeded.get() + rejected.get()).isEqualTo(LOGINS);
+        assertThat(succeeded.get()).isPositive();
+        assertThat(rejected.get()).isEqualTo((int) verificationExecutor.getRejected());
+        log.debug("BCrypt({}) logins: {} ok, {} rejected in {} s ({} logins/s) on {} verification thread(s)",
+                STRENGTH, succeeded.get(), rejected.get(), String.format("%.2f", seconds),
+                String.format("%.1f", succeeded.get() / seconds), Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    @DisplayName("Should re-hash passwords stored with a lower cost on successful login")
+    void shouldRehashWeakerPasswordOnLogin() {
+        // Act
+        verificationExecutor.execute(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken("legacy", "legacy123")));
+        verificationExecutor.execute(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken("legacy", "legacy123")));
+
+        // Assert
+        assertThat(upgrades.get()).isEqualTo(1);
+        assertThat(storedHashes.get("legacy")).startsWith("$2a$10$");
+    }
+
+    private UserDetails loadUser(String username) {
+        return User.withUsername(username)
+                .password(storedHashes.get(username))
+                .roles("USER")
+                .build();
+    }
+}
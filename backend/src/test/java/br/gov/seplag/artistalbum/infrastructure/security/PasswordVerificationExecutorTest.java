@@ -0,0 +1,178 @@
+package br.gov.seplag.artistalbum.infrastructure.security;
+
+import br.gov.seplag.artistalbum.domain.exception.ServiceUnavailableException;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PasswordVerificationExecutor Tests")
+class PasswordVerificationExecutorTest {
+
+    private PasswordVerificationExecutor executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordVerificationExecutor(Tracer.NOOP);
+        ReflectionTestUtils.setField(executor, "threads", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(executor, "retryAfterSeconds", 2L);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return the task result")
+    void shouldReturnTaskResult() {
+        // Act
+        String result = executor.execute(() -> "ok");
+
+        // Assert
+        assertThat(result).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Should run the task inside the caller's current span")
+    void shouldRunTaskInCallerSpan() {
+        // Arrange
+        Tracer tracer = mock(Tracer.class);
+        Span span = mock(Span.class);
+        when(tracer.currentSpan()).thenReturn(span);
+        when(tracer.withSpan(span)).thenReturn(mock(Tracer.SpanInScope.class));
+        ReflectionTestUtils.setField(executor, "tracer", tracer);
+
+        // Act
+        String thread = executor.execute(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertThat(thread).startsWith("password-verify-");
+        verify(tracer).withSpan(span);
+    }
+
+    @Test
+    @DisplayName("Should rethrow runtime exceptions from the task unchanged")
+    void shouldRethrowTaskExceptions() {
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        })).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when pool and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Arrange - one task running, one queued
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.execute(() -> {
+            started.countDown();
+            return await();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> executor.execute(this::await));
+        waitForQueuedTasks(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(() -> "rejected"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfterSeconds()).isEqualTo(2));
+        assertThat(executor.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give up with 503 when verification takes too long")
+    void shouldTimeOutSlowVerification() {
+        // Arrange
+        ReflectionTestUtils.setField(executor, "timeoutMs", 50L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(this::await))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(executor.getTimedOut()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count a timed-out check that is still hashing against the queue bound")
+    void shouldRejectWhileTimedOutCheckStillRuns() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(executor, "timeoutMs", 50L);
+        assertThatThrownBy(() -> executor.execute(this::await))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        // Act & Assert
+        assertThat(executor.getAbandonedTasks()).isEqualTo(1);
+        assertThatThrownBy(() -> executor.execute(() -> "rejected"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(executor.getRejected()).isEqualTo(1);
+
+        release.countDown();
+        waitForAbandonedTasks(0);
+        ReflectionTestUtils.setField(executor, "timeoutMs", 5000L);
+        assertThat(executor.execute(() -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Should remove a check from the queue when its caller times out before it starts")
+    void shouldDropQueuedCheckOnTimeout() throws Exception {
+        // Arrange - the only thread is busy
+        ReflectionTestUtils.setField(executor, "queueCapacity", 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.execute(() -> {
+            started.countDown();
+            return await();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        ReflectionTestUtils.setField(executor, "timeoutMs", 50L);
+
+        // Act
+        assertThatThrownBy(() -> executor.execute(() -> "never"))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        // Assert
+        assertThat(executor.getQueuedTasks()).isZero();
+        assertThat(executor.getAbandonedTasks()).isZero();
+    }
+
+    private String await() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private void waitForQueuedTasks(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueuedTasks() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitForAbandonedTasks(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getAbandonedTasks() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
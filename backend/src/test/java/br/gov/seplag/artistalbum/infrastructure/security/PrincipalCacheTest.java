@@ -0,0 +1,183 @@
+package br.gov.seplag.artistalbum.infrastructure.security;
+
+import br.gov.seplag.artistalbum.domain.entity.Album;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("PrincipalCache Tests")
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "enabled", true);
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 2);
+
+        loads = new AtomicInteger();
+        loader = username -> {
+            loads.incrementAndGet();
+            return User.builder()
+                    .username(username)
+                    .password("password")
+                    .authorities(Collections.emptyList())
+                    .build();
+        };
+    }
+
+    @Test
+    @DisplayName("Should load once and serve later lookups from cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Act
+        UserDetails first = principalCache.getOrLoad("admin", loader);
+        UserDetails second = principalCache.getOrLoad("admin", loader);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(principalCache.getHits()).isEqualTo(1);
+        assertThat(principalCache.getMisses()).isEqualTo(1);
+        assertThat(principalCache.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should reload after entry expires")
+    void shouldReloadAfterExpiry() {
+        // Arrange
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 0L);
+
+        // Act
+        principalCache.getOrLoad("admin", loader);
+        principalCache.getOrLoad("admin", loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload after invalidation")
+    void shouldReloadAfterInvalidation() {
+        // Arrange
+        principalCache.getOrLoad("admin", loader);
+
+        // Act
+        principalCache.invalidate("admin");
+        principalCache.getOrLoad("admin", loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should never grow beyond maximum size")
+    void shouldStayWithinMaximumSize() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            principalCache.getOrLoad("user" + i, loader);
+        }
+
+        // Assert
+        assertThat(principalCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should always load when cache is disabled")
+    void shouldAlwaysLoadWhenDisabled() {
+        // Arrange
+        ReflectionTestUtils.setField(principalCache, "enabled", false);
+
+        // Act
+        principalCache.getOrLoad("admin", loader);
+        principalCache.getOrLoad("admin", loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(principalCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cache a snapshot without the password hash")
+    void shouldCacheSnapshotWithoutPassword() {
+        // Act
+        UserDetails principal = principalCache.getOrLoad("admin", loader);
+
+        // Assert
+        assertThat(principal.getUsername()).isEqualTo("admin");
+        assertThat(principal.getPassword()).isEmpty();
+        assertThat(principal.isEnabled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not cache a principal loaded while the user was invalidated")
+    void shouldNotCacheLoadOverlappingInvalidation() {
+        // Arrange - the row changes and commits while the lookup is reading it
+        Function<String, UserDetails> racingLoader = username -> {
+            UserDetails stale = loader.apply(username);
+            principalCache.invalidate(username);
+            return stale;
+        };
+
+        // Act
+        principalCache.getOrLoad("admin", racingLoader);
+        principalCache.getOrLoad("admin", loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(principalCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict cached principal when a user update commits")
+    void shouldEvictWhenUserUpdateCommits() {
+        // Arrange
+        PrincipalCacheInvalidationListener listener =
+                new PrincipalCacheInvalidationListener(principalCache, mock(EntityManagerFactory.class));
+        principalCache.getOrLoad("admin", loader);
+        br.gov.seplag.artistalbum.domain.entity.User user = br.gov.seplag.artistalbum.domain.entity.User.builder()
+                .username("admin")
+                .enabled(false)
+                .build();
+        EntityPersister persister = mock(EntityPersister.class);
+
+        // Act
+        listener.onPostUpdate(new PostUpdateEvent(user, 1L, null, null, null, persister, null));
+
+        // Assert
+        assertThat(principalCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should only ask for post-commit events of users")
+    void shouldOnlyHandleUserEntities() {
+        // Arrange
+        PrincipalCacheInvalidationListener listener =
+                new PrincipalCacheInvalidationListener(principalCache, mock(EntityManagerFactory.class));
+        EntityPersister users = mock(EntityPersister.class);
+        EntityPersister albums = mock(EntityPersister.class);
+        doReturn(br.gov.seplag.artistalbum.domain.entity.User.class).when(users).getMappedClass();
+        doReturn(Album.class).when(albums).getMappedClass();
+
+        // Act & Assert
+        assertThat(listener.requiresPostCommitHandling(users)).isTrue();
+        assertThat(listener.requiresPostCommitHandling(albums)).isFalse();
+    }
+}
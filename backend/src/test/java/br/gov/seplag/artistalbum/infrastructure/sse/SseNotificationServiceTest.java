@@ -0,0 +1,324 @@
+package br.gov.seplag.artistalbum.infrastructure.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@DisplayName("SseNotificationService Tests")
+class SseNotificationServiceTest {
+
+    private SseNotificationService sseNotificationService;
+
+    @BeforeEach
+    void setUp() {
+        sseNotificationService = new SseNotificationService();
+        ReflectionTestUtils.setField(sseNotificationService, "replayBufferSize", 3);
+        ReflectionTestUtils.setField(sseNotificationService, "maxPendingFrames", 8);
+        // Write on the broadcasting thread unless a test needs the writer pool
+        ReflectionTestUtils.setField(sseNotificationService, "writer", (Executor) Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should write the same prebuilt event to every subscriber")
+    void shouldWriteSameEventToEverySubscriber() {
+        // Arrange
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        sseNotificationService.subscribe(first, null);
+        sseNotificationService.subscribe(second, null);
+
+        // Act
+        sseNotificationService.broadcast(payload(1));
+
+        // Assert
+        assertThat(first.sent).hasSize(1);
+        assertThat(second.sent).hasSize(1);
+        assertThat(first.sent.get(0)).isSameAs(second.sent.get(0));
+        assertThat(render(first.sent.get(0))).contains("id:1\n", "event:album-events\n");
+        assertThat(sseNotificationService.getSentFrames()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should replay buffered events after Last-Event-ID")
+    void shouldReplayEventsAfterLastEventId() {
+        // Arrange
+        sseNotificationService.broadcast(payload(1));
+        sseNotificationService.broadcast(payload(2));
+        sseNotificationService.broadcast(payload(3));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        sseNotificationService.subscribe(emitter, "1");
+
+        // Assert
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(render(emitter.sent.get(0))).contains("id:2\n");
+        assertThat(render(emitter.sent.get(1))).contains("id:3\n");
+    }
+
+    @Test
+    @DisplayName("Should send a resync event when the buffer no longer holds the missed events")
+    void shouldSendResyncWhenMissedEventsWereEvicted() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            sseNotificationService.broadcast(payload(i));
+        }
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        sseNotificationService.subscribe(emitter, "1");
+
+        // Assert
+        assertThat(emitter.sent).hasSize(1);
+        assertThat(render(emitter.sent.get(0))).contains("id:5\n", "event:resync\n", "RESYNC");
+    }
+
+    @Test
+    @DisplayName("Should send a resync event for an ID issued by an earlier instance")
+    void shouldSendResyncForUnknownEventId() {
+        // Arrange
+        sseNotificationService.broadcast(payload(1));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        sseNotificationService.subscribe(emitter, "42");
+
+        // Assert
+        assertThat(emitter.sent).hasSize(1);
+        assertThat(render(emitter.sent.get(0))).contains("event:resync\n");
+    }
+
+    @Test
+    @DisplayName("Should send a numbered resync event on open streams and replay it to reconnecting clients")
+    void shouldBroadcastResyncEvent() {
+        // Arrange
+        RecordingEmitter open = new RecordingEmitter();
+        sseNotificationService.subscribe(open, null);
+        sseNotificationService.broadcast(payload(1));
+
+        // Act
+        sseNotificationService.resync();
+        RecordingEmitter reconnected = new RecordingEmitter();
+        sseNotificationService.subscribe(reconnected, "1");
+        sseNotificationService.broadcast(payload(2));
+
+        // Assert
+        assertThat(open.completed).isFalse();
+        assertThat(open.sent).hasSize(3);
+        assertThat(render(open.sent.get(1))).contains("id:2\n", "event:resync\n", "RESYNC");
+        assertThat(reconnected.sent).hasSize(2);
+        assertThat(render(reconnected.sent.get(0))).contains("id:2\n", "event:resync\n");
+        assertThat(render(reconnected.sent.get(1))).contains("id:3\n", "event:album-events\n");
+        assertThat(sseNotificationService.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should deliver replayed frames before frames broadcast during the reconnect")
+    void shouldKeepReplayAheadOfConcurrentBroadcasts() {
+        // Arrange - writes are held back to interleave a broadcast with the replay
+        Queue<Runnable> writes = new ArrayDeque<>();
+        ReflectionTestUtils.setField(sseNotificationService, "writer", (Executor) writes::add);
+        sseNotificationService.broadcast(payload(1));
+        sseNotificationService.broadcast(payload(2));
+        sseNotificationService.broadcast(payload(3));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        sseNotificationService.subscribe(emitter, "1");
+        sseNotificationService.broadcast(payload(4));
+        while (!writes.isEmpty()) {
+            writes.poll().run();
+        }
+
+        // Assert
+        assertThat(emitter.sent).hasSize(3);
+        assertThat(render(emitter.sent.get(0))).contains("id:2\n");
+        assertThat(render(emitter.sent.get(1))).contains("id:3\n");
+        assertThat(render(emitter.sent.get(2))).contains("id:4\n");
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to other subscribers and disconnect a stalled one")
+    void shouldDisconnectStalledSubscriber() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(sseNotificationService, "writerThreads", 2);
+        ReflectionTestUtils.setField(sseNotificationService, "maxPendingFrames", 2);
+        sseNotificationService.init();
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter();
+        stalled.blockUntil = release;
+        RecordingEmitter healthy = new RecordingEmitter();
+        sseNotificationService.subscribe(stalled, null);
+        sseNotificationService.subscribe(healthy, null);
+
+        try {
+            // Act - the healthy client keeps up with every frame
+            for (int i = 1; i <= 5; i++) {
+                healthy.delivered = new CountDownLatch(1);
+                sseNotificationService.broadcast(payload(i));
+                assertThat(healthy.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+
+            // Assert
+            assertThat(healthy.sent).hasSize(5);
+            assertThat(sseNotificationService.getOverflowedSubscribers()).isEqualTo(1);
+            assertThat(sseNotificationService.getSubscriberCount()).isEqualTo(1);
+            release.countDown();
+            assertThat(stalled.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            sseNotificationService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not replay for new or malformed Last-Event-ID")
+    void shouldNotReplayWithoutValidLastEventId() {
+        // Arrange
+        sseNotificationService.broadcast(payload(1));
+        RecordingEmitter fresh = new RecordingEmitter();
+        RecordingEmitter malformed = new RecordingEmitter();
+
+        // Act
+        sseNotificationService.subscribe(fresh, null);
+        sseNotificationService.subscribe(malformed, "abc");
+
+        // Assert
+        assertThat(fresh.sent).isEmpty();
+        assertThat(malformed.sent).isEmpty();
+        assertThat(sseNotificationService.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop subscriber when writing fails")
+    void shouldDropSubscriberWhenWriteFails() {
+        // Arrange
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.failing = true;
+        RecordingEmitter healthy = new RecordingEmitter();
+        sseNotificationService.subscribe(broken, null);
+        sseNotificationService.subscribe(healthy, null);
+
+        // Act
+        sseNotificationService.broadcast(payload(1));
+        sseNotificationService.broadcast(payload(2));
+
+        // Assert
+        assertThat(sseNotificationService.getSubscriberCount()).isEqualTo(1);
+        assertThat(sseNotificationService.getFailedSends()).isEqualTo(1);
+        assertThat(healthy.sent).hasSize(2);
+    }
+
+    @Test
+    @Tag("load")
+    @DisplayName("Should fan out frames to thousands of subscribers with one event object per frame")
+    void shouldFanOutToThousandsOfSubscribers() {
+        // Arrange - same shape as the STOMP broker load test
+        int subscribers = 5000;
+        int frames = 10;
+        Set<Object> distinctEvents = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        for (int i = 0; i < subscribers; i++) {
+            sseNotificationService.subscribe(new RecordingEmitter(distinctEvents), null);
+        }
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 1; i <= frames; i++) {
+            sseNotificationService.broadcast(payload(i));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertThat(sseNotificationService.getSentFrames()).isEqualTo((long) frames * subscribers);
+        assertThat(distinctEvents).hasSize(frames);
+        log.debug("Delivered {} SSE frames to {} subscribers in {} ms", frames, subscribers, elapsedMillis);
+    }
+
+    private byte[] payload(int id) {
+        return ("{\"type\":\"ALBUM_EVENTS\",\"count\":" + id + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String render(Set<DataWithMediaType> event) {
+        StringBuilder text = new StringBuilder();
+        for (DataWithMediaType part : event) {
+            Object data = part.getData();
+            text.append(data instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : data);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Emitter that records what would have been written to the response
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> sent = new ArrayList<>();
+        private final Set<Object> distinctEvents;
+        private boolean failing;
+        private boolean completed;
+        private CountDownLatch blockUntil;
+        private volatile CountDownLatch delivered;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        RecordingEmitter() {
+            this(null);
+        }
+
+        RecordingEmitter(Set<Object> distinctEvents) {
+            this.distinctEvents = distinctEvents;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            record(items);
+        }
+
+        private synchronized void record(Set<DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (distinctEvents != null) {
+                distinctEvents.add(items);
+                return;
+            }
+            sent.add(items);
+            if (delivered != null) {
+                delivered.countDown();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            closed.countDown();
+        }
+    }
+}
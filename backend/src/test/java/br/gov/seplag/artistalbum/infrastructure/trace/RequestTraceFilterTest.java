@@ -0,0 +1,148 @@
+package br.gov.seplag.artistalbum.infrastructure.trace;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Request Trace Filter Tests")
+class RequestTraceFilterTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RequestTraceFilter requestTraceFilter;
+
+    @BeforeEach
+    void setUp() {
+        requestTraceFilter = new RequestTraceFilter(objectMapper);
+        ReflectionTestUtils.setField(requestTraceFilter, "directory", directory.toString());
+        ReflectionTestUtils.setField(requestTraceFilter, "maxFileSizeMb", 1L);
+        ReflectionTestUtils.setField(requestTraceFilter, "maxFiles", 2);
+        ReflectionTestUtils.setField(requestTraceFilter, "sampleRate", 1.0);
+        ReflectionTestUtils.setField(requestTraceFilter, "maxBodyBytes", 1024);
+        ReflectionTestUtils.setField(requestTraceFilter, "queueCapacity", 100);
+        ReflectionTestUtils.setField(requestTraceFilter, "bypassPaths", List.of("/actuator/**"));
+        requestTraceFilter.init();
+    }
+
+    @Test
+    @DisplayName("Should record template, variables, parameters and timing of a request")
+    void shouldRecordRequest() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/albums/42");
+        request.addParameter("page", "0");
+        request.addHeader("Authorization", "Bearer secret-token");
+
+        // Act
+        requestTraceFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/albums/{id}");
+            req.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "42"));
+        });
+
+        // Assert
+        RequestTrace trace = traces().get(0);
+        assertThat(trace.method()).isEqualTo("GET");
+        assertThat(trace.pathTemplate()).isEqualTo("/api/v1/albums/{id}");
+        assertThat(trace.pathVariables()).containsEntry("id", "42");
+        assertThat(trace.params()).containsEntry("page", List.of("0"));
+        assertThat(trace.authenticated()).isTrue();
+        assertThat(trace.status()).isEqualTo(200);
+        assertThat(trace.durationMicros()).isNotNegative();
+        assertThat(Files.readString(directory.resolve("requests.jsonl"))).doesNotContain("secret-token");
+        assertThat(requestTraceFilter.getCaptured()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the shape of JSON bodies without their text or secrets")
+    void shouldRecordSanitizedBodyShape() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setContentType("application/json");
+        request.setContent("{\"username\":\"admin\",\"password\":\"admin123\",\"remember\":true,\"tags\":[\"a\",1]}"
+                .getBytes());
+        request.addParameter("refreshToken", "abc");
+
+        // Act
+        requestTraceFilter.doFilter(request, new MockHttpServletResponse(), consumeBody());
+
+        // Assert
+        RequestTrace trace = traces().get(0);
+        JsonNode body = trace.body();
+        assertThat(body.path("username").asText()).isEqualTo("{string:5}");
+        assertThat(body.path("password").asText()).isEqualTo(TraceSanitizer.REDACTED);
+        assertThat(body.path("remember").asBoolean()).isTrue();
+        assertThat(body.path("tags").get(0).asText()).isEqualTo("{string:1}");
+        assertThat(body.path("tags").get(1).asInt()).isEqualTo(1);
+        assertThat(trace.params()).containsEntry("refreshToken", List.of(TraceSanitizer.REDACTED));
+        assertThat(Files.readString(directory.resolve("requests.jsonl"))).doesNotContain("admin123", "abc");
+    }
+
+    @Test
+    @DisplayName("Should keep numbers and paging parameters but only the length of other query values")
+    void shouldShapeQueryParameterValues() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/albums");
+        request.addParameter("title", "Bohemian Rhapsody");
+        request.addParameter("artistId", "7");
+        request.addParameter("page", "2");
+        request.addParameter("sortBy", "title");
+
+        // Act
+        requestTraceFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        // Assert
+        RequestTrace trace = traces().get(0);
+        assertThat(trace.params())
+                .containsEntry("title", List.of("{string:17}"))
+                .containsEntry("artistId", List.of("7"))
+                .containsEntry("page", List.of("2"))
+                .containsEntry("sortBy", List.of("title"));
+        assertThat(Files.readString(directory.resolve("requests.jsonl"))).doesNotContain("Bohemian");
+    }
+
+    @Test
+    @DisplayName("Should not record bypassed paths")
+    void shouldSkipBypassedPaths() throws Exception {
+        // Act
+        requestTraceFilter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"),
+                new MockHttpServletResponse(), (req, res) -> { });
+        requestTraceFilter.shutdown();
+
+        // Assert
+        assertThat(requestTraceFilter.getCaptured()).isZero();
+        assertThat(directory.resolve("requests.jsonl")).doesNotExist();
+    }
+
+    private static FilterChain consumeBody() {
+        return (req, res) -> req.getInputStream().readAllBytes();
+    }
+
+    private List<RequestTrace> traces() throws Exception {
+        requestTraceFilter.shutdown();
+        return Files.readAllLines(directory.resolve("requests.jsonl")).stream()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, RequestTrace.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+}
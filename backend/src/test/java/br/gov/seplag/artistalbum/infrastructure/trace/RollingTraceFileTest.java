@@ -0,0 +1,53 @@
+package br.gov.seplag.artistalbum.infrastructure.trace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Rolling Trace File Tests")
+class RollingTraceFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should roll over by size and keep at most maxFiles files")
+    void shouldRollOverBySize() throws Exception {
+        // Arrange - each line is 10 bytes with its newline, two fit per file
+        try (RollingTraceFile file = new RollingTraceFile(directory, "requests", 20, 3)) {
+            // Act
+            for (int i = 0; i < 8; i++) {
+                file.append("line-" + i + "...");
+            }
+        }
+
+        // Assert
+        assertThat(Files.readAllLines(directory.resolve("requests.jsonl"))).containsExactly("line-6...", "line-7...");
+        assertThat(Files.readAllLines(directory.resolve("requests.1.jsonl"))).containsExactly("line-4...", "line-5...");
+        assertThat(Files.readAllLines(directory.resolve("requests.2.jsonl"))).containsExactly("line-2...", "line-3...");
+        assertThat(directory.resolve("requests.3.jsonl")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should append to the existing file after a restart")
+    void shouldAppendAfterRestart() throws Exception {
+        // Arrange
+        try (RollingTraceFile file = new RollingTraceFile(directory, "requests", 1024, 2)) {
+            file.append("first");
+        }
+
+        // Act
+        try (RollingTraceFile file = new RollingTraceFile(directory, "requests", 1024, 2)) {
+            file.append("second");
+        }
+
+        // Assert
+        assertThat(Files.readAllLines(directory.resolve("requests.jsonl"))).isEqualTo(List.of("first", "second"));
+    }
+}
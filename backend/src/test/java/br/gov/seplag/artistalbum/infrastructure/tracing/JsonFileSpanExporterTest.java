@@ -0,0 +1,108 @@
+package br.gov.seplag.artistalbum.infrastructure.tracing;
+
+import br.gov.seplag.artistalbum.infrastructure.trace.RollingTraceFile;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JSON File Span Exporter Tests")
+class JsonFileSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        JsonFileSpanExporter exporter = new JsonFileSpanExporter(objectMapper,
+                new RollingTraceFile(directory, "spans", 1024 * 1024, 2));
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> { });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    @DisplayName("Should write nested spans as one JSON line each, linked by parent span ID")
+    void shouldWriteNestedSpans() throws Throwable {
+        // Arrange
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(List.class.getMethod("size"));
+        when(invocation.proceed()).thenReturn(3);
+        RepositorySpanInterceptor interceptor = new RepositorySpanInterceptor(() -> tracer, List.class);
+
+        // Act
+        Object result = Spans.inSpan(tracer, "AlbumService.findAll", () -> interceptor.invoke(invocation));
+        tracerProvider.forceFlush();
+
+        // Assert
+        assertThat(result).isEqualTo(3);
+        Map<String, JsonNode> spans = readSpans();
+        JsonNode service = spans.get("AlbumService.findAll");
+        JsonNode repository = spans.get("List.size");
+        assertThat(service.has("parentSpanId")).isFalse();
+        assertThat(repository.get("traceId").asText()).isEqualTo(service.get("traceId").asText());
+        assertThat(repository.get("parentSpanId").asText()).isEqualTo(service.get("spanId").asText());
+        assertThat(repository.get("attributes").get("repository").asText()).isEqualTo("List");
+        assertThat(repository.get("attributes").get("method").asText()).isEqualTo("size");
+        assertThat(repository.get("durationMicros").asLong()).isNotNegative();
+    }
+
+    @Test
+    @DisplayName("Should record failures on the span without the stack trace and rethrow them")
+    void shouldRecordFailures() throws Exception {
+        // Act
+        assertThatThrownBy(() -> Spans.inSpan(tracer, "jwt.verify", () -> {
+            throw new IllegalStateException("expired");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("expired");
+        tracerProvider.forceFlush();
+
+        // Assert
+        JsonNode span = readSpans().get("jwt.verify");
+        assertThat(span.get("status").asText()).isEqualTo("ERROR");
+        JsonNode exception = span.get("events").get(0);
+        assertThat(exception.get("name").asText()).isEqualTo("exception");
+        assertThat(exception.get("attributes").get("exception.message").asText()).isEqualTo("expired");
+        assertThat(exception.get("attributes").has("exception.stacktrace")).isFalse();
+    }
+
+    private Map<String, JsonNode> readSpans() throws Exception {
+        List<JsonNode> spans = new ArrayList<>();
+        for (String line : Files.readAllLines(directory.resolve("spans.jsonl"))) {
+            spans.add(objectMapper.readTree(line));
+        }
+        return spans.stream().collect(Collectors.toMap(span -> span.get("name").asText(), Function.identity()));
+    }
+}
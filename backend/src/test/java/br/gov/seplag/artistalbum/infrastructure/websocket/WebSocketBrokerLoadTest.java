@@ -0,0 +1,305 @@
+package br.gov.seplag.artistalbum.infrastructure.websocket;
+
+import br.gov.seplag.artistalbum.domain.entity.Album;
+import br.gov.seplag.artistalbum.domain.event.AlbumEvent;
+import br.gov.seplag.artistalbum.infrastructure.sse.SseNotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fan-out load test: thousands of simulated STOMP subscribers on /topic/albums
+ * served by the same simple broker used in production (mvn -Pload test)
+ *
+ * The slow-consumer cases put the STOMP WebSocket handler with the configured
+ * send limits between the broker and the sessions, with one session stalled.
+ */
+@Slf4j
+@Tag("load")
+@DisplayName("WebSocket Broker Load Tests")
+class WebSocketBrokerLoadTest {
+
+    private static final int SUBSCRIBERS = 5000;
+    private static final int EVENTS = 1000;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int FAST_SESSIONS = 100;
+    // websocket.broker.* in application.yml
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final AtomicLong deliveries = new AtomicLong();
+    private final Set<Object> distinctPayloads = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    private SimpleBrokerMessageHandler broker;
+    private WebSocketNotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        ExecutorSubscribableChannel clientInboundChannel = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+
+        clientOutboundChannel.subscribe(message -> {
+            deliveries.incrementAndGet();
+            distinctPayloads.add(message.getPayload());
+        });
+
+        broker = new SimpleBrokerMessageHandler(clientInboundChannel, clientOutboundChannel, brokerChannel,
+                List.of("/topic"));
+        broker.start();
+
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+            connect.setSessionId("session-" + i);
+            connect.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[]{0, 0});
+            broker.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+            SimpMessageHeaderAccessor subscribe = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            subscribe.setSessionId("session-" + i);
+            subscribe.setSubscriptionId("sub-" + i);
+            subscribe.setDestination(WebSocketNotificationService.ALBUMS_TOPIC);
+            broker.handleMessage(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+        }
+        // Discard CONNECT_ACK frames
+        deliveries.set(0);
+        distinctPayloads.clear();
+
+        notificationService = new WebSocketNotificationService(new SimpMessagingTemplate(brokerChannel), objectMapper,
+                new SseNotificationService(), Tracer.NOOP);
+        ReflectionTestUtils.setField(notificationService, "maxBatchSize", MAX_BATCH_SIZE);
+        ReflectionTestUtils.setField(notificationService, "maxPending", EVENTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broker.stop();
+    }
+
+    @Test
+    @DisplayName("Should fan out batched frames to thousands of subscribers with one payload per frame")
+    void shouldFanOutBatchedFramesToThousandsOfSubscribers() {
+        // Arrange
+        for (long id = 1; id <= EVENTS; id++) {
+            Album album = Album.builder().id(id).title("Album " + id).build();
+            notificationService.onAlbumEvent(AlbumEvent.created(album));
+        }
+
+        // Act
+        long start = System.nanoTime();
+        notificationService.flush();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        int frames = EVENTS / MAX_BATCH_SIZE;
+        assertThat(notificationService.getSentFrames()).isEqualTo(frames);
+        assertThat(deliveries.get()).isEqualTo((long) frames * SUBSCRIBERS);
+        // Every subscriber receives the same serialized byte[] for a given frame
+        assertThat(distinctPayloads).hasSize(frames);
+        assertThat(notificationService.getDroppedEvents()).isZero();
+        log.debug("Delivered {} events as {} frames to {} subscribers in {} ms",
+                EVENTS, frames, SUBSCRIBERS, elapsedMillis);
+    }
+
+    @Test
+    @DisplayName("Should close a stalled subscriber at the send buffer limit while the others keep receiving")
+    void shouldCloseStalledSubscriberAtSendBufferLimit() throws Exception {
+        // Arrange
+        StalledClientBroker stack = new StalledClientBroker(SEND_TIME_LIMIT_MS, SEND_BUFFER_SIZE_LIMIT);
+        try {
+            // Act - publish full frames until the stalled session's buffer overflows
+            long start = System.nanoTime();
+            int frames = 0;
+            while (!stack.stalledClosed.await(10, TimeUnit.MILLISECONDS) && frames < 500) {
+                stack.publishFrame(frames++);
+            }
+            int sent = frames;
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Assert - closed by the buffer limit, before the send time limit could apply
+            assertThat(elapsedMillis).isLessThan(SEND_TIME_LIMIT_MS);
+            assertThat(stack.stalledCloseStatus.get()).isEqualTo(CloseStatus.SESSION_NOT_RELIABLE);
+            assertThat(stack.handler.getStats().getLimitExceededSessions()).isEqualTo(1);
+            assertThat(awaitUntil(() -> stack.fastDeliveries.get() == (long) sent * FAST_SESSIONS)).isTrue();
+            log.debug("Stalled session closed after {} frames of {} events in {} ms; {} fast sessions received all of them",
+                    sent, MAX_BATCH_SIZE, elapsedMillis, FAST_SESSIONS);
+        } finally {
+            stack.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should close a subscriber stuck in one send past the send time limit")
+    void shouldCloseStalledSubscriberAtSendTimeLimit() throws Exception {
+        // Arrange - time limit scaled down from the configured 10 s
+        int sendTimeLimitMillis = 200;
+        StalledClientBroker stack = new StalledClientBroker(sendTimeLimitMillis, SEND_BUFFER_SIZE_LIMIT);
+        try {
+            // Act - one small frame blocks the stalled session, the next one arrives after the limit
+            stack.publishFrame(0);
+            Thread.sleep(sendTimeLimitMillis * 2L);
+            stack.publishFrame(1);
+
+            // Assert
+            assertThat(stack.stalledClosed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(stack.stalledCloseStatus.get()).isEqualTo(CloseStatus.SESSION_NOT_RELIABLE);
+            assertThat(stack.handler.getStats().getLimitExceededSessions()).isEqualTo(1);
+            assertThat(awaitUntil(() -> stack.fastDeliveries.get() == 2L * FAST_SESSIONS)).isTrue();
+        } finally {
+            stack.stop();
+        }
+    }
+
+    private static boolean awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * Broker, pooled outbound channel and STOMP WebSocket handler as wired in production,
+     * with fast sessions and one session whose writes never complete until it is closed
+     */
+    private class StalledClientBroker {
+
+        private final ThreadPoolTaskExecutor outboundExecutor = new ThreadPoolTaskExecutor();
+        private final SimpleBrokerMessageHandler stalledBroker;
+        private final SubProtocolWebSocketHandler handler;
+        private final WebSocketNotificationService publisher;
+
+        private final AtomicLong fastDeliveries = new AtomicLong();
+        private final CountDownLatch stalledClosed = new CountDownLatch(1);
+        private final AtomicReference<CloseStatus> stalledCloseStatus = new AtomicReference<>();
+
+        StalledClientBroker(int sendTimeLimit, int sendBufferSizeLimit) throws Exception {
+            outboundExecutor.setCorePoolSize(4);
+            outboundExecutor.setMaxPoolSize(4);
+            outboundExecutor.initialize();
+            ExecutorSubscribableChannel clientInboundChannel = new ExecutorSubscribableChannel();
+            ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel(outboundExecutor);
+            ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+
+            handler = new SubProtocolWebSocketHandler(clientInboundChannel, clientOutboundChannel);
+            handler.setDefaultProtocolHandler(new StompSubProtocolHandler());
+            handler.setSendTimeLimit(sendTimeLimit);
+            handler.setSendBufferSizeLimit(sendBufferSizeLimit);
+            handler.start();
+
+            stalledBroker = new SimpleBrokerMessageHandler(clientInboundChannel, clientOutboundChannel, brokerChannel,
+                    List.of("/topic"));
+            stalledBroker.start();
+
+            List<WebSocketSession> sessions = new ArrayList<>();
+            for (int i = 0; i < FAST_SESSIONS; i++) {
+                sessions.add(session("fast-" + i, false));
+            }
+            sessions.add(session("stalled", true));
+            for (WebSocketSession session : sessions) {
+                handler.afterConnectionEstablished(session);
+                SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+                connect.setSessionId(session.getId());
+                connect.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[]{0, 0});
+                stalledBroker.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+                SimpMessageHeaderAccessor subscribe = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+                subscribe.setSessionId(session.getId());
+                subscribe.setSubscriptionId("sub-" + session.getId());
+                subscribe.setDestination(WebSocketNotificationService.ALBUMS_TOPIC);
+                stalledBroker.handleMessage(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+            }
+
+            publisher = new WebSocketNotificationService(new SimpMessagingTemplate(brokerChannel), objectMapper,
+                    new SseNotificationService(), Tracer.NOOP);
+            ReflectionTestUtils.setField(publisher, "maxBatchSize", MAX_BATCH_SIZE);
+            ReflectionTestUtils.setField(publisher, "maxPending", MAX_BATCH_SIZE);
+        }
+
+        void publishFrame(int round) {
+            for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+                long id = (long) round * MAX_BATCH_SIZE + i;
+                Album album = Album.builder().id(id).title("Album " + id).build();
+                publisher.onAlbumEvent(AlbumEvent.created(album));
+            }
+            publisher.flush();
+        }
+
+        void stop() {
+            stalledBroker.stop();
+            handler.stop();
+            outboundExecutor.shutdown();
+        }
+
+        private WebSocketSession session(String id, boolean stalled) throws Exception {
+            WebSocketSession session = mock(WebSocketSession.class);
+            AtomicBoolean open = new AtomicBoolean(true);
+            CountDownLatch released = new CountDownLatch(1);
+            when(session.getId()).thenReturn(id);
+            when(session.isOpen()).thenAnswer(invocation -> open.get());
+            doAnswer(invocation -> {
+                if (stalled) {
+                    // A client that stopped reading: the write only returns once the session is closed
+                    released.await();
+                } else if (((TextMessage) invocation.getArgument(0)).getPayload().startsWith("MESSAGE")) {
+                    fastDeliveries.incrementAndGet();
+                }
+                return null;
+            }).when(session).sendMessage(any());
+            doAnswer(invocation -> {
+                open.set(false);
+                if (stalled) {
+                    stalledCloseStatus.set(invocation.getArgument(0));
+                    stalledClosed.countDown();
+                }
+                released.countDown();
+                return null;
+            }).when(session).close(any(CloseStatus.class));
+            return session;
+        }
+    }
+}
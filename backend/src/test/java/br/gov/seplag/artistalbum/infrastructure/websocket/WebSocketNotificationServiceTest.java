@@ -2,22 +2,29 @@ package br.gov.seplag.artistalbum.infrastructure.websocket;
 
 import br.gov.seplag.artistalbum.domain.entity.Album;
 import br.gov.seplag.artistalbum.domain.entity.Artist;
+import br.gov.seplag.artistalbum.domain.event.AlbumEvent;
+import br.gov.seplag.artistalbum.infrastructure.sse.SseNotificationService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.time.LocalDateTime;
-import java.util.Map;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -29,20 +36,27 @@ class WebSocketNotificationServiceTest {
     private SimpMessagingTemplate messagingTemplate;
 
     @Mock
-    private ObjectMapper objectMapper;
-
-    @InjectMocks
-    private WebSocketNotificationService webSocketNotificationService;
+    private SseNotificationService sseNotificationService;
 
     @Captor
-    private ArgumentCaptor<Map<String, Object>> notificationCaptor;
+    private ArgumentCaptor<Message<byte[]>> messageCaptor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private WebSocketNotificationService webSocketNotificationService;
 
-    private Artist testArtist;
     private Album testAlbum;
 
     @BeforeEach
     void setUp() {
-        testArtist = Artist.builder()
+        webSocketNotificationService = new WebSocketNotificationService(messagingTemplate, objectMapper,
+                sseNotificationService, Tracer.NOOP);
+        ReflectionTestUtils.setField(webSocketNotificationService, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(webSocketNotificationService, "maxPending", 1000);
+
+        Artist testArtist = Artist.builder()
                 .id(1L)
                 .name("System of a Down")
                 .build();
@@ -57,25 +71,137 @@ class WebSocketNotificationServiceTest {
 
     @Test
     @DisplayName("Should send notification for new album successfully")
-    void shouldSendNotificationForNewAlbum() {
+    void shouldSendNotificationForNewAlbum() throws Exception {
         // Given
-        doNothing().when(messagingTemplate).convertAndSend(anyString(), any(Map.class));
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.created(testAlbum));
 
         // When
-        webSocketNotificationService.notifyNewAlbum(testAlbum);
+        webSocketNotificationService.flush();
 
         // Then
-        verify(messagingTemplate).convertAndSend(eq("/topic/albums"), notificationCaptor.capture());
-        
-        Map<String, Object> notification = notificationCaptor.getValue();
-        assertThat(notification).isNotNull();
-        assertThat(notification.get("type")).isEqualTo("NEW_ALBUM");
-        assertThat(notification.get("albumId")).isEqualTo(1L);
-        assertThat(notification.get("albumTitle")).isEqualTo("Toxicity");
-        assertThat(notification.get("artistId")).isEqualTo(1L);
-        assertThat(notification.get("artistName")).isEqualTo("System of a Down");
-        assertThat(notification.get("message")).isEqualTo("New album 'Toxicity' by System of a Down has been added!");
-        assertThat(notification.get("timestamp")).isInstanceOf(LocalDateTime.class);
+        verify(messagingTemplate).send(eq("/topic/albums"), messageCaptor.capture());
+
+        JsonNode frame = objectMapper.readTree(messageCaptor.getValue().getPayload());
+        assertThat(frame.get("type").asText()).isEqualTo("ALBUM_EVENTS");
+        assertThat(frame.get("count").asInt()).isEqualTo(1);
+
+        JsonNode notification = frame.get("events").get(0);
+        assertThat(notification.get("type").asText()).isEqualTo("NEW_ALBUM");
+        assertThat(notification.get("albumId").asLong()).isEqualTo(1L);
+        assertThat(notification.get("albumTitle").asText()).isEqualTo("Toxicity");
+        assertThat(notification.get("artistId").asLong()).isEqualTo(1L);
+        assertThat(notification.get("artistName").asText()).isEqualTo("System of a Down");
+        assertThat(notification.get("message").asText())
+                .isEqualTo("New album 'Toxicity' by System of a Down has been added!");
+        assertThat(notification.has("timestamp")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should dispatch on its own thread and keep running after a failed send")
+    void shouldDispatchOnOwnThread() {
+        // Given
+        ReflectionTestUtils.setField(webSocketNotificationService, "batchWindowMs", 10L);
+        doThrow(new IllegalStateException("Broker unavailable"))
+                .doNothing()
+                .when(messagingTemplate).send(eq("/topic/albums"), any());
+        webSocketNotificationService.start();
+
+        try {
+            // When
+            webSocketNotificationService.onAlbumEvent(AlbumEvent.created(testAlbum));
+            verify(messagingTemplate, timeout(5000)).send(eq("/topic/albums"), any());
+            webSocketNotificationService.onAlbumEvent(AlbumEvent.updated(testAlbum));
+
+            // Then
+            verify(messagingTemplate, timeout(5000).times(2)).send(eq("/topic/albums"), any());
+        } finally {
+            webSocketNotificationService.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not send anything when no events are pending")
+    void shouldNotSendWhenNothingPending() {
+        // When
+        webSocketNotificationService.flush();
+
+        // Then
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Should batch events from one window into a single frame")
+    void shouldBatchEventsIntoSingleFrame() throws Exception {
+        // Given
+        for (long id = 1; id <= 5; id++) {
+            Album album = Album.builder().id(id).title("Album " + id).build();
+            webSocketNotificationService.onAlbumEvent(AlbumEvent.created(album));
+        }
+
+        // When
+        webSocketNotificationService.flush();
+        webSocketNotificationService.flush();
+
+        // Then
+        verify(messagingTemplate, times(1)).send(eq("/topic/albums"), messageCaptor.capture());
+        JsonNode frame = objectMapper.readTree(messageCaptor.getValue().getPayload());
+        assertThat(frame.get("count").asInt()).isEqualTo(5);
+        assertThat(frame.get("events")).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should split batches larger than the configured maximum")
+    void shouldSplitLargeBatches() {
+        // Given
+        ReflectionTestUtils.setField(webSocketNotificationService, "maxBatchSize", 2);
+        for (long id = 1; id <= 5; id++) {
+            Album album = Album.builder().id(id).title("Album " + id).build();
+            webSocketNotificationService.onAlbumEvent(AlbumEvent.created(album));
+        }
+
+        // When
+        webSocketNotificationService.flush();
+
+        // Then
+        verify(messagingTemplate, times(3)).send(eq("/topic/albums"), any(Message.class));
+    }
+
+    @Test
+    @DisplayName("Should coalesce create and update of the same album into one creation")
+    void shouldCoalesceEventsForSameAlbum() throws Exception {
+        // Given
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.created(testAlbum));
+        testAlbum.setTitle("Toxicity (Remastered)");
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.updated(testAlbum));
+
+        // When
+        webSocketNotificationService.flush();
+
+        // Then
+        verify(messagingTemplate).send(eq("/topic/albums"), messageCaptor.capture());
+        JsonNode events = objectMapper.readTree(messageCaptor.getValue().getPayload()).get("events");
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).get("type").asText()).isEqualTo("NEW_ALBUM");
+        assertThat(events.get(0).get("albumTitle").asText()).isEqualTo("Toxicity (Remastered)");
+    }
+
+    @Test
+    @DisplayName("Should emit update and delete notifications")
+    void shouldEmitUpdateAndDeleteNotifications() throws Exception {
+        // Given
+        Album other = Album.builder().id(2L).title("Mezmerize").build();
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.updated(testAlbum));
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.deleted(other));
+
+        // When
+        webSocketNotificationService.flush();
+
+        // Then
+        verify(messagingTemplate).send(eq("/topic/albums"), messageCaptor.capture());
+        JsonNode events = objectMapper.readTree(messageCaptor.getValue().getPayload()).get("events");
+        List<String> types = List.of(events.get(0).get("type").asText(), events.get(1).get("type").asText());
+        assertThat(types).containsExactly("ALBUM_UPDATED", "ALBUM_DELETED");
+        assertThat(events.get(1).get("artistName").asText()).isEqualTo("Unknown Artist");
     }
 
     @Test
@@ -83,74 +209,85 @@ class WebSocketNotificationServiceTest {
     void shouldHandleExceptionWhenSendingFails() {
         // Given
         doThrow(new RuntimeException("WebSocket error"))
-                .when(messagingTemplate).convertAndSend(anyString(), any(Map.class));
+                .when(messagingTemplate).send(anyString(), any(Message.class));
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.created(testAlbum));
 
         // When & Then - Should not throw exception (error is logged)
-        assertThatCode(() -> webSocketNotificationService.notifyNewAlbum(testAlbum))
+        assertThatCode(() -> webSocketNotificationService.flush())
                 .doesNotThrowAnyException();
-        
-        verify(messagingTemplate).convertAndSend(eq("/topic/albums"), any(Map.class));
+
+        verify(messagingTemplate).send(eq("/topic/albums"), any(Message.class));
     }
 
     @Test
-    @DisplayName("Should send notification with correct topic destination")
-    void shouldSendNotificationWithCorrectTopic() {
+    @DisplayName("Should drop the oldest events and send one resync frame when the backlog overflows")
+    void shouldDropOldestAndSendResyncWhenBacklogOverflows() throws Exception {
         // Given
-        doNothing().when(messagingTemplate).convertAndSend(anyString(), any(Map.class));
+        ReflectionTestUtils.setField(webSocketNotificationService, "maxPending", 2);
+        for (long id = 1; id <= 4; id++) {
+            Album album = Album.builder().id(id).title("Album " + id).build();
+            webSocketNotificationService.onAlbumEvent(AlbumEvent.created(album));
+        }
 
         // When
-        webSocketNotificationService.notifyNewAlbum(testAlbum);
+        webSocketNotificationService.flush();
 
         // Then
-        verify(messagingTemplate).convertAndSend(eq("/topic/albums"), any(Map.class));
+        verify(messagingTemplate, times(2)).send(eq("/topic/albums"), messageCaptor.capture());
+        List<Message<byte[]>> frames = messageCaptor.getAllValues();
+        assertThat(objectMapper.readTree(frames.get(0).getPayload()).get("type").asText()).isEqualTo("RESYNC");
+        JsonNode events = objectMapper.readTree(frames.get(1).getPayload()).get("events");
+        assertThat(events).extracting(event -> event.get("albumId").asLong()).containsExactly(3L, 4L);
+        verify(sseNotificationService).resync();
+        verify(sseNotificationService, never()).broadcast(same(frames.get(0).getPayload()));
+        assertThat(webSocketNotificationService.getDroppedEvents()).isEqualTo(2);
+        assertThat(webSocketNotificationService.getResyncs()).isEqualTo(1);
+        assertThat(webSocketNotificationService.getPendingEvents()).isZero();
     }
 
     @Test
-    @DisplayName("Should include all required fields in notification")
-    void shouldIncludeAllRequiredFields() {
+    @DisplayName("Should not send another resync frame once clients were asked to resync")
+    void shouldResumeSendingAfterResync() {
         // Given
-        doNothing().when(messagingTemplate).convertAndSend(anyString(), any(Map.class));
+        ReflectionTestUtils.setField(webSocketNotificationService, "maxPending", 1);
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.created(testAlbum));
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.created(Album.builder().id(2L).title("B").build()));
+        webSocketNotificationService.flush();
 
         // When
-        webSocketNotificationService.notifyNewAlbum(testAlbum);
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.updated(testAlbum));
+        webSocketNotificationService.flush();
+
+        // Then - resync and album 2, then album 1
+        verify(messagingTemplate, times(3)).send(eq("/topic/albums"), any(Message.class));
+        verify(sseNotificationService, times(1)).resync();
+        assertThat(webSocketNotificationService.getResyncs()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count conflated events without growing the backlog")
+    void shouldCountConflatedEvents() {
+        // When
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.created(testAlbum));
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.updated(testAlbum));
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.updated(testAlbum));
 
         // Then
-        verify(messagingTemplate).convertAndSend(eq("/topic/albums"), notificationCaptor.capture());
-        
-        Map<String, Object> notification = notificationCaptor.getValue();
-        assertThat(notification).containsKeys(
-                "type", "albumId", "albumTitle", 
-                "artistId", "artistName", "timestamp", "message"
-        );
+        assertThat(webSocketNotificationService.getPendingEvents()).isEqualTo(1);
+        assertThat(webSocketNotificationService.getConflatedEvents()).isEqualTo(2);
     }
 
     @Test
-    @DisplayName("Should create notification with album and artist details")
-    void shouldCreateNotificationWithDetails() {
+    @DisplayName("Should hand the same serialized frame to the SSE stream")
+    void shouldBroadcastSameFrameToSse() {
         // Given
-        Artist soadArtist = Artist.builder()
-                .id(10L)
-                .name("SOAD")
-                .build();
-        Album album = Album.builder()
-                .id(99L)
-                .title("Mezmerize")
-                .releaseYear(2005)
-                .build();
-        album.addArtist(soadArtist);
-
-        doNothing().when(messagingTemplate).convertAndSend(anyString(), any(Map.class));
+        webSocketNotificationService.onAlbumEvent(AlbumEvent.created(testAlbum));
 
         // When
-        webSocketNotificationService.notifyNewAlbum(album);
+        webSocketNotificationService.flush();
 
         // Then
-        verify(messagingTemplate).convertAndSend(eq("/topic/albums"), notificationCaptor.capture());
-        
-        Map<String, Object> notification = notificationCaptor.getValue();
-        assertThat(notification.get("albumId")).isEqualTo(99L);
-        assertThat(notification.get("albumTitle")).isEqualTo("Mezmerize");
-        assertThat(notification.get("artistId")).isEqualTo(10L);
-        assertThat(notification.get("artistName")).isEqualTo("SOAD");
+        verify(messagingTemplate).send(eq("/topic/albums"), messageCaptor.capture());
+        verify(sseNotificationService).broadcast(same(messageCaptor.getValue().getPayload()));
     }
 }
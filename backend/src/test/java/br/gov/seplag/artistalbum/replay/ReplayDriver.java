@@ -0,0 +1,263 @@
+package br.gov.seplag.artistalbum.replay;
+
+import br.gov.seplag.artistalbum.infrastructure.trace.RequestTrace;
+import br.gov.seplag.artistalbum.infrastructure.trace.TraceSanitizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Replays captured request traces against a running stack
+ *
+ * Requests are issued open-loop at their original spacing divided by the
+ * speed-up, by a fixed pool of workers, and latency is measured from the time
+ * each one was due (see {@link ReplayReport}). Without a capture file the
+ * workload is built from the scenarios in postman_collection.json.
+ * Bodies are rebuilt from their recorded shape with random strings of the
+ * same length; logins use the configured credentials and redacted refresh
+ * tokens are replaced by the driver's own session.
+ *
+ * Run with: mvn -Preplay test -Dreplay.args="--traces=traces --speedup=10 --concurrency=32"
+ * (the leading dashes are optional)
+ * Options (--name=value):
+ *   base-url     http://localhost:8080
+ *   traces       capture file or directory; the Postman scenarios are used when absent
+ *   postman      ../postman_collection.json
+ *   iterations   times the Postman scenarios are repeated (20)
+ *   interval-ms  spacing of Postman scenario requests (50)
+ *   speedup      1.0 replays at the captured rate, 10 ten times faster
+ *   concurrency  worker threads (16)
+ *   exclude      regex over "METHOD /template" (DELETE .*|POST .*regionais/sync)
+ *   username, password  defaults from the Postman login request
+ *   login-path   /api/v1/auth/login
+ */
+public final class ReplayDriver {
+
+    private static final Pattern SECRET_FIELD = Pattern.compile("(?i)password");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ReplayReport report = new ReplayReport();
+
+    private final String baseUrl;
+    private final String loginPath;
+    private final String username;
+    private final String password;
+
+    private String accessToken;
+    private String refreshToken;
+    private long tokenRefreshAt;
+
+    private ReplayDriver(String baseUrl, String loginPath, String username, String password) {
+        this.baseUrl = baseUrl;
+        this.loginPath = loginPath;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] parts = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(parts[0], parts.length > 1 ? parts[1] : "true");
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Path postman = Path.of(options.getOrDefault("postman", "../postman_collection.json"));
+        Map<String, String> credentials = postman.toFile().exists()
+                ? ReplayWorkload.postmanCredentials(objectMapper, postman) : Map.of();
+
+        List<RequestTrace> traces = options.containsKey("traces")
+                ? ReplayWorkload.fromCapture(objectMapper, Path.of(options.get("traces")))
+                : ReplayWorkload.fromPostman(objectMapper, postman,
+                Integer.parseInt(options.getOrDefault("iterations", "20")),
+                Long.parseLong(options.getOrDefault("interval-ms", "50")));
+
+        ReplayDriver driver = new ReplayDriver(
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                options.getOrDefault("login-path", "/api/v1/auth/login"),
+                options.getOrDefault("username", credentials.getOrDefault("username", "admin")),
+                options.getOrDefault("password", credentials.getOrDefault("password", "admin123")));
+        driver.run(traces,
+                Double.parseDouble(options.getOrDefault("speedup", "1.0")),
+                Integer.parseInt(options.getOrDefault("concurrency", "16")),
+                Pattern.compile(options.getOrDefault("exclude", "DELETE .*|POST .*regionais/sync")));
+    }
+
+    private void run(List<RequestTrace> traces, double speedup, int concurrency, Pattern exclude)
+            throws IOException, InterruptedException {
+        System.out.printf("Replaying %d request(s) against %s at %.1fx with %d worker(s)%n",
+                traces.size(), baseUrl, speedup, concurrency);
+        if (traces.isEmpty()) {
+            return;
+        }
+
+        session(); // log in before the clock starts
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long origin = traces.get(0).timestamp();
+        long start = System.nanoTime();
+        for (RequestTrace trace : traces) {
+            String endpoint = trace.method() + " " + trace.pathTemplate();
+            if (exclude.matcher(endpoint).matches()) {
+                continue;
+            }
+            long due = start + (long) (TimeUnit.MILLISECONDS.toNanos(trace.timestamp() - origin) / speedup);
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            workers.execute(() -> send(trace, endpoint, due));
+        }
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.MINUTES);
+
+        report.print(System.out, System.nanoTime() - start);
+    }
+
+    private void send(RequestTrace trace, String endpoint, long due) {
+        HttpRequest request;
+        try {
+            request = request(trace);
+        } catch (IOException | RuntimeException e) {
+            report.skip();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (request == null) {
+            report.skip();
+            return;
+        }
+
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        report.record(endpoint, status, (System.nanoTime() - due) / 1_000);
+    }
+
+    private HttpRequest request(RequestTrace trace) throws IOException, InterruptedException {
+        boolean login = trace.pathTemplate().equals(loginPath);
+        if (trace.contentLength() > 0 && trace.body() == null && !login) {
+            return null; // uploads and oversized bodies were not captured
+        }
+
+        String[] session = session();
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(baseUrl).path(trace.pathTemplate());
+        trace.params().forEach((name, values) -> {
+            for (String value : values) {
+                if (!TraceSanitizer.REDACTED.equals(value)) {
+                    // Shaped search terms are replayed as random text of the same length
+                    uri.queryParam(name, synthesize(TextNode.valueOf(value), name).textValue());
+                } else if (name.equals("refreshToken")) {
+                    uri.queryParam(name, session[1]);
+                }
+            }
+        });
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri.buildAndExpand(trace.pathVariables()).encode().toUri())
+                .timeout(Duration.ofSeconds(30));
+
+        String body = null;
+        if (login) {
+            body = objectMapper.writeValueAsString(Map.of("username", username, "password", password));
+        } else if (trace.body() != null) {
+            body = objectMapper.writeValueAsString(synthesize(trace.body(), null));
+        }
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (trace.authenticated() && !login) {
+            builder.header("Authorization", "Bearer " + session[0]);
+        }
+        return builder.method(trace.method(), body != null
+                ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private JsonNode synthesize(JsonNode shape, String field) {
+        if (shape.isTextual()) {
+            String text = shape.textValue();
+            if (text.equals(TraceSanitizer.REDACTED)) {
+                return TextNode.valueOf(field != null && SECRET_FIELD.matcher(field).matches() ? password : "");
+            }
+            if (text.startsWith(TraceSanitizer.STRING_PREFIX) && text.endsWith("}")) {
+                int length = Integer.parseInt(text.substring(TraceSanitizer.STRING_PREFIX.length(), text.length() - 1));
+                return TextNode.valueOf(randomText(length));
+            }
+            return shape;
+        }
+        if (shape.isArray()) {
+            ArrayNode array = JsonNodeFactory.instance.arrayNode(shape.size());
+            shape.forEach(element -> array.add(synthesize(element, field)));
+            return array;
+        }
+        if (shape.isObject()) {
+            ObjectNode object = JsonNodeFactory.instance.objectNode();
+            shape.fields().forEachRemaining(entry ->
+                    object.set(entry.getKey(), synthesize(entry.getValue(), entry.getKey())));
+            return object;
+        }
+        return shape;
+    }
+
+    private static String randomText(int length) {
+        StringBuilder text = new StringBuilder(length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Access and refresh token, logging in again before the access token expires
+     */
+    private synchronized String[] session() throws IOException, InterruptedException {
+        if (accessToken == null || System.nanoTime() >= tokenRefreshAt) {
+            HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + loginPath))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(Map.of("username", username, "password", password))))
+                    .build();
+            HttpResponse<String> response = client.send(login, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed with status " + response.statusCode());
+            }
+            JsonNode auth = objectMapper.readTree(response.body());
+            accessToken = auth.path("accessToken").asText();
+            refreshToken = auth.path("refreshToken").asText();
+            long expiresInMs = auth.path("expiresIn").asLong(300_000);
+            tokenRefreshAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(expiresInMs * 4 / 5);
+        }
+        return new String[]{accessToken, refreshToken};
+    }
+}
@@ -0,0 +1,91 @@
+package br.gov.seplag.artistalbum.replay;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency percentiles and throughput per endpoint ("METHOD /path/{template}")
+ *
+ * Latencies are recorded in microseconds from the time a request was due,
+ * not from when a worker got to it, so a saturated server shows up as
+ * latency instead of being hidden by the driver slowing down.
+ */
+final class ReplayReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder skipped = new LongAdder();
+
+    private static final class Endpoint {
+        final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder success = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+    }
+
+    void record(String endpoint, int status, long latencyMicros) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.latency.recordValue(Math.min(Math.max(latencyMicros, 0), MAX_LATENCY_MICROS));
+        if (status >= 500 || status <= 0) {
+            stats.serverErrors.increment();
+        } else if (status >= 400) {
+            stats.clientErrors.increment();
+        } else {
+            stats.success.increment();
+        }
+    }
+
+    void skip() {
+        skipped.increment();
+    }
+
+    void print(PrintStream out, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        String header = String.format(Locale.ROOT, "%-45s %8s %8s %6s %6s %9s %9s %9s %9s %9s %9s",
+                "endpoint", "count", "2xx/3xx", "4xx", "5xx", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms");
+        out.println(header);
+        out.println("-".repeat(header.length()));
+
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long success = 0;
+        long clientErrors = 0;
+        long serverErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint stats = entry.getValue();
+            print(out, entry.getKey(), stats.latency, stats.success.sum(), stats.clientErrors.sum(),
+                    stats.serverErrors.sum(), seconds);
+            total.add(stats.latency);
+            success += stats.success.sum();
+            clientErrors += stats.clientErrors.sum();
+            serverErrors += stats.serverErrors.sum();
+        }
+        out.println("-".repeat(header.length()));
+        print(out, "TOTAL", total, success, clientErrors, serverErrors, seconds);
+        out.printf(Locale.ROOT, "%n%.1f s elapsed, %d request(s) skipped (no replayable body)%n",
+                seconds, skipped.sum());
+    }
+
+    private static void print(PrintStream out, String endpoint, Histogram latency, long success, long clientErrors,
+                              long serverErrors, double seconds) {
+        out.printf(Locale.ROOT, "%-45s %8d %8d %6d %6d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, latency.getTotalCount(), success, clientErrors, serverErrors,
+                latency.getTotalCount() / seconds,
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
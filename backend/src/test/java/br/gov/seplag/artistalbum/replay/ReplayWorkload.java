@@ -0,0 +1,165 @@
+package br.gov.seplag.artistalbum.replay;
+
+import br.gov.seplag.artistalbum.infrastructure.trace.RequestTrace;
+import br.gov.seplag.artistalbum.infrastructure.trace.TraceSanitizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Requests to replay, in arrival order
+ *
+ * Read from capture files written by RequestTraceFilter, or built from the
+ * scenarios in postman_collection.json when there is no capture: each
+ * scenario becomes a trace with its numeric path segments as {id} and its
+ * body reduced to the same shape a capture would record, so both sources
+ * are replayed the same way.
+ */
+final class ReplayWorkload {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/(\\d+)(?=/|$)");
+
+    private ReplayWorkload() {
+    }
+
+    /**
+     * All *.jsonl files under path (or path itself), oldest rolled file first
+     */
+    static List<RequestTrace> fromCapture(ObjectMapper objectMapper, Path path) throws IOException {
+        List<Path> files;
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> listing = Files.list(path)) {
+                files = listing.filter(file -> file.toString().endsWith(".jsonl")).toList();
+            }
+        } else {
+            files = List.of(path);
+        }
+
+        List<RequestTrace> traces = new ArrayList<>();
+        for (Path file : files) {
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        traces.add(objectMapper.readValue(line, RequestTrace.class));
+                    }
+                }
+            }
+        }
+        traces.sort(Comparator.comparingLong(RequestTrace::timestamp));
+        return traces;
+    }
+
+    /**
+     * Postman scenarios repeated iterations times, one request every intervalMs
+     */
+    static List<RequestTrace> fromPostman(ObjectMapper objectMapper, Path collection, int iterations,
+                                          long intervalMs) throws IOException {
+        JsonNode root = objectMapper.readTree(collection.toFile());
+        String baseUrl = variable(root, "baseUrl");
+        List<JsonNode> requests = new ArrayList<>();
+        collectRequests(root.path("item"), requests);
+
+        List<RequestTrace> scenarios = new ArrayList<>();
+        for (JsonNode request : requests) {
+            JsonNode body = request.path("body");
+            if (body.path("mode").asText("raw").equals("formdata")) {
+                continue; // file uploads have no file in the collection
+            }
+            String raw = request.path("url").isTextual()
+                    ? request.path("url").asText() : request.path("url").path("raw").asText();
+            URI uri = URI.create(raw.replace("{{baseUrl}}", baseUrl).replaceAll("\\{\\{\\w+}}", ""));
+
+            Map<String, String> pathVariables = new LinkedHashMap<>();
+            Matcher matcher = NUMERIC_SEGMENT.matcher(uri.getPath());
+            StringBuilder template = new StringBuilder();
+            while (matcher.find()) {
+                String name = pathVariables.isEmpty() ? "id" : "id" + (pathVariables.size() + 1);
+                pathVariables.put(name, matcher.group(1));
+                matcher.appendReplacement(template, "/{" + name + "}");
+            }
+            matcher.appendTail(template);
+
+            Map<String, List<String>> params = new LinkedHashMap<>();
+            if (uri.getQuery() != null) {
+                for (String pair : uri.getQuery().split("&")) {
+                    String[] parts = pair.split("=", 2);
+                    params.put(parts[0], List.of(parts.length > 1 ? parts[1] : ""));
+                }
+            }
+
+            String rawBody = body.path("raw").asText("");
+            JsonNode bodyShape = rawBody.isBlank() ? null : TraceSanitizer.bodyShape(objectMapper.readTree(rawBody));
+            scenarios.add(new RequestTrace(0, request.path("method").asText("GET"), template.toString(),
+                    pathVariables, TraceSanitizer.params(toArrays(params)), true,
+                    bodyShape != null ? "application/json" : null, rawBody.length(), bodyShape, 0, 0));
+        }
+
+        List<RequestTrace> traces = new ArrayList<>();
+        long timestamp = 0;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (RequestTrace scenario : scenarios) {
+                traces.add(new RequestTrace(timestamp, scenario.method(), scenario.pathTemplate(),
+                        scenario.pathVariables(), scenario.params(), scenario.authenticated(),
+                        scenario.contentType(), scenario.contentLength(), scenario.body(), 0, 0));
+                timestamp += intervalMs;
+            }
+        }
+        return traces;
+    }
+
+    /**
+     * username and password of the collection's login request, if any
+     */
+    static Map<String, String> postmanCredentials(ObjectMapper objectMapper, Path collection) throws IOException {
+        List<JsonNode> requests = new ArrayList<>();
+        collectRequests(objectMapper.readTree(collection.toFile()).path("item"), requests);
+        for (JsonNode request : requests) {
+            String raw = request.path("body").path("raw").asText("");
+            if (raw.contains("\"password\"")) {
+                JsonNode credentials = objectMapper.readTree(raw);
+                return Map.of("username", credentials.path("username").asText(),
+                        "password", credentials.path("password").asText());
+            }
+        }
+        return Map.of();
+    }
+
+    private static void collectRequests(JsonNode items, List<JsonNode> requests) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collectRequests(item.path("item"), requests);
+            } else if (item.has("request")) {
+                requests.add(item.path("request"));
+            }
+        }
+    }
+
+    private static String variable(JsonNode root, String key) {
+        for (JsonNode variable : root.path("variable")) {
+            if (key.equals(variable.path("key").asText())) {
+                return variable.path("value").asText();
+            }
+        }
+        return "";
+    }
+
+    private static Map<String, String[]> toArrays(Map<String, List<String>> params) {
+        Map<String, String[]> arrays = new LinkedHashMap<>();
+        params.forEach((name, values) -> arrays.put(name, values.toArray(String[]::new)));
+        return arrays;
+    }
+}
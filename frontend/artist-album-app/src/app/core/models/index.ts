@@ -89,6 +89,19 @@ export interface Page<T> {
   empty: boolean;
 }
 
+export interface ChangeRecord {
+  entity: 'ALBUM' | 'ARTIST';
+  op: 'UPSERT' | 'DELETE';
+  id: number;
+  version: number;
+}
+
+export interface ChangeFeedResponse {
+  changes: ChangeRecord[];
+  cursor: number;
+  hasMore: boolean;
+}
+
 export interface ApiError {
   timestamp: string;
   status: number;
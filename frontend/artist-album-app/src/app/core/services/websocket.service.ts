@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { RxStomp, RxStompState } from '@stomp/rx-stomp';
-import { Observable } from 'rxjs';
-import { Album } from '@core/models';
+import { EMPTY, Observable, Subject, expand, finalize, merge, reduce, tap } from 'rxjs';
+import { Album, ChangeFeedResponse, ChangeRecord } from '@core/models';
 import { environment } from '@environments/environment';
 import SockJS from 'sockjs-client';
 
@@ -12,7 +13,14 @@ export class WebsocketService {
   private rxStomp: RxStomp;
   private connected = false;
 
-  constructor() {
+  private readonly changesUrl = `${environment.apiUrl}/changes`;
+  // Última alteração conhecida do change feed; null até a primeira sincronização
+  private changeCursor: number | null = null;
+  private syncing = false;
+  private syncAgain = false;
+  private readonly resyncNotifications = new Subject<any>();
+
+  constructor(private http: HttpClient) {
     this.rxStomp = new RxStomp();
     this.setupConnectionStateLogging();
   }
@@ -21,9 +29,67 @@ export class WebsocketService {
     this.rxStomp.connectionState$.subscribe((state: RxStompState) => {
       console.log('🔌 WebSocket State:', RxStompState[state]);
       this.connected = state === RxStompState.OPEN;
+      if (this.connected) {
+        // Eventos enviados enquanto a conexão estava fechada não são reenviados
+        this.syncChanges();
+      }
+    });
+  }
+
+  /**
+   * Sincroniza pelo change feed (/api/v1/changes). Na primeira conexão apenas
+   * avança o cursor; após uma reconexão ou um frame RESYNC, as alterações
+   * perdidas são repassadas aos assinantes para que recarreguem os dados.
+   */
+  private syncChanges(): void {
+    if (this.syncing) {
+      this.syncAgain = true;
+      return;
+    }
+    this.syncing = true;
+    const report = this.changeCursor !== null;
+
+    this.fetchChanges(this.changeCursor ?? 0).pipe(
+      expand(page => page.hasMore ? this.fetchChanges(page.cursor) : EMPTY),
+      tap(page => {
+        this.changeCursor = page.cursor;
+      }),
+      reduce((changes: ChangeRecord[], page) => report ? changes.concat(page.changes) : changes, []),
+      finalize(() => {
+        this.syncing = false;
+        if (this.syncAgain) {
+          this.syncAgain = false;
+          this.syncChanges();
+        }
+      })
+    ).subscribe({
+      next: changes => {
+        if (changes.length > 0) {
+          this.resyncNotifications.next(this.toResyncNotification(changes));
+        }
+      },
+      error: error => console.error('Error syncing change feed:', error)
     });
   }
 
+  private fetchChanges(since: number): Observable<ChangeFeedResponse> {
+    const params = new HttpParams()
+      .set('since', since.toString())
+      .set('limit', '1000');
+    return this.http.get<ChangeFeedResponse>(this.changesUrl, { params });
+  }
+
+  private toResyncNotification(changes: ChangeRecord[]): any {
+    const albums = new Set(changes.filter(change => change.entity === 'ALBUM').map(change => change.id)).size;
+    const artists = new Set(changes.filter(change => change.entity === 'ARTIST').map(change => change.id)).size;
+    return {
+      message: `Dados sincronizados: ${albums} álbum(ns) e ${artists} artista(s) alterados`,
+      type: 'album',
+      timestamp: new Date().toISOString(),
+      data: { changes }
+    };
+  }
+
   private getWebSocketUrl(): string {
     let wsUrl = environment.wsUrl;
 
@@ -86,22 +152,32 @@ export class WebsocketService {
   }
 
   getNotifications(): Observable<any> {
-    return new Observable(observer => {
+    const albumEvents = new Observable<any>(observer => {
       const subscription = this.rxStomp
         .watch('/topic/albums')
         .subscribe(message => {
           try {
-            const data = JSON.parse(message.body);
-
-            observer.next({
-              message: data.message || `Novo álbum "${data.albumTitle}" cadastrado para ${data.artistName}`,
-              type: 'album',
-              albumId: data.albumId,
-              albumTitle: data.albumTitle,
-              artistId: data.artistId,
-              artistName: data.artistName,
-              timestamp: data.timestamp,
-              data
+            const frame = JSON.parse(message.body);
+            // Eventos foram descartados no servidor: recuperar pelo change feed
+            if (frame.type === 'RESYNC') {
+              this.syncChanges();
+              return;
+            }
+
+            // O backend agrupa eventos da mesma janela em um único frame
+            const events = Array.isArray(frame.events) ? frame.events : [frame];
+
+            events.forEach((data: any) => {
+              observer.next({
+                message: data.message || `Novo álbum "${data.albumTitle}" cadastrado para ${data.artistName}`,
+                type: 'album',
+                albumId: data.albumId,
+                albumTitle: data.albumTitle,
+                artistId: data.artistId,
+                artistName: data.artistName,
+                timestamp: data.timestamp,
+                data
+              });
             });
           } catch (error) {
             console.error('Error parsing WebSocket message:', error);
@@ -110,6 +186,8 @@ export class WebsocketService {
 
       return () => subscription.unsubscribe();
     });
+
+    return merge(albumEvents, this.resyncNotifications);
   }
 
   isConnected(): boolean {